@@ -3,6 +3,7 @@ CREATE TABLE IF NOT EXISTS authors
     id         BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     first_name VARCHAR(150)                            NOT NULL,
     last_name  VARCHAR(150)                            NOT NULL,
+    version    BIGINT                                  NOT NULL DEFAULT 1,
     CONSTRAINT pk_authors PRIMARY KEY (id)
 );
 CREATE TABLE IF NOT EXISTS publishers
@@ -10,6 +11,7 @@ CREATE TABLE IF NOT EXISTS publishers
     id   BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     name VARCHAR(255)                            NOT NULL,
     city VARCHAR(100)                            NOT NULL,
+    version BIGINT                               NOT NULL DEFAULT 1,
     CONSTRAINT pk_publishers PRIMARY KEY (id)
 );
 CREATE TABLE IF NOT EXISTS books
@@ -18,6 +20,8 @@ CREATE TABLE IF NOT EXISTS books
     name      VARCHAR(255)                            NOT NULL,
     author_id BIGINT                                  NOT NULL,
     year      INTEGER                                 NOT NULL,
+    version   BIGINT                                  NOT NULL DEFAULT 1,
+    search_vector TSVECTOR,
     CONSTRAINT pk_books PRIMARY KEY (id),
     CONSTRAINT fk_author_id_authors FOREIGN KEY (author_id) REFERENCES authors ON DELETE CASCADE
 );
@@ -27,4 +31,115 @@ CREATE TABLE IF NOT EXISTS books_publishers
     publisher_id BIGINT NOT NULL,
     CONSTRAINT fk_books_id_books FOREIGN KEY (books_id) REFERENCES books ON DELETE CASCADE,
     CONSTRAINT fk_publisher_id_publishers FOREIGN KEY (publisher_id) REFERENCES publishers ON DELETE CASCADE
-);
\ No newline at end of file
+);
+CREATE TABLE IF NOT EXISTS author_book_counts
+(
+    author_id  BIGINT NOT NULL,
+    book_count BIGINT NOT NULL,
+    CONSTRAINT pk_author_book_counts PRIMARY KEY (author_id),
+    CONSTRAINT fk_author_book_counts_authors FOREIGN KEY (author_id) REFERENCES authors ON DELETE CASCADE
+);
+CREATE TABLE IF NOT EXISTS publisher_book_counts
+(
+    publisher_id BIGINT NOT NULL,
+    book_count   BIGINT NOT NULL,
+    CONSTRAINT pk_publisher_book_counts PRIMARY KEY (publisher_id),
+    CONSTRAINT fk_publisher_book_counts_publishers FOREIGN KEY (publisher_id) REFERENCES publishers ON DELETE CASCADE
+);
+CREATE TABLE IF NOT EXISTS year_book_counts
+(
+    year       INTEGER NOT NULL,
+    book_count BIGINT  NOT NULL,
+    CONSTRAINT pk_year_book_counts PRIMARY KEY (year)
+);
+ALTER TABLE authors ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE publishers ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE books ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE books ADD COLUMN IF NOT EXISTS search_vector TSVECTOR;
+CREATE INDEX IF NOT EXISTS ix_books_author_id ON books (author_id, id);
+CREATE INDEX IF NOT EXISTS ix_books_year ON books (year, id);
+CREATE INDEX IF NOT EXISTS ix_books_publishers_books_id ON books_publishers (books_id, publisher_id);
+CREATE INDEX IF NOT EXISTS ix_books_publishers_publisher_id ON books_publishers (publisher_id, books_id);
+CREATE INDEX IF NOT EXISTS ix_books_search_vector ON books USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS ix_author_book_counts_book_count ON author_book_counts (book_count DESC, author_id);
+CREATE INDEX IF NOT EXISTS ix_publisher_book_counts_book_count ON publisher_book_counts (book_count DESC, publisher_id);
+CREATE OR REPLACE FUNCTION book_search_vector(book_name TEXT, author_first_name TEXT, author_last_name TEXT)
+    RETURNS TSVECTOR AS
+$$
+SELECT setweight(to_tsvector('simple', book_name), 'A')
+           || setweight(to_tsvector('simple', author_first_name || ' ' || author_last_name), 'B')
+$$ LANGUAGE sql IMMUTABLE;
+UPDATE books b
+SET search_vector = book_search_vector(b.name, a.first_name, a.last_name)
+FROM authors a
+WHERE a.id = b.author_id
+  AND b.search_vector IS NULL;
+CREATE OR REPLACE FUNCTION notify_entity_change() RETURNS trigger AS
+$$
+BEGIN
+    IF current_setting('app.bulk_import', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('catalog_changes', TG_ARGV[0] || ':' || OLD.id);
+    ELSE
+        PERFORM pg_notify('catalog_changes', TG_ARGV[0] || ':' || NEW.id);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+CREATE OR REPLACE FUNCTION notify_book_change() RETURNS trigger AS
+$$
+BEGIN
+    IF current_setting('app.bulk_import', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP = 'INSERT' THEN
+        PERFORM pg_notify('catalog_changes', 'book:' || NEW.id || '::' || NEW.author_id);
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM pg_notify('catalog_changes', 'book:' || NEW.id || ':' || OLD.author_id || ':' || NEW.author_id);
+    ELSE
+        PERFORM pg_notify('catalog_changes', 'book:' || OLD.id || ':' || OLD.author_id || ':');
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+CREATE OR REPLACE FUNCTION notify_book_publisher_change() RETURNS trigger AS
+$$
+BEGIN
+    IF current_setting('app.bulk_import', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('catalog_changes', 'book_publisher:' || OLD.books_id || ':' || OLD.publisher_id);
+    ELSE
+        PERFORM pg_notify('catalog_changes', 'book_publisher:' || NEW.books_id || ':' || NEW.publisher_id);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+DROP TRIGGER IF EXISTS tr_authors_notify ON authors;
+CREATE TRIGGER tr_authors_notify
+    AFTER INSERT OR UPDATE OR DELETE ON authors
+    FOR EACH ROW EXECUTE FUNCTION notify_entity_change('author');
+DROP TRIGGER IF EXISTS tr_publishers_notify ON publishers;
+CREATE TRIGGER tr_publishers_notify
+    AFTER INSERT OR UPDATE OR DELETE ON publishers
+    FOR EACH ROW EXECUTE FUNCTION notify_entity_change('publisher');
+DROP TRIGGER IF EXISTS tr_books_notify ON books;
+CREATE TRIGGER tr_books_notify
+    AFTER INSERT OR UPDATE OR DELETE ON books
+    FOR EACH ROW EXECUTE FUNCTION notify_book_change();
+DROP TRIGGER IF EXISTS tr_books_publishers_notify ON books_publishers;
+CREATE TRIGGER tr_books_publishers_notify
+    AFTER INSERT OR UPDATE OR DELETE ON books_publishers
+    FOR EACH ROW EXECUTE FUNCTION notify_book_publisher_change();
+INSERT INTO author_book_counts (author_id, book_count)
+SELECT author_id, count(*) FROM books GROUP BY author_id
+ON CONFLICT DO NOTHING;
+INSERT INTO publisher_book_counts (publisher_id, book_count)
+SELECT publisher_id, count(DISTINCT books_id) FROM books_publishers GROUP BY publisher_id
+ON CONFLICT DO NOTHING;
+INSERT INTO year_book_counts (year, book_count)
+SELECT year, count(*) FROM books GROUP BY year
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,57 @@
+package ru.practicum.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+class LeakDetector {
+    private static final Logger log = LoggerFactory.getLogger(LeakDetector.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final long thresholdMillis;
+
+    LeakDetector(ScheduledExecutorService scheduler, long thresholdMillis) {
+        this.scheduler = scheduler;
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    Watch watch() {
+        if (thresholdMillis <= 0) {
+            return null;
+        }
+        return new Watch();
+    }
+
+    class Watch implements Runnable {
+        private final Exception borrowStack;
+        private final String threadName;
+        private final long borrowedAt;
+        private final ScheduledFuture<?> task;
+        private volatile boolean reported;
+
+        private Watch() {
+            this.borrowStack = new Exception("Connection borrowed here");
+            this.threadName = Thread.currentThread().getName();
+            this.borrowedAt = System.currentTimeMillis();
+            this.task = scheduler.schedule(this, thresholdMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void run() {
+            reported = true;
+            log.warn("Connection borrowed by thread {} has not been returned for more than {} ms, possible leak",
+                    threadName, thresholdMillis, borrowStack);
+        }
+
+        void cancel() {
+            task.cancel(false);
+            if (reported) {
+                log.info("Previously reported connection borrowed by thread {} was returned after {} ms",
+                        threadName, System.currentTimeMillis() - borrowedAt);
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package ru.practicum.db;
+
+import ru.practicum.utils.PropertyUtil;
+
+public class PoolConfig {
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long evictionIntervalMillis;
+    private final int validationTimeoutSeconds;
+    private final long validationBypassMillis;
+    private final long leakDetectionThresholdMillis;
+    private final int statementCacheSize;
+    private final int prepareThreshold;
+
+    public PoolConfig(int minSize, int maxSize, long borrowTimeoutMillis, long idleTimeoutMillis,
+                      long evictionIntervalMillis, int validationTimeoutSeconds, long validationBypassMillis,
+                      long leakDetectionThresholdMillis, int statementCacheSize, int prepareThreshold) {
+        if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.evictionIntervalMillis = evictionIntervalMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.validationBypassMillis = validationBypassMillis;
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.prepareThreshold = prepareThreshold;
+    }
+
+    public static PoolConfigBuilder builder() {
+        return new PoolConfigBuilder();
+    }
+
+    public static PoolConfig fromProperties() {
+        return builder()
+                .minSize(PropertyUtil.getIntProperty("postgres.pool.minSize", 2))
+                .maxSize(PropertyUtil.getIntProperty("postgres.pool.maxSize", 10))
+                .borrowTimeoutMillis(PropertyUtil.getLongProperty("postgres.pool.borrowTimeoutMillis", 30_000))
+                .idleTimeoutMillis(PropertyUtil.getLongProperty("postgres.pool.idleTimeoutMillis", 600_000))
+                .evictionIntervalMillis(PropertyUtil.getLongProperty("postgres.pool.evictionIntervalMillis", 30_000))
+                .validationTimeoutSeconds(PropertyUtil.getIntProperty("postgres.pool.validationTimeoutSeconds", 5))
+                .validationBypassMillis(PropertyUtil.getLongProperty("postgres.pool.validationBypassMillis", 500))
+                .leakDetectionThresholdMillis(PropertyUtil.getLongProperty("postgres.pool.leakDetectionThresholdMillis", 0))
+                .statementCacheSize(PropertyUtil.getIntProperty("postgres.pool.statementCacheSize", 64))
+                .prepareThreshold(PropertyUtil.getIntProperty("postgres.pool.prepareThreshold", 2))
+                .build();
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getBorrowTimeoutMillis() {
+        return borrowTimeoutMillis;
+    }
+
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public long getEvictionIntervalMillis() {
+        return evictionIntervalMillis;
+    }
+
+    public int getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+
+    public long getValidationBypassMillis() {
+        return validationBypassMillis;
+    }
+
+    public long getLeakDetectionThresholdMillis() {
+        return leakDetectionThresholdMillis;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public int getPrepareThreshold() {
+        return prepareThreshold;
+    }
+
+    public static class PoolConfigBuilder {
+        private int minSize = 2;
+        private int maxSize = 10;
+        private long borrowTimeoutMillis = 30_000;
+        private long idleTimeoutMillis = 600_000;
+        private long evictionIntervalMillis = 30_000;
+        private int validationTimeoutSeconds = 5;
+        private long validationBypassMillis = 500;
+        private long leakDetectionThresholdMillis;
+        private int statementCacheSize = 64;
+        private int prepareThreshold = 2;
+
+        PoolConfigBuilder() {
+        }
+
+        public PoolConfigBuilder minSize(int minSize) {
+            this.minSize = minSize;
+            return this;
+        }
+
+        public PoolConfigBuilder maxSize(int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        public PoolConfigBuilder borrowTimeoutMillis(long borrowTimeoutMillis) {
+            this.borrowTimeoutMillis = borrowTimeoutMillis;
+            return this;
+        }
+
+        public PoolConfigBuilder idleTimeoutMillis(long idleTimeoutMillis) {
+            this.idleTimeoutMillis = idleTimeoutMillis;
+            return this;
+        }
+
+        public PoolConfigBuilder evictionIntervalMillis(long evictionIntervalMillis) {
+            this.evictionIntervalMillis = evictionIntervalMillis;
+            return this;
+        }
+
+        public PoolConfigBuilder validationTimeoutSeconds(int validationTimeoutSeconds) {
+            this.validationTimeoutSeconds = validationTimeoutSeconds;
+            return this;
+        }
+
+        public PoolConfigBuilder validationBypassMillis(long validationBypassMillis) {
+            this.validationBypassMillis = validationBypassMillis;
+            return this;
+        }
+
+        public PoolConfigBuilder leakDetectionThresholdMillis(long leakDetectionThresholdMillis) {
+            this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+            return this;
+        }
+
+        public PoolConfigBuilder statementCacheSize(int statementCacheSize) {
+            this.statementCacheSize = statementCacheSize;
+            return this;
+        }
+
+        public PoolConfigBuilder prepareThreshold(int prepareThreshold) {
+            this.prepareThreshold = prepareThreshold;
+            return this;
+        }
+
+        public PoolConfig build() {
+            return new PoolConfig(minSize, maxSize, borrowTimeoutMillis, idleTimeoutMillis,
+                    evictionIntervalMillis, validationTimeoutSeconds, validationBypassMillis,
+                    leakDetectionThresholdMillis, statementCacheSize, prepareThreshold);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package ru.practicum.db;
 
-import org.postgresql.ds.PGConnectionPoolDataSource;
+import org.postgresql.ds.PGSimpleDataSource;
 import ru.practicum.utils.PropertyUtil;
 
 import java.sql.Connection;
@@ -11,12 +11,17 @@ public class PosgresConnectionManager implements ConnectionManager {
     private static final String USER = PropertyUtil.getProperty("postgres.user");
     private static final String PASSWORD = PropertyUtil.getProperty("postgres.password");
 
+    private final PGSimpleDataSource dataSource;
+
+    public PosgresConnectionManager() {
+        dataSource = new PGSimpleDataSource();
+        dataSource.setURL(URL);
+        dataSource.setUser(USER);
+        dataSource.setPassword(PASSWORD);
+    }
+
     @Override
     public Connection getConnection() throws SQLException {
-        PGConnectionPoolDataSource ds = new PGConnectionPoolDataSource();
-        ds.setURL(URL);
-        ds.setUser(USER);
-        ds.setPassword(PASSWORD);
-        return ds.getPooledConnection().getConnection();
+        return dataSource.getConnection();
     }
 }
@@ -0,0 +1,167 @@
+package ru.practicum.db;
+
+import org.postgresql.PGStatement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class StatementCache {
+    private final int maxSize;
+    private final int prepareThreshold;
+    private final StatementCacheStats stats;
+    private final LinkedHashMap<Key, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+    StatementCache(int maxSize, int prepareThreshold, StatementCacheStats stats) {
+        this.maxSize = maxSize;
+        this.prepareThreshold = prepareThreshold;
+        this.stats = stats;
+    }
+
+    PreparedStatement prepare(Connection physical, Connection lease, String sql, int autoGeneratedKeys)
+            throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.inUse) {
+            stats.recordHit();
+            return cached.checkOut(lease);
+        }
+        stats.recordMiss();
+        PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+        if (statement.isWrapperFor(PGStatement.class)) {
+            statement.unwrap(PGStatement.class).setPrepareThreshold(prepareThreshold);
+        }
+        if (cached != null) {
+            // the cached one is busy, so this one is not cached and closes for real
+            return handle(statement, lease, null);
+        }
+        cached = new CachedStatement(statement);
+        statements.put(key, cached);
+        evictOverflow();
+        return cached.checkOut(lease);
+    }
+
+    private static PreparedStatement handle(PreparedStatement statement, Connection lease, CachedStatement cached) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new Handle(statement, lease, cached));
+    }
+
+    void closeAll() {
+        for (CachedStatement cached : statements.values()) {
+            closeQuietly(cached.statement);
+        }
+        statements.clear();
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Key, CachedStatement>> eldestFirst = statements.entrySet().iterator();
+        while (statements.size() > maxSize && eldestFirst.hasNext()) {
+            CachedStatement cached = eldestFirst.next().getValue();
+            if (!cached.inUse) {
+                eldestFirst.remove();
+                closeQuietly(cached.statement);
+                stats.recordEviction();
+            }
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // the statement is unusable either way
+        }
+    }
+
+    private record Key(String sql, int autoGeneratedKeys) {
+    }
+
+    private static class CachedStatement {
+        private final PreparedStatement statement;
+        private boolean inUse;
+
+        private CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        private PreparedStatement checkOut(Connection lease) {
+            inUse = true;
+            return handle(statement, lease, this);
+        }
+
+        private void checkIn() throws SQLException {
+            try {
+                ResultSet resultSet = statement.getResultSet();
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                statement.clearParameters();
+                statement.clearBatch();
+                statement.setFetchSize(0);
+                statement.setMaxRows(0);
+            } finally {
+                inUse = false;
+            }
+        }
+    }
+
+    /**
+     * What the caller gets back. Closing it checks a cached statement back in and closes an uncached
+     * one; either way the caller's handle is unusable afterwards.
+     */
+    private static class Handle implements InvocationHandler {
+        private final PreparedStatement statement;
+        private final Connection lease;
+        private final CachedStatement cached;
+        private boolean closed;
+
+        private Handle(PreparedStatement statement, Connection lease, CachedStatement cached) {
+            this.statement = statement;
+            this.lease = lease;
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        if (cached != null) {
+                            cached.checkIn();
+                        } else {
+                            statement.close();
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || statement.isClosed();
+                case "getConnection":
+                    return lease;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return statement.toString();
+                default:
+                    if (closed) {
+                        throw new SQLException("Statement is closed");
+                    }
+                    try {
+                        return method.invoke(statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
@@ -4,4 +4,11 @@ public class NotFoundException extends RuntimeException {
     public NotFoundException(String msg) {
         super(msg);
     }
+
+    /**
+     * Skips filling in the stack trace, for misses answered from a cache of missing ids.
+     */
+    public NotFoundException(String msg, boolean writableStackTrace) {
+        super(msg, null, false, writableStackTrace);
+    }
 }
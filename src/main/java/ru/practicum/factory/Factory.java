@@ -1,46 +1,365 @@
 package ru.practicum.factory;
 
 import ru.practicum.db.ConnectionManager;
+import ru.practicum.db.ConnectionPool;
+import ru.practicum.db.PoolConfig;
 import ru.practicum.db.PosgresConnectionManager;
+import ru.practicum.model.Author;
+import ru.practicum.model.Book;
+import ru.practicum.model.Publisher;
+import ru.practicum.repository.BaseCrudRepository;
+import ru.practicum.repository.author.AuthorCrudRepository;
 import ru.practicum.repository.author.AuthorCrudRepositoryBase;
+import ru.practicum.repository.author.BatchingAuthorCrudRepository;
+import ru.practicum.repository.author.CachingAuthorCrudRepository;
+import ru.practicum.repository.book.BookCrudRepository;
+import ru.practicum.repository.batch.FindByIdBatcher;
+import ru.practicum.repository.book.BatchingBookCrudRepository;
 import ru.practicum.repository.book.BookCrudRepositoryBase;
+import ru.practicum.repository.book.CachingBookCrudRepository;
+import ru.practicum.repository.cache.CacheStats;
+import ru.practicum.repository.cache.ChangeNotificationListener;
+import ru.practicum.repository.cache.EntityCache;
+import ru.practicum.repository.cache.InvalidationGraph;
+import ru.practicum.repository.cache.MissingIdCache;
+import ru.practicum.repository.catalog.CatalogImportRepositoryBase;
 import ru.practicum.repository.mapping.author.AuthorResultSetExtractor;
 import ru.practicum.repository.mapping.author.AuthorRowMapper;
 import ru.practicum.repository.mapping.book.BookResultSetExtractor;
 import ru.practicum.repository.mapping.book.BookRowMapper;
 import ru.practicum.repository.mapping.publisher.PublisherResultSetExtractor;
 import ru.practicum.repository.mapping.publisher.PublisherRowMapper;
+import ru.practicum.repository.mapping.stats.BookCountRowMapper;
+import ru.practicum.repository.publisher.BatchingPublisherCrudRepository;
+import ru.practicum.repository.publisher.CachingPublisherCrudRepository;
+import ru.practicum.repository.publisher.PublisherCrudRepository;
 import ru.practicum.repository.publisher.PublisherCrudRepositoryBase;
+import ru.practicum.repository.sql.SqlRegistry;
+import ru.practicum.repository.stats.CatalogStatsRepositoryBase;
+import ru.practicum.service.SingleFlight;
 import ru.practicum.service.author.AuthorService;
 import ru.practicum.service.author.AuthorServiceImpl;
 import ru.practicum.service.book.BookService;
 import ru.practicum.service.book.BookServiceImpl;
+import ru.practicum.service.catalog.CatalogImportService;
+import ru.practicum.service.catalog.CatalogImportServiceImpl;
 import ru.practicum.service.publisher.PublisherService;
 import ru.practicum.service.publisher.PublisherServiceImpl;
+import ru.practicum.service.stats.CatalogStatsService;
+import ru.practicum.service.stats.CatalogStatsServiceImpl;
+import ru.practicum.service.suggest.PrefixIndex;
+import ru.practicum.service.suggest.SuggestionIndexes;
+import ru.practicum.servlet.utils.ResponseCache;
+import ru.practicum.utils.PropertyUtil;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class Factory {
+    private static ChangeNotificationListener changeListener;
+
     private Factory() {
     }
 
     private static ConnectionManager getConnectionManager() {
-        return new PosgresConnectionManager();
+        return ConnectionPoolHolder.POOL;
+    }
+
+    public static void validateSchema() throws SQLException {
+        SqlRegistry.validate(getConnectionManager());
+    }
+
+    /**
+     * Loads every author and publisher name into the in-memory autocomplete indexes.
+     */
+    public static void buildSuggestionIndexes() {
+        List<Author> authors = new ArrayList<>();
+        authorRepository().streamAll(authors::add);
+        SuggestionIndexHolder.AUTHORS.replaceAll(authors);
+        List<Publisher> publishers = new ArrayList<>();
+        publisherRepository().streamAll(publishers::add);
+        SuggestionIndexHolder.PUBLISHERS.replaceAll(publishers);
+    }
+
+    /**
+     * Statistics of the entity caches switched on with {@code cache.<entity>.enabled}.
+     */
+    public static Map<String, CacheStats> getCacheStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        if (EntityCacheHolder.AUTHORS != null) {
+            stats.put(EntityCacheHolder.AUTHORS_NAME, EntityCacheHolder.AUTHORS.getStats());
+        }
+        if (EntityCacheHolder.BOOKS != null) {
+            stats.put(EntityCacheHolder.BOOKS_NAME, EntityCacheHolder.BOOKS.getStats());
+        }
+        if (EntityCacheHolder.PUBLISHERS != null) {
+            stats.put(EntityCacheHolder.PUBLISHERS_NAME, EntityCacheHolder.PUBLISHERS.getStats());
+        }
+        if (EntityCacheHolder.MISSING_BOOKS != null) {
+            stats.put(EntityCacheHolder.MISSING_BOOKS_NAME, EntityCacheHolder.MISSING_BOOKS.getStats());
+        }
+        if (EntityCacheHolder.AUTHOR_RESPONSES != null) {
+            stats.put(EntityCacheHolder.AUTHOR_RESPONSES_NAME, EntityCacheHolder.AUTHOR_RESPONSES.getStats());
+        }
+        if (EntityCacheHolder.BOOK_RESPONSES != null) {
+            stats.put(EntityCacheHolder.BOOK_RESPONSES_NAME, EntityCacheHolder.BOOK_RESPONSES.getStats());
+        }
+        if (EntityCacheHolder.PUBLISHER_RESPONSES != null) {
+            stats.put(EntityCacheHolder.PUBLISHER_RESPONSES_NAME, EntityCacheHolder.PUBLISHER_RESPONSES.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Repository calls made and collapsed into a concurrent identical one.
+     */
+    public static Map<String, SingleFlight.Stats> getCoalescingStats() {
+        return Map.of(EntityCacheHolder.BOOKS_NAME, CoalescingHolder.BOOKS.getStats());
+    }
+
+    /**
+     * How many findById lookups were answered by how many batched queries.
+     */
+    public static Map<String, FindByIdBatcher.Stats> getBatchingStats() {
+        Map<String, FindByIdBatcher.Stats> stats = new LinkedHashMap<>();
+        if (BatchingHolder.ENABLED) {
+            stats.put(EntityCacheHolder.AUTHORS_NAME, BatchingHolder.AUTHORS.getStats());
+            stats.put(EntityCacheHolder.BOOKS_NAME, BatchingHolder.BOOKS.getStats());
+            stats.put(EntityCacheHolder.PUBLISHERS_NAME, BatchingHolder.PUBLISHERS.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Serialized {@code GET /authors/{id}} bodies, switched on with {@code cache.responses.authors.enabled}.
+     */
+    public static ResponseCache getAuthorResponseCache() {
+        return responseCache(EntityCacheHolder.AUTHOR_RESPONSES);
+    }
+
+    public static ResponseCache getBookResponseCache() {
+        return responseCache(EntityCacheHolder.BOOK_RESPONSES);
+    }
+
+    public static ResponseCache getPublisherResponseCache() {
+        return responseCache(EntityCacheHolder.PUBLISHER_RESPONSES);
+    }
+
+    private static ResponseCache responseCache(EntityCache<ResponseCache.Body> bodies) {
+        return bodies == null ? ResponseCache.DISABLED : new ResponseCache(bodies);
+    }
+
+    private static void afterImport() {
+        buildSuggestionIndexes();
+        // imported books join existing authors and publishers
+        EntityCacheHolder.GRAPH.evictAll();
+    }
+
+    /**
+     * Starts evicting what other nodes change, when {@code cache.notifications.enabled} is on.
+     */
+    public static synchronized void startChangeNotifications() {
+        if (changeListener != null || !PropertyUtil.getBooleanProperty("cache.notifications.enabled", false)) {
+            return;
+        }
+        changeListener = new ChangeNotificationListener(new PosgresConnectionManager(), EntityCacheHolder.GRAPH,
+                new SuggestionIndexRefresher(),
+                PropertyUtil.getIntProperty("cache.notifications.pollMillis", 10_000),
+                PropertyUtil.getLongProperty("cache.notifications.maxBackoffMillis", 5_000));
+        changeListener.start();
+    }
+
+    public static synchronized void shutdown() {
+        if (changeListener != null) {
+            changeListener.close();
+            changeListener = null;
+        }
+        ConnectionPoolHolder.POOL.close();
     }
 
     public static AuthorService getAuthorService() {
-        return new AuthorServiceImpl(new AuthorCrudRepositoryBase(getConnectionManager(),
-                new AuthorRowMapper(),
-                new AuthorResultSetExtractor()));
+        return new AuthorServiceImpl(authorRepository(), SuggestionIndexHolder.AUTHORS, EntityCacheHolder.GRAPH);
     }
 
     public static BookService getBookService() {
-        return new BookServiceImpl(new BookCrudRepositoryBase(getConnectionManager(),
-                new BookRowMapper(),
-                new BookResultSetExtractor()));
+        return new BookServiceImpl(bookRepository(), EntityCacheHolder.GRAPH,
+                EntityCacheHolder.MISSING_BOOKS == null ? MissingIdCache.DISABLED
+                        : new MissingIdCache(EntityCacheHolder.MISSING_BOOKS), CoalescingHolder.BOOKS);
     }
 
     public static PublisherService getPublisherService() {
-        return new PublisherServiceImpl(new PublisherCrudRepositoryBase(getConnectionManager(),
+        return new PublisherServiceImpl(publisherRepository(), SuggestionIndexHolder.PUBLISHERS,
+                EntityCacheHolder.GRAPH);
+    }
+
+    public static CatalogImportService getCatalogImportService() {
+        return new CatalogImportServiceImpl(new CatalogImportRepositoryBase(getConnectionManager()),
+                Factory::afterImport);
+    }
+
+    public static CatalogStatsService getCatalogStatsService() {
+        return new CatalogStatsServiceImpl(new CatalogStatsRepositoryBase(getConnectionManager(),
+                new BookCountRowMapper()));
+    }
+
+    private static AuthorCrudRepository authorRepository() {
+        AuthorCrudRepository repository = BatchingHolder.AUTHORS != null ? BatchingHolder.AUTHORS
+                : authorRepositoryBase();
+        return EntityCacheHolder.AUTHORS == null
+                ? repository
+                : new CachingAuthorCrudRepository(repository, EntityCacheHolder.AUTHORS, EntityCacheHolder.GRAPH);
+    }
+
+    private static BookCrudRepository bookRepository() {
+        BookCrudRepository repository = BatchingHolder.BOOKS != null ? BatchingHolder.BOOKS : bookRepositoryBase();
+        return EntityCacheHolder.BOOKS == null
+                ? repository
+                : new CachingBookCrudRepository(repository, EntityCacheHolder.BOOKS, EntityCacheHolder.GRAPH);
+    }
+
+    private static PublisherCrudRepository publisherRepository() {
+        PublisherCrudRepository repository = BatchingHolder.PUBLISHERS != null ? BatchingHolder.PUBLISHERS
+                : publisherRepositoryBase();
+        return EntityCacheHolder.PUBLISHERS == null
+                ? repository
+                : new CachingPublisherCrudRepository(repository, EntityCacheHolder.PUBLISHERS,
+                        EntityCacheHolder.GRAPH);
+    }
+
+    private static AuthorCrudRepository authorRepositoryBase() {
+        return new AuthorCrudRepositoryBase(getConnectionManager(),
+                new AuthorRowMapper(),
+                new AuthorResultSetExtractor(),
+                getInsertChunkSize());
+    }
+
+    private static BookCrudRepository bookRepositoryBase() {
+        return new BookCrudRepositoryBase(getConnectionManager(),
+                new BookRowMapper(),
+                new BookResultSetExtractor());
+    }
+
+    private static PublisherCrudRepository publisherRepositoryBase() {
+        return new PublisherCrudRepositoryBase(getConnectionManager(),
                 new PublisherResultSetExtractor(),
-                new PublisherRowMapper()));
+                new PublisherRowMapper(),
+                getInsertChunkSize());
+    }
+
+    private static int getInsertChunkSize() {
+        return PropertyUtil.getIntProperty("repository.insertChunkSize", BaseCrudRepository.DEFAULT_INSERT_CHUNK_SIZE);
+    }
+
+    private static class SuggestionIndexHolder {
+        private static final PrefixIndex<Author> AUTHORS = SuggestionIndexes.authors();
+        private static final PrefixIndex<Publisher> PUBLISHERS = SuggestionIndexes.publishers();
+    }
+
+    /**
+     * Keeps the autocomplete indexes in step with authors and publishers other nodes change.
+     * Entries are read past the caches, which the same notification has just invalidated.
+     */
+    private static class SuggestionIndexRefresher implements ChangeNotificationListener.NameIndexes {
+        @Override
+        public void authorChanged(long id) {
+            authorRepositoryBase().findAllByIds(List.of(id)).stream().findFirst().ifPresentOrElse(
+                    SuggestionIndexHolder.AUTHORS::put, () -> SuggestionIndexHolder.AUTHORS.remove(id));
+        }
+
+        @Override
+        public void publisherChanged(long id) {
+            publisherRepositoryBase().findAllByIds(List.of(id)).stream().findFirst().ifPresentOrElse(
+                    SuggestionIndexHolder.PUBLISHERS::put, () -> SuggestionIndexHolder.PUBLISHERS.remove(id));
+        }
+
+        @Override
+        public void rebuild() {
+            buildSuggestionIndexes();
+        }
+    }
+
+    /**
+     * One cache per entity, shared by every repository instance; {@code null} when switched off.
+     * The graph evicts cached aggregates across the caches when the entities they embed change.
+     */
+    private static class EntityCacheHolder {
+        private static final String AUTHORS_NAME = "authors";
+        private static final String BOOKS_NAME = "books";
+        private static final String PUBLISHERS_NAME = "publishers";
+        private static final EntityCache<Author> AUTHORS = entityCache(AUTHORS_NAME);
+        private static final EntityCache<Book> BOOKS = entityCache(BOOKS_NAME);
+        private static final EntityCache<Publisher> PUBLISHERS = entityCache(PUBLISHERS_NAME);
+        private static final String MISSING_BOOKS_NAME = "missing.books";
+        private static final EntityCache<Boolean> MISSING_BOOKS = entityCache(MISSING_BOOKS_NAME);
+        private static final String AUTHOR_RESPONSES_NAME = "responses.authors";
+        private static final String BOOK_RESPONSES_NAME = "responses.books";
+        private static final String PUBLISHER_RESPONSES_NAME = "responses.publishers";
+        private static final EntityCache<ResponseCache.Body> AUTHOR_RESPONSES = entityCache(AUTHOR_RESPONSES_NAME);
+        private static final EntityCache<ResponseCache.Body> BOOK_RESPONSES = entityCache(BOOK_RESPONSES_NAME);
+        private static final EntityCache<ResponseCache.Body> PUBLISHER_RESPONSES = entityCache(PUBLISHER_RESPONSES_NAME);
+        private static final InvalidationGraph GRAPH = invalidationGraph();
+
+        private static InvalidationGraph invalidationGraph() {
+            InvalidationGraph graph = new InvalidationGraph(PropertyUtil.getIntProperty("cache.graph.maxTrackedAggregates",
+                    10_000));
+            if (AUTHORS != null) {
+                graph.attach(InvalidationGraph.Kind.AUTHOR, AUTHORS);
+            }
+            if (BOOKS != null) {
+                graph.attach(InvalidationGraph.Kind.BOOK, BOOKS);
+            }
+            if (PUBLISHERS != null) {
+                graph.attach(InvalidationGraph.Kind.PUBLISHER, PUBLISHERS);
+            }
+            if (MISSING_BOOKS != null) {
+                graph.attach(InvalidationGraph.Kind.BOOK, MISSING_BOOKS);
+            }
+            if (AUTHOR_RESPONSES != null) {
+                graph.attach(InvalidationGraph.Kind.AUTHOR, AUTHOR_RESPONSES);
+            }
+            if (BOOK_RESPONSES != null) {
+                graph.attach(InvalidationGraph.Kind.BOOK, BOOK_RESPONSES);
+            }
+            if (PUBLISHER_RESPONSES != null) {
+                graph.attach(InvalidationGraph.Kind.PUBLISHER, PUBLISHER_RESPONSES);
+            }
+            return graph;
+        }
+
+        private static <T> EntityCache<T> entityCache(String entity) {
+            if (!PropertyUtil.getBooleanProperty("cache." + entity + ".enabled", false)) {
+                return null;
+            }
+            return new EntityCache<>(PropertyUtil.getIntProperty("cache." + entity + ".maxSize", 1000),
+                    PropertyUtil.getLongProperty("cache." + entity + ".ttlMillis", 60_000));
+        }
+    }
+
+    /**
+     * One batching repository per entity, so lookups from every service share the batches;
+     * {@code null} when {@code repository.batch.enabled} is off.
+     */
+    private static class BatchingHolder {
+        private static final boolean ENABLED = PropertyUtil.getBooleanProperty("repository.batch.enabled", false);
+        private static final long WINDOW_MICROS = PropertyUtil.getLongProperty("repository.batch.windowMicros", 1000);
+        private static final int MAX_SIZE = PropertyUtil.getIntProperty("repository.batch.maxSize", 100);
+        private static final BatchingAuthorCrudRepository AUTHORS = ENABLED
+                ? new BatchingAuthorCrudRepository(authorRepositoryBase(), WINDOW_MICROS, MAX_SIZE) : null;
+        private static final BatchingBookCrudRepository BOOKS = ENABLED
+                ? new BatchingBookCrudRepository(bookRepositoryBase(), WINDOW_MICROS, MAX_SIZE) : null;
+        private static final BatchingPublisherCrudRepository PUBLISHERS = ENABLED
+                ? new BatchingPublisherCrudRepository(publisherRepositoryBase(), WINDOW_MICROS, MAX_SIZE) : null;
+    }
+
+    private static class CoalescingHolder {
+        private static final SingleFlight BOOKS = new SingleFlight();
+    }
+
+    private static class ConnectionPoolHolder {
+        private static final ConnectionPool POOL = new ConnectionPool(new PosgresConnectionManager(),
+                PoolConfig.fromProperties());
     }
 }
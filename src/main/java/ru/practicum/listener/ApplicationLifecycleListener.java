@@ -0,0 +1,27 @@
+package ru.practicum.listener;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+import ru.practicum.factory.Factory;
+
+import java.sql.SQLException;
+
+@WebListener
+public class ApplicationLifecycleListener implements ServletContextListener {
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        try {
+            Factory.validateSchema();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Repository SQL does not match the database schema", e);
+        }
+        Factory.buildSuggestionIndexes();
+        Factory.startChangeNotifications();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        Factory.shutdown();
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.model;
+
+/**
+ * Number of books for one author, publisher or year. {@code key} is the author or publisher id,
+ * or the year; {@code name} is empty for years.
+ */
+public class BookCount {
+    private long key;
+    private String name;
+    private long bookCount;
+
+    public BookCount() {
+    }
+
+    public BookCount(long key, String name, long bookCount) {
+        this.key = key;
+        this.name = name;
+        this.bookCount = bookCount;
+    }
+
+    public long getKey() {
+        return key;
+    }
+
+    public void setKey(long key) {
+        this.key = key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getBookCount() {
+        return bookCount;
+    }
+
+    public void setBookCount(long bookCount) {
+        this.bookCount = bookCount;
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.model;
+
+/**
+ * Optional criteria for listing books. A {@code null} field does not restrict the result.
+ */
+public class BookFilter {
+    public static final BookFilter NONE = builder().build();
+
+    private final Long authorId;
+    private final Integer yearFrom;
+    private final Integer yearTo;
+    private final Long publisherId;
+
+    public BookFilter(Long authorId, Integer yearFrom, Integer yearTo, Long publisherId) {
+        if (yearFrom != null && yearTo != null && yearFrom > yearTo) {
+            throw new IllegalArgumentException("yearFrom must not be greater than yearTo");
+        }
+        this.authorId = authorId;
+        this.yearFrom = yearFrom;
+        this.yearTo = yearTo;
+        this.publisherId = publisherId;
+    }
+
+    public static BookFilterBuilder builder() {
+        return new BookFilterBuilder();
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public Integer getYearFrom() {
+        return yearFrom;
+    }
+
+    public Integer getYearTo() {
+        return yearTo;
+    }
+
+    public Long getPublisherId() {
+        return publisherId;
+    }
+
+    public boolean isEmpty() {
+        return authorId == null && yearFrom == null && yearTo == null && publisherId == null;
+    }
+
+    public static class BookFilterBuilder {
+        private Long authorId;
+        private Integer yearFrom;
+        private Integer yearTo;
+        private Long publisherId;
+
+        BookFilterBuilder() {
+        }
+
+        public BookFilterBuilder authorId(Long authorId) {
+            this.authorId = authorId;
+            return this;
+        }
+
+        public BookFilterBuilder yearFrom(Integer yearFrom) {
+            this.yearFrom = yearFrom;
+            return this;
+        }
+
+        public BookFilterBuilder yearTo(Integer yearTo) {
+            this.yearTo = yearTo;
+            return this;
+        }
+
+        public BookFilterBuilder publisherId(Long publisherId) {
+            this.publisherId = publisherId;
+            return this;
+        }
+
+        public BookFilter build() {
+            return new BookFilter(authorId, yearFrom, yearTo, publisherId);
+        }
+    }
+}
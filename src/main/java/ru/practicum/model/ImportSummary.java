@@ -0,0 +1,61 @@
+package ru.practicum.model;
+
+public class ImportSummary {
+    private long rows;
+    private long authorsCreated;
+    private long publishersCreated;
+    private long booksCreated;
+    private long publisherLinksCreated;
+
+    public ImportSummary() {
+    }
+
+    public ImportSummary(long rows, long authorsCreated, long publishersCreated, long booksCreated,
+                         long publisherLinksCreated) {
+        this.rows = rows;
+        this.authorsCreated = authorsCreated;
+        this.publishersCreated = publishersCreated;
+        this.booksCreated = booksCreated;
+        this.publisherLinksCreated = publisherLinksCreated;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public long getAuthorsCreated() {
+        return authorsCreated;
+    }
+
+    public void setAuthorsCreated(long authorsCreated) {
+        this.authorsCreated = authorsCreated;
+    }
+
+    public long getPublishersCreated() {
+        return publishersCreated;
+    }
+
+    public void setPublishersCreated(long publishersCreated) {
+        this.publishersCreated = publishersCreated;
+    }
+
+    public long getBooksCreated() {
+        return booksCreated;
+    }
+
+    public void setBooksCreated(long booksCreated) {
+        this.booksCreated = booksCreated;
+    }
+
+    public long getPublisherLinksCreated() {
+        return publisherLinksCreated;
+    }
+
+    public void setPublisherLinksCreated(long publisherLinksCreated) {
+        this.publisherLinksCreated = publisherLinksCreated;
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.model;
+
+import java.util.List;
+
+/**
+ * Entities found for a list of requested ids, in request order, and the ids that were not found.
+ */
+public class LookupResult<T> {
+    private final List<T> found;
+    private final List<Long> missingIds;
+
+    public LookupResult(List<T> found, List<Long> missingIds) {
+        this.found = found;
+        this.missingIds = missingIds;
+    }
+
+    public List<T> getFound() {
+        return found;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.model;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class Page<T> {
+    private final List<T> items;
+    private final Long nextAfterId;
+
+    public Page(List<T> items, Long nextAfterId) {
+        this.items = items;
+        this.nextAfterId = nextAfterId;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public boolean hasNext() {
+        return nextAfterId != null;
+    }
+
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    public <R> Page<R> map(Function<List<T>, List<R>> mapper) {
+        return new Page<>(mapper.apply(items), nextAfterId);
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.model;
+
+/**
+ * Keyset page request: up to {@code limit} entities with an id greater than {@code afterId}.
+ */
+public class PageRequest {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 1000;
+
+    private final long afterId;
+    private final int limit;
+
+    private PageRequest(long afterId, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_LIMIT);
+        }
+        this.afterId = afterId;
+        this.limit = limit;
+    }
+
+    public static PageRequest first(int limit) {
+        return new PageRequest(0, limit);
+    }
+
+    public static PageRequest after(long afterId, int limit) {
+        return new PageRequest(afterId, limit);
+    }
+
+    public long getAfterId() {
+        return afterId;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
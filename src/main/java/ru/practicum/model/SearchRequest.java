@@ -0,0 +1,52 @@
+package ru.practicum.model;
+
+/**
+ * Full-text search for {@code query}, skipping the first {@code offset} ranked hits. Ranked
+ * results have no stable key to page on, so deep offsets are capped instead.
+ */
+public class SearchRequest {
+    public static final int MAX_OFFSET = 10_000;
+
+    private final String query;
+    private final int offset;
+    private final int limit;
+
+    private SearchRequest(String query, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (offset < 0 || offset > MAX_OFFSET) {
+            throw new IllegalArgumentException("Search offset must be between 0 and " + MAX_OFFSET);
+        }
+        if (limit < 1 || limit > PageRequest.MAX_LIMIT) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + PageRequest.MAX_LIMIT);
+        }
+        this.query = query.trim();
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    public static SearchRequest of(String query, int offset, int limit) {
+        return new SearchRequest(query, offset, limit);
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Offset of the page after this one, or {@code null} when it would be past {@link #MAX_OFFSET}.
+     */
+    public Integer nextOffset() {
+        int next = offset + limit;
+        return next > MAX_OFFSET ? null : next;
+    }
+}
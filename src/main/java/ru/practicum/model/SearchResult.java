@@ -0,0 +1,25 @@
+package ru.practicum.model;
+
+import java.util.List;
+
+public class SearchResult<T> {
+    private final List<T> items;
+    private final Integer nextOffset;
+
+    public SearchResult(List<T> items, Integer nextOffset) {
+        this.items = items;
+        this.nextOffset = nextOffset;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public boolean hasNext() {
+        return nextOffset != null;
+    }
+
+    public Integer getNextOffset() {
+        return nextOffset;
+    }
+}
@@ -1,107 +1,272 @@
 package ru.practicum.repository;
 
 import ru.practicum.db.ConnectionManager;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
+import ru.practicum.repository.mapping.ColumnIndex;
 import ru.practicum.repository.mapping.ResulSetExtractor;
 import ru.practicum.repository.mapping.RowMapper;
+import ru.practicum.repository.mapping.VersionTagRowMapper;
+import ru.practicum.repository.sql.Sql;
 import ru.practicum.repository.utils.KeyHolder;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToLongFunction;
 
 import static java.sql.Statement.RETURN_GENERATED_KEYS;
 
 public abstract class BaseCrudRepository {
+    public static final int DEFAULT_INSERT_CHUNK_SIZE = 500;
+    public static final int STREAM_FETCH_SIZE = 1000;
+    protected static final VersionTagRowMapper VERSION_TAG_ROW_MAPPER = new VersionTagRowMapper();
+
     protected final ConnectionManager connectionManager;
 
     protected BaseCrudRepository(ConnectionManager connectionManager) {
         this.connectionManager = connectionManager;
     }
 
-    protected void setParameters(PreparedStatement ps, Map<Integer, Object> parameters) throws SQLException {
-        if (parameters != null)
-            for (Integer i : parameters.keySet()) {
-                ps.setObject(i, parameters.get(i));
-            }
+    protected static PreparedStatementSetter byId(long id) {
+        return ps -> ps.setLong(1, id);
+    }
+
+    protected static PreparedStatementSetter byIds(Collection<Long> ids) {
+        return ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray()));
     }
 
-    protected <T> Optional<T> query(String query, Map<Integer, Object> parameters, RowMapper<T> rowMapper) throws SQLException {
-        try (PreparedStatement ps = connectionManager.getConnection().prepareStatement(query)) {
-            setParameters(ps, parameters);
-            ResultSet resultSet = ps.executeQuery();
-            if (resultSet.next()) {
-                return Optional.of(rowMapper.mapRow(resultSet));
-            } else {
-                return Optional.empty();
+    protected <T> T execute(ConnectionCallback<T> callback) throws SQLException {
+        try (Connection connection = connectionManager.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            try {
+                return callback.doInConnection(connection);
+            } finally {
+                if (connection.getAutoCommit() != autoCommit) {
+                    connection.setAutoCommit(autoCommit);
+                }
             }
         }
     }
 
-    protected <T> Optional<T> query(String query, Map<Integer, Object> parameters, ResulSetExtractor<T> resulSetExtractor) throws SQLException {
-        try (PreparedStatement ps = connectionManager.getConnection().prepareStatement(query)) {
-            setParameters(ps, parameters);
-            ResultSet resultSet = ps.executeQuery();
-            return Optional.ofNullable(resulSetExtractor.extractData(resultSet));
-        }
+    protected <T> T executeInTransaction(ConnectionCallback<T> callback) throws SQLException {
+        return execute(connection -> {
+            connection.setAutoCommit(false);
+            try {
+                T result = callback.doInConnection(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        });
     }
 
-    protected <T> List<T> queryForList(String query, Map<Integer, Object> parameters, RowMapper<T> rowMapper) throws SQLException {
-        List<T> results = new ArrayList<>();
-        try (PreparedStatement ps = connectionManager.getConnection().prepareStatement(query)) {
-            setParameters(ps, parameters);
-            ResultSet resultSet = ps.executeQuery();
-            while (resultSet.next()) {
-                results.add(rowMapper.mapRow(resultSet));
+    protected <T> Optional<T> query(Sql query, PreparedStatementSetter parameters, RowMapper<T> rowMapper) throws SQLException {
+        return execute(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(query.getText())) {
+                parameters.setValues(ps);
+                try (ResultSet resultSet = ps.executeQuery()) {
+                    ColumnIndex columns = query.columnIndex(resultSet);
+                    if (resultSet.next()) {
+                        return Optional.of(rowMapper.mapRow(resultSet, columns));
+                    } else {
+                        return Optional.empty();
+                    }
+                }
             }
-            return results;
-        }
+        });
+    }
+
+    protected <T> Optional<T> query(Sql query, PreparedStatementSetter parameters, ResulSetExtractor<T> resulSetExtractor) throws SQLException {
+        return execute(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(query.getText())) {
+                parameters.setValues(ps);
+                try (ResultSet resultSet = ps.executeQuery()) {
+                    ColumnIndex columns = query.columnIndex(resultSet);
+                    return Optional.ofNullable(resulSetExtractor.extractData(resultSet, columns));
+                }
+            }
+        });
+    }
+
+    protected <T> List<T> queryForList(Sql query, PreparedStatementSetter parameters, RowMapper<T> rowMapper) throws SQLException {
+        return execute(connection -> {
+            List<T> results = new ArrayList<>();
+            try (PreparedStatement ps = connection.prepareStatement(query.getText())) {
+                parameters.setValues(ps);
+                try (ResultSet resultSet = ps.executeQuery()) {
+                    ColumnIndex columns = query.columnIndex(resultSet);
+                    while (resultSet.next()) {
+                        results.add(rowMapper.mapRow(resultSet, columns));
+                    }
+                }
+                return results;
+            }
+        });
+    }
+
+    protected <T> List<T> queryForList(Sql query, RowMapper<T> rowMapper) throws SQLException {
+        return queryForList(query, PreparedStatementSetter.NONE, rowMapper);
     }
 
-    protected <T> List<T> queryForList(String query, RowMapper<T> rowMapper) throws SQLException {
-        return queryForList(query, null, rowMapper);
+    protected <T> List<T> queryForList(Sql query, PreparedStatementSetter parameters, ResulSetExtractor<T> resulSetExtractor) throws SQLException {
+        return execute(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(query.getText())) {
+                parameters.setValues(ps);
+                try (ResultSet resultSet = ps.executeQuery()) {
+                    ColumnIndex columns = query.columnIndex(resultSet);
+                    return resulSetExtractor.extractAll(resultSet, columns);
+                }
+            }
+        });
     }
 
-    protected <T> List<T> queryForList(String query, Map<Integer, Object> parameters, ResulSetExtractor<T> resulSetExtractor) throws SQLException {
-        List<T> results = new ArrayList<>();
-        try (PreparedStatement ps = connectionManager.getConnection().prepareStatement(query)) {
-            setParameters(ps, parameters);
-            ResultSet resultSet = ps.executeQuery();
-            while (resultSet.next()) {
-                results.add(resulSetExtractor.extractData(resultSet));
+    /**
+     * Reads the result through a server-side cursor, {@link #STREAM_FETCH_SIZE} rows per round trip,
+     * so memory use does not depend on the size of the result. The connection and its transaction stay
+     * open until the last row has been handed to {@code action}, so a slow action holds a pool slot.
+     */
+    protected <T> void queryForEach(Sql query, PreparedStatementSetter parameters, RowMapper<T> rowMapper,
+                                    Consumer<? super T> action) throws SQLException {
+        executeInTransaction(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(query.getText())) {
+                parameters.setValues(ps);
+                ps.setFetchSize(STREAM_FETCH_SIZE);
+                try (ResultSet resultSet = ps.executeQuery()) {
+                    ColumnIndex columns = query.columnIndex(resultSet);
+                    while (resultSet.next()) {
+                        action.accept(rowMapper.mapRow(resultSet, columns));
+                    }
+                } finally {
+                    ps.setFetchSize(0);
+                }
             }
-            return results;
+            return null;
+        });
+    }
+
+    /**
+     * Runs a keyset query taking {@code (afterId, limit)} and fetches one extra row to learn
+     * whether another page follows.
+     */
+    protected <T> Page<T> queryForPage(Sql query, PageRequest pageRequest, RowMapper<T> rowMapper,
+                                       ToLongFunction<T> idOf) throws SQLException {
+        return queryForPage(query, PreparedStatementSetter.NONE, 0, pageRequest, rowMapper, idOf);
+    }
+
+    /**
+     * Keyset page of a query whose first {@code filterParameters} placeholders are bound by
+     * {@code filter}, followed by the "after id" and limit placeholders.
+     */
+    protected <T> Page<T> queryForPage(Sql query, PreparedStatementSetter filter, int filterParameters,
+                                       PageRequest pageRequest, RowMapper<T> rowMapper,
+                                       ToLongFunction<T> idOf) throws SQLException {
+        int limit = pageRequest.getLimit();
+        List<T> rows = queryForList(query, ps -> {
+            filter.setValues(ps);
+            ps.setLong(filterParameters + 1, pageRequest.getAfterId());
+            ps.setInt(filterParameters + 2, limit + 1);
+        }, rowMapper);
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
         }
+        List<T> items = rows.subList(0, limit);
+        return new Page<>(items, idOf.applyAsLong(items.get(limit - 1)));
+    }
+
+    /**
+     * Version tag of the page {@link #queryForPage} returns for the same arguments. The query takes
+     * the same placeholders, including the extra row that decides whether a next page exists.
+     */
+    protected String queryForPageVersionTag(Sql query, PreparedStatementSetter filter, int filterParameters,
+                                            PageRequest pageRequest) throws SQLException {
+        return query(query, ps -> {
+            filter.setValues(ps);
+            ps.setLong(filterParameters + 1, pageRequest.getAfterId());
+            ps.setInt(filterParameters + 2, pageRequest.getLimit() + 1);
+        }, VERSION_TAG_ROW_MAPPER).orElseThrow();
+    }
+
+    protected int update(Sql query, PreparedStatementSetter parameters) throws SQLException {
+        return execute(connection -> update(connection, query, parameters));
     }
 
-    protected int update(String query, Map<Integer, Object> parameters) throws SQLException {
-        try (PreparedStatement ps = connectionManager.getConnection().prepareStatement(query)) {
-            setParameters(ps, parameters);
+    protected int update(Connection connection, Sql query, PreparedStatementSetter parameters) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(query.getText())) {
+            parameters.setValues(ps);
             return ps.executeUpdate();
         }
     }
 
-    protected int update(String query, Map<Integer, Object> parameters, KeyHolder keyHolder) throws SQLException {
-        try (PreparedStatement ps = connectionManager.getConnection().prepareStatement(query, RETURN_GENERATED_KEYS)) {
-            setParameters(ps, parameters);
+    protected int update(Sql query, PreparedStatementSetter parameters, KeyHolder keyHolder) throws SQLException {
+        return execute(connection -> update(connection, query, parameters, keyHolder));
+    }
+
+    protected int update(Connection connection, Sql query, PreparedStatementSetter parameters, KeyHolder keyHolder) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(query.getText(), RETURN_GENERATED_KEYS)) {
+            parameters.setValues(ps);
             int executeUpdate = ps.executeUpdate();
-            ResultSet generatedKeys = ps.getGeneratedKeys();
-            if (generatedKeys.next()) {
-                keyHolder.setKey(generatedKeys.getLong(1));
+            try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    keyHolder.setKey(generatedKeys.getLong(1));
+                }
             }
             return executeUpdate;
         }
     }
 
-    protected Map<Integer, Object> getParams(Object... objects) {
-        Map<Integer, Object> params = new HashMap<>();
-        for (int i = 0; i < objects.length; i++) {
-            params.put(i + 1, objects[i]);
+    /**
+     * Locks the row {@code lock} selects until the transaction ends; false when there is none.
+     */
+    protected boolean lock(Connection connection, Sql lock, long id) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(lock.getText())) {
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Inserts {@code rows} with one statement per chunk, each of {@code columns} bound as a text array.
+     * The statement returns every new id with the 1-based position of its row, which is what the ids
+     * are matched on: identity values are not guaranteed to follow the row order.
+     */
+    protected <T> void insertRows(Connection connection, Sql insert, List<T> rows, int chunkSize,
+                                  List<Function<T, String>> columns, ObjLongConsumer<T> idSetter)
+            throws SQLException {
+        int step = Math.max(chunkSize, 1);
+        try (PreparedStatement ps = connection.prepareStatement(insert.getText())) {
+            for (int from = 0; from < rows.size(); from += step) {
+                List<T> chunk = rows.subList(from, Math.min(from + step, rows.size()));
+                for (int column = 0; column < columns.size(); column++) {
+                    String[] values = new String[chunk.size()];
+                    for (int row = 0; row < values.length; row++) {
+                        values[row] = columns.get(column).apply(chunk.get(row));
+                    }
+                    ps.setArray(column + 1, connection.createArrayOf("varchar", values));
+                }
+                int returned = 0;
+                try (ResultSet resultSet = ps.executeQuery()) {
+                    while (resultSet.next()) {
+                        idSetter.accept(chunk.get(resultSet.getInt(2) - 1), resultSet.getLong(1));
+                        returned++;
+                    }
+                }
+                if (returned != chunk.size()) {
+                    throw new SQLException("Expected " + chunk.size() + " generated ids, got " + returned);
+                }
+            }
         }
-        return params;
     }
 }
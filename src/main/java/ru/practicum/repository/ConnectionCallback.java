@@ -0,0 +1,8 @@
+package ru.practicum.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public interface ConnectionCallback<T> {
+    T doInConnection(Connection connection) throws SQLException;
+}
@@ -1,6 +1,12 @@
 package ru.practicum.repository;
 
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.Optional;
 
 public interface CrudRepository<T, E> {
@@ -8,9 +14,47 @@ public interface CrudRepository<T, E> {
 
     T save(T t, E id);
 
+    default List<T> saveAll(Collection<T> entities) {
+        List<T> saved = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            saved.add(save(entity));
+        }
+        return saved;
+    }
+
     boolean delete(E id);
 
     Optional<T> findById(E id);
 
     List<T> findAll();
+
+    /**
+     * Loads the entities with the given ids in one query, in no particular order. Unknown ids are
+     * skipped.
+     */
+    List<T> findAllByIds(Collection<E> ids);
+
+    /**
+     * Loads the entities with the given ids as {@link #findById} does, in one query and in no
+     * particular order. Unknown ids are skipped.
+     */
+    List<T> findAggregatesByIds(Collection<E> ids);
+
+    Page<T> findAll(PageRequest pageRequest);
+
+    /**
+     * Digest of the versions of every row the entity's representation is built from; it changes
+     * whenever that representation does. Empty when the entity does not exist.
+     */
+    Optional<String> findVersionTag(E id);
+
+    /**
+     * Digest of the row versions behind {@link #findAll(PageRequest)} for the same request.
+     */
+    String findPageVersionTag(PageRequest pageRequest);
+
+    /**
+     * Hands every entity to {@code action} as it is read, without collecting the result.
+     */
+    void streamAll(Consumer<? super T> action);
 }
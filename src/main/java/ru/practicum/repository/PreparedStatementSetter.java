@@ -0,0 +1,15 @@
+package ru.practicum.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Binds parameters with the typed {@code setXxx} methods of {@link PreparedStatement},
+ * so values reach the driver without boxing or an intermediate map.
+ */
+public interface PreparedStatementSetter {
+    PreparedStatementSetter NONE = ps -> {
+    };
+
+    void setValues(PreparedStatement ps) throws SQLException;
+}
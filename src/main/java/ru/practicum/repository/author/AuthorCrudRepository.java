@@ -3,5 +3,11 @@ package ru.practicum.repository.author;
 import ru.practicum.model.Author;
 import ru.practicum.repository.CrudRepository;
 
+import java.util.Optional;
+
 public interface AuthorCrudRepository extends CrudRepository<Author, Long> {
+    /**
+     * Returns the author with its books as a JSON document built by the database.
+     */
+    Optional<String> findJsonById(long id);
 }
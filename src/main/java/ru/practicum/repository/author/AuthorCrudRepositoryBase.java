@@ -2,37 +2,71 @@ package ru.practicum.repository.author;
 
 import ru.practicum.db.ConnectionManager;
 import ru.practicum.model.Author;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
 import ru.practicum.repository.BaseCrudRepository;
+import ru.practicum.repository.PreparedStatementSetter;
+import ru.practicum.repository.mapping.DocumentRowMapper;
 import ru.practicum.repository.mapping.ResulSetExtractor;
 import ru.practicum.repository.mapping.RowMapper;
-import ru.practicum.repository.utils.ColumnLabels;
 import ru.practicum.repository.utils.GenereteKeyHolder;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+
+import static ru.practicum.repository.sql.SqlRegistry.AUTHOR_DELETE;
+import static ru.practicum.repository.sql.SqlRegistry.AUTHOR_FIND_ALL;
+import static ru.practicum.repository.sql.SqlRegistry.AUTHOR_FIND_ALL_BY_IDS;
+import static ru.practicum.repository.sql.SqlRegistry.AUTHOR_FIND_BY_ID;
+import static ru.practicum.repository.sql.SqlRegistry.AUTHOR_FIND_BY_IDS;
+import static ru.practicum.repository.sql.SqlRegistry.AUTHOR_FIND_JSON_BY_ID;
+import static ru.practicum.repository.sql.SqlRegistry.AUTHOR_FIND_PAGE;
+import static ru.practicum.repository.sql.SqlRegistry.AUTHOR_FIND_PAGE_VERSION_TAG;
+import static ru.practicum.repository.sql.SqlRegistry.AUTHOR_FIND_VERSION_TAG;
+import static ru.practicum.repository.sql.SqlRegistry.AUTHOR_INSERT;
+import static ru.practicum.repository.sql.SqlRegistry.AUTHOR_INSERT_ROWS;
+import static ru.practicum.repository.sql.SqlRegistry.AUTHOR_LOCK;
+import static ru.practicum.repository.sql.SqlRegistry.AUTHOR_REFRESH_BOOK_SEARCH;
+import static ru.practicum.repository.sql.SqlRegistry.AUTHOR_UPDATE;
+import static ru.practicum.repository.sql.SqlRegistry.STATS_REMOVE_AUTHOR_BOOK_PUBLISHERS;
+import static ru.practicum.repository.sql.SqlRegistry.STATS_REMOVE_AUTHOR_BOOK_YEARS;
 
 public class AuthorCrudRepositoryBase extends BaseCrudRepository implements AuthorCrudRepository {
+    private static final DocumentRowMapper DOCUMENT_ROW_MAPPER = new DocumentRowMapper();
+
     private final RowMapper<Author> rowMapper;
     private final ResulSetExtractor<Author> resulSetExtractor;
+    private final int insertChunkSize;
 
     public AuthorCrudRepositoryBase(ConnectionManager connectionManager,
                                     RowMapper<Author> rowMapper,
                                     ResulSetExtractor<Author> resulSetExtractor) {
+        this(connectionManager, rowMapper, resulSetExtractor, DEFAULT_INSERT_CHUNK_SIZE);
+    }
+
+    public AuthorCrudRepositoryBase(ConnectionManager connectionManager,
+                                    RowMapper<Author> rowMapper,
+                                    ResulSetExtractor<Author> resulSetExtractor,
+                                    int insertChunkSize) {
         super(connectionManager);
         this.rowMapper = rowMapper;
         this.resulSetExtractor = resulSetExtractor;
+        this.insertChunkSize = insertChunkSize;
     }
 
     @Override
     public Author save(Author author) {
         GenereteKeyHolder keyHolder = new GenereteKeyHolder();
-        String sql = "insert into authors (first_name, last_name) values (?, ?)";
-        Map<Integer, Object> params = getParams(author.getFirstName(), author.getLastName());
+        PreparedStatementSetter params = ps -> {
+            ps.setString(1, author.getFirstName());
+            ps.setString(2, author.getLastName());
+        };
         try {
-            int update = update(sql, params, keyHolder);
+            int update = update(AUTHOR_INSERT, params, keyHolder);
             if (update == 1) {
                 if (Objects.nonNull(keyHolder.getKey())) {
                     author.setId((Long) keyHolder.getKey());
@@ -46,16 +80,40 @@ public class AuthorCrudRepositoryBase extends BaseCrudRepository implements Auth
         }
     }
 
+    @Override
+    public List<Author> saveAll(Collection<Author> authors) {
+        List<Author> rows = List.copyOf(authors);
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        try {
+            executeInTransaction(conn -> {
+                insertRows(conn, AUTHOR_INSERT_ROWS, rows, insertChunkSize,
+                        List.of(Author::getFirstName, Author::getLastName), Author::setId);
+                return null;
+            });
+            return rows;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public Author save(Author author, Long id) {
-        String sql = "update authors set first_name = ?, last_name = ? where id = ?";
-        Map<Integer, Object> params = getParams(author.getFirstName(), author.getLastName(), id);
+        PreparedStatementSetter params = ps -> {
+            ps.setString(1, author.getFirstName());
+            ps.setString(2, author.getLastName());
+            ps.setLong(3, id);
+        };
         try {
-            int update = update(sql, params);
-            if (update != 1) {
-                throw new SQLException("Failed to update author");
-            }
-            return author;
+            return executeInTransaction(conn -> {
+                int update = update(conn, AUTHOR_UPDATE, params);
+                if (update != 1) {
+                    throw new SQLException("Failed to update author");
+                }
+                update(conn, AUTHOR_REFRESH_BOOK_SEARCH, byId(id));
+                return author;
+            });
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -63,11 +121,18 @@ public class AuthorCrudRepositoryBase extends BaseCrudRepository implements Auth
 
     @Override
     public boolean delete(Long id) {
-        String sql = "delete from authors where id = ?";
-        Map<Integer, Object> params = getParams(id);
+        PreparedStatementSetter params = byId(id);
         try {
-            int update = update(sql, params);
-            return update == 1;
+            return executeInTransaction(conn -> {
+                // holding the author row keeps books from being added to it until the delete is done
+                if (!lock(conn, AUTHOR_LOCK, id)) {
+                    return false;
+                }
+                // the author's books go with it by cascade; its own summary row cascades too
+                update(conn, STATS_REMOVE_AUTHOR_BOOK_YEARS, params);
+                update(conn, STATS_REMOVE_AUTHOR_BOOK_PUBLISHERS, params);
+                return update(conn, AUTHOR_DELETE, params) == 1;
+            });
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -75,20 +140,18 @@ public class AuthorCrudRepositoryBase extends BaseCrudRepository implements Auth
 
     @Override
     public Optional<Author> findById(Long id) {
-        String sql = String.format("""
-                        select a.id %s, a.first_name %s, a.last_name %s,
-                        b.id %s, b.name %s, b.year %s, p.id %s, p.name %s, p.city %s
-                        from authors a
-                        left join books b on a.id = b.author_id
-                        left join books_publishers bp on b.id = bp.books_id
-                        left join publishers p on p.id = bp.publisher_id
-                        where a.id = ?
-                        """, ColumnLabels.AUTHOR_ID, ColumnLabels.AUTHOR_NAME, ColumnLabels.AUTHOR_LASTNAME,
-                ColumnLabels.BOOK_ID, ColumnLabels.BOOK_NAME, ColumnLabels.BOOK_YEAR,
-                ColumnLabels.PUBLISHER_ID, ColumnLabels.PUBLISHER_NAME, ColumnLabels.PUBLISHER_CITY);
-        Map<Integer, Object> params = getParams(id);
+        PreparedStatementSetter params = byId(id);
         try {
-            return query(sql, params, resulSetExtractor);
+            return query(AUTHOR_FIND_BY_ID, params, resulSetExtractor);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public Optional<String> findJsonById(long id) {
+        try {
+            return query(AUTHOR_FIND_JSON_BY_ID, byId(id), DOCUMENT_ROW_MAPPER);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -96,15 +159,70 @@ public class AuthorCrudRepositoryBase extends BaseCrudRepository implements Auth
 
     @Override
     public List<Author> findAll() {
-        String sql = """
-                Select * from authors
-                """;
         try {
-            return queryForList(sql, rowMapper);
+            return queryForList(AUTHOR_FIND_ALL, rowMapper);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    @Override
+    public List<Author> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return queryForList(AUTHOR_FIND_ALL_BY_IDS, byIds(ids), rowMapper);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
+    @Override
+    public List<Author> findAggregatesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return queryForList(AUTHOR_FIND_BY_IDS, byIds(ids), resulSetExtractor);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public Page<Author> findAll(PageRequest pageRequest) {
+        try {
+            return queryForPage(AUTHOR_FIND_PAGE, pageRequest, rowMapper, Author::getId);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public Optional<String> findVersionTag(Long id) {
+        try {
+            return query(AUTHOR_FIND_VERSION_TAG, byId(id), VERSION_TAG_ROW_MAPPER);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String findPageVersionTag(PageRequest pageRequest) {
+        try {
+            return queryForPageVersionTag(AUTHOR_FIND_PAGE_VERSION_TAG, PreparedStatementSetter.NONE, 0, pageRequest);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void streamAll(Consumer<? super Author> action) {
+        try {
+            queryForEach(AUTHOR_FIND_ALL, PreparedStatementSetter.NONE, rowMapper, action);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
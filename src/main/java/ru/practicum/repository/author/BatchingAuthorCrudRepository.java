@@ -0,0 +1,21 @@
+package ru.practicum.repository.author;
+
+import ru.practicum.model.Author;
+import ru.practicum.repository.batch.BatchingCrudRepository;
+import ru.practicum.repository.cache.EntityCopies;
+
+import java.util.Optional;
+
+public class BatchingAuthorCrudRepository extends BatchingCrudRepository<Author> implements AuthorCrudRepository {
+    private final AuthorCrudRepository repository;
+
+    public BatchingAuthorCrudRepository(AuthorCrudRepository repository, long windowMicros, int maxBatchSize) {
+        super(repository, Author::getId, EntityCopies::author, windowMicros, maxBatchSize);
+        this.repository = repository;
+    }
+
+    @Override
+    public Optional<String> findJsonById(long id) {
+        return repository.findJsonById(id);
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.repository.author;
+
+import ru.practicum.model.Author;
+import ru.practicum.model.Book;
+import ru.practicum.model.Publisher;
+import ru.practicum.repository.cache.CachingCrudRepository;
+import ru.practicum.repository.cache.EntityCache;
+import ru.practicum.repository.cache.EntityCopies;
+import ru.practicum.repository.cache.InvalidationGraph;
+import ru.practicum.repository.cache.InvalidationGraph.Ref;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class CachingAuthorCrudRepository extends CachingCrudRepository<Author> implements AuthorCrudRepository {
+    private final AuthorCrudRepository repository;
+
+    public CachingAuthorCrudRepository(AuthorCrudRepository repository, EntityCache<Author> cache,
+                                       InvalidationGraph graph) {
+        super(repository, cache, graph, InvalidationGraph.Kind.AUTHOR, EntityCopies::author,
+                CachingAuthorCrudRepository::embedded);
+        this.repository = repository;
+    }
+
+    @Override
+    public Optional<String> findJsonById(long id) {
+        return repository.findJsonById(id);
+    }
+
+    private static List<Ref> embedded(Author author) {
+        List<Ref> refs = new ArrayList<>();
+        for (Book book : author.getBooks()) {
+            refs.add(Ref.book(book.getId()));
+            for (Publisher publisher : book.getPublishers()) {
+                refs.add(Ref.publisher(publisher.getId()));
+            }
+        }
+        return refs;
+    }
+}
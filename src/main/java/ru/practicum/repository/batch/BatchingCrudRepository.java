@@ -0,0 +1,92 @@
+package ru.practicum.repository.batch;
+
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
+import ru.practicum.repository.CrudRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Resolves {@link #findById} through a {@link FindByIdBatcher}, so concurrent lookups of different
+ * ids share one {@link CrudRepository#findAggregatesByIds} query; everything else goes straight to
+ * the wrapped repository.
+ */
+public class BatchingCrudRepository<T> implements CrudRepository<T, Long> {
+    private final CrudRepository<T, Long> repository;
+    private final FindByIdBatcher<T> batcher;
+
+    public BatchingCrudRepository(CrudRepository<T, Long> repository, ToLongFunction<T> idOf, UnaryOperator<T> copy,
+                                  long windowMicros, int maxBatchSize) {
+        this.repository = repository;
+        this.batcher = new FindByIdBatcher<>(repository::findAggregatesByIds, idOf, copy, windowMicros, maxBatchSize);
+    }
+
+    @Override
+    public Optional<T> findById(Long id) {
+        return batcher.load(id);
+    }
+
+    @Override
+    public T save(T t) {
+        return repository.save(t);
+    }
+
+    @Override
+    public T save(T t, Long id) {
+        return repository.save(t, id);
+    }
+
+    @Override
+    public List<T> saveAll(Collection<T> entities) {
+        return repository.saveAll(entities);
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        return repository.delete(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return repository.findAll();
+    }
+
+    @Override
+    public List<T> findAllByIds(Collection<Long> ids) {
+        return repository.findAllByIds(ids);
+    }
+
+    @Override
+    public List<T> findAggregatesByIds(Collection<Long> ids) {
+        return repository.findAggregatesByIds(ids);
+    }
+
+    @Override
+    public Page<T> findAll(PageRequest pageRequest) {
+        return repository.findAll(pageRequest);
+    }
+
+    @Override
+    public Optional<String> findVersionTag(Long id) {
+        return repository.findVersionTag(id);
+    }
+
+    @Override
+    public String findPageVersionTag(PageRequest pageRequest) {
+        return repository.findPageVersionTag(pageRequest);
+    }
+
+    @Override
+    public void streamAll(Consumer<? super T> action) {
+        repository.streamAll(action);
+    }
+
+    public FindByIdBatcher.Stats getStats() {
+        return batcher.getStats();
+    }
+}
@@ -0,0 +1,145 @@
+package ru.practicum.repository.batch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Collects concurrent lookups by id into batches loaded with one query. The first lookup opens a
+ * batch and waits up to {@code windowMicros} for others to join; the batch is loaded when the window
+ * ends or {@code maxBatchSize} ids are collected, whichever comes first. A lone lookup therefore
+ * pays the window as extra latency. Lookups of the same id in one batch get their own {@code copy},
+ * since callers may edit what they load.
+ */
+public class FindByIdBatcher<T> {
+    private final Function<List<Long>, List<T>> loader;
+    private final ToLongFunction<T> idOf;
+    private final UnaryOperator<T> copy;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private Batch<T> open;
+
+    public FindByIdBatcher(Function<List<Long>, List<T>> loader, ToLongFunction<T> idOf, UnaryOperator<T> copy,
+                           long windowMicros, int maxBatchSize) {
+        if (windowMicros < 0 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("Invalid batch settings: windowMicros=" + windowMicros
+                    + ", maxBatchSize=" + maxBatchSize);
+        }
+        this.loader = loader;
+        this.idOf = idOf;
+        this.copy = copy;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Optional<T> load(long id) {
+        lookups.increment();
+        Batch<T> batch;
+        boolean leader = false;
+        CompletableFuture<Optional<T>> result;
+        synchronized (this) {
+            if (open == null) {
+                open = new Batch<>();
+                leader = true;
+            }
+            batch = open;
+            result = batch.add(id);
+            if (batch.size() >= maxBatchSize) {
+                open = null;
+                notifyAll();
+            }
+        }
+        if (leader) {
+            awaitWindow(batch);
+            batches.increment();
+            batch.load(loader, idOf, copy);
+        }
+        return join(result);
+    }
+
+    public Stats getStats() {
+        return new Stats(batches.sum(), lookups.sum());
+    }
+
+    private synchronized void awaitWindow(Batch<T> batch) {
+        long deadline = System.nanoTime() + windowNanos;
+        try {
+            long remaining;
+            while (open == batch && (remaining = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        } catch (InterruptedException e) {
+            // load what was collected so far; the waiting lookups depend on it
+            Thread.currentThread().interrupt();
+        } finally {
+            if (open == batch) {
+                open = null;
+            }
+        }
+    }
+
+    private static <T> Optional<T> join(CompletableFuture<Optional<T>> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * {@code lookups} were answered by {@code batches} queries.
+     */
+    public record Stats(long batches, long lookups) {
+    }
+
+    private static class Batch<T> {
+        private final Map<Long, List<CompletableFuture<Optional<T>>>> results = new LinkedHashMap<>();
+
+        CompletableFuture<Optional<T>> add(long id) {
+            CompletableFuture<Optional<T>> result = new CompletableFuture<>();
+            results.computeIfAbsent(id, key -> new ArrayList<>()).add(result);
+            return result;
+        }
+
+        int size() {
+            return results.size();
+        }
+
+        void load(Function<List<Long>, List<T>> loader, ToLongFunction<T> idOf, UnaryOperator<T> copy) {
+            Map<Long, T> loaded = new HashMap<>();
+            try {
+                for (T entity : loader.apply(new ArrayList<>(results.keySet()))) {
+                    loaded.put(idOf.applyAsLong(entity), entity);
+                }
+            } catch (RuntimeException | Error e) {
+                results.values().forEach(waiting -> waiting.forEach(result -> result.completeExceptionally(e)));
+                throw e;
+            }
+            results.forEach((id, waiting) -> {
+                T entity = loaded.get(id);
+                for (int i = 0; i < waiting.size(); i++) {
+                    T own = entity == null || i == 0 ? entity : copy.apply(entity);
+                    waiting.get(i).complete(Optional.ofNullable(own));
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.repository.book;
+
+import ru.practicum.model.Book;
+import ru.practicum.model.BookFilter;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
+import ru.practicum.model.Publisher;
+import ru.practicum.model.SearchRequest;
+import ru.practicum.model.SearchResult;
+import ru.practicum.repository.batch.BatchingCrudRepository;
+import ru.practicum.repository.cache.EntityCopies;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class BatchingBookCrudRepository extends BatchingCrudRepository<Book> implements BookCrudRepository {
+    private final BookCrudRepository repository;
+
+    public BatchingBookCrudRepository(BookCrudRepository repository, long windowMicros, int maxBatchSize) {
+        super(repository, Book::getId, EntityCopies::book, windowMicros, maxBatchSize);
+        this.repository = repository;
+    }
+
+    @Override
+    public Page<Book> findAll(BookFilter filter, PageRequest pageRequest) {
+        return repository.findAll(filter, pageRequest);
+    }
+
+    @Override
+    public String findPageVersionTag(BookFilter filter, PageRequest pageRequest) {
+        return repository.findPageVersionTag(filter, pageRequest);
+    }
+
+    @Override
+    public SearchResult<Book> search(SearchRequest searchRequest) {
+        return repository.search(searchRequest);
+    }
+
+    @Override
+    public Map<Long, List<Publisher>> findPublishersByBookIds(Collection<Long> bookIds) {
+        return repository.findPublishersByBookIds(bookIds);
+    }
+}
@@ -1,7 +1,38 @@
 package ru.practicum.repository.book;
 
 import ru.practicum.model.Book;
+import ru.practicum.model.BookFilter;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
+import ru.practicum.model.Publisher;
+import ru.practicum.model.SearchRequest;
+import ru.practicum.model.SearchResult;
 import ru.practicum.repository.CrudRepository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface BookCrudRepository extends CrudRepository<Book, Long> {
+    /**
+     * Keyset page of the books matching every criterion set in {@code filter}.
+     */
+    Page<Book> findAll(BookFilter filter, PageRequest pageRequest);
+
+    /**
+     * Digest of the row versions behind {@link #findAll(BookFilter, PageRequest)} for the same
+     * arguments.
+     */
+    String findPageVersionTag(BookFilter filter, PageRequest pageRequest);
+
+    /**
+     * Books whose title or author name match the query, best match first.
+     */
+    SearchResult<Book> search(SearchRequest searchRequest);
+
+    /**
+     * Loads the publishers of all given books in one query. Books without publishers are absent
+     * from the result.
+     */
+    Map<Long, List<Publisher>> findPublishersByBookIds(Collection<Long> bookIds);
 }
@@ -2,31 +2,61 @@ package ru.practicum.repository.book;
 
 import ru.practicum.db.ConnectionManager;
 import ru.practicum.model.Book;
+import ru.practicum.model.BookFilter;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
 import ru.practicum.model.Publisher;
+import ru.practicum.model.SearchRequest;
+import ru.practicum.model.SearchResult;
 import ru.practicum.repository.BaseCrudRepository;
+import ru.practicum.repository.PreparedStatementSetter;
 import ru.practicum.repository.mapping.ResulSetExtractor;
 import ru.practicum.repository.mapping.RowMapper;
+import ru.practicum.repository.mapping.book.BookPublisherRowMapper;
+import ru.practicum.repository.utils.GenereteKeyHolder;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
-import static java.sql.Statement.RETURN_GENERATED_KEYS;
-import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_ID;
-import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_LASTNAME;
-import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_NAME;
-import static ru.practicum.repository.utils.ColumnLabels.BOOK_ID;
-import static ru.practicum.repository.utils.ColumnLabels.BOOK_NAME;
-import static ru.practicum.repository.utils.ColumnLabels.BOOK_YEAR;
-import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_CITY;
-import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_ID;
-import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_NAME;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_ADD_PUBLISHER;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_BY_AUTHOR;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_BY_PUBLISHER;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_DELETE;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_FIND_ALL;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_FIND_ALL_BY_IDS;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_FIND_BY_ID;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_FIND_BY_IDS;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_FIND_FILTERED_PAGE;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_FIND_FILTERED_PAGE_VERSION_TAG;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_FIND_PAGE;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_FIND_PUBLISHERS;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_FIND_VERSION_TAG;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_INSERT;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_LOCK;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_REFRESH_SEARCH;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_SEARCH;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_UPDATE;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_YEAR_FROM;
+import static ru.practicum.repository.sql.SqlRegistry.BOOK_YEAR_TO;
+import static ru.practicum.repository.sql.SqlRegistry.STATS_ADD_BOOK_AUTHOR;
+import static ru.practicum.repository.sql.SqlRegistry.STATS_ADD_BOOK_PUBLISHERS;
+import static ru.practicum.repository.sql.SqlRegistry.STATS_ADD_BOOK_YEAR;
+import static ru.practicum.repository.sql.SqlRegistry.STATS_REMOVE_BOOK_AUTHOR;
+import static ru.practicum.repository.sql.SqlRegistry.STATS_REMOVE_BOOK_PUBLISHERS;
+import static ru.practicum.repository.sql.SqlRegistry.STATS_REMOVE_BOOK_YEAR;
 
 public class BookCrudRepositoryBase extends BaseCrudRepository implements BookCrudRepository {
+    private static final BookPublisherRowMapper BOOK_PUBLISHER_ROW_MAPPER = new BookPublisherRowMapper();
+
     private final RowMapper<Book> rowMapper;
     private final ResulSetExtractor<Book> resultSetExtractor;
 
@@ -40,53 +70,59 @@ public class BookCrudRepositoryBase extends BaseCrudRepository implements BookCr
 
     @Override
     public Book save(Book book) {
-        String sql = "insert into books (name, author_id, year) values (?, ?, ?)";
-        String sqlPublishers = "insert into books_publishers (books_id, publisher_id) values (?,?)";
-        Map<Integer, Object> params = getParams(book.getName(), book.getAuthor().getId(), book.getYear());
+        PreparedStatementSetter params = ps -> {
+            ps.setString(1, book.getName());
+            ps.setLong(2, book.getAuthor().getId());
+            ps.setInt(3, book.getYear());
+        };
         List<Long> publishersIds = book.getPublishers().stream().map(Publisher::getId).toList();
-        Connection conn = null;
         try {
-            conn = connectionManager.getConnection();
+            return executeInTransaction(conn -> {
+                GenereteKeyHolder keyHolder = new GenereteKeyHolder();
+                update(conn, BOOK_INSERT, params, keyHolder);
+                if (Objects.isNull(keyHolder.getKey())) {
+                    throw new SQLException("Failed to create book");
+                }
+                book.setId(keyHolder.getKey().longValue());
+                try (PreparedStatement addPublishers = conn.prepareStatement(BOOK_ADD_PUBLISHER.getText())) {
+                    for (Long publishersId : publishersIds) {
+                        addPublishers.setLong(1, book.getId());
+                        addPublishers.setLong(2, publishersId);
+                        addPublishers.addBatch();
+                    }
+                    addPublishers.executeBatch();
+                }
+                update(conn, BOOK_REFRESH_SEARCH, byId(book.getId()));
+                countBook(conn, book.getId(), true);
+                return book;
+            });
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
-        try (PreparedStatement ps = conn.prepareStatement(sql, RETURN_GENERATED_KEYS);
-             PreparedStatement addPublishers = conn.prepareStatement(sqlPublishers)) {
-            conn.setAutoCommit(false);
-            setParameters(ps, params);
-            ps.executeUpdate();
-            ResultSet generatedKeys = ps.getGeneratedKeys();
-            if (generatedKeys.next()) {
-                book.setId(generatedKeys.getLong(1));
-            }
-            for (Long publishersId : publishersIds) {
-                addPublishers.setLong(1, book.getId());
-                addPublishers.setLong(2, publishersId);
-                addPublishers.addBatch();
-            }
-            addPublishers.executeBatch();
-            conn.commit();
-            return book;
-        } catch (SQLException e) {
-            try {
-                conn.rollback();
-            } catch (SQLException ex) {
-                throw new RuntimeException(ex);
-            }
-            throw new RuntimeException(e);
-        }
     }
 
     @Override
     public Book save(Book book, Long id) {
-        String sql = "update books set name = ?, author_id = ?, year = ? where id = ?";
-        Map<Integer, Object> params = getParams(book.getName(), book.getAuthor().getId(), book.getYear(), id);
+        PreparedStatementSetter params = ps -> {
+            ps.setString(1, book.getName());
+            ps.setLong(2, book.getAuthor().getId());
+            ps.setInt(3, book.getYear());
+            ps.setLong(4, id);
+        };
         try {
-            int update = update(sql, params);
-            if (update == 0) {
-                throw new SQLException("Failed to update book");
-            }
-            return book;
+            return executeInTransaction(conn -> {
+                if (!lock(conn, BOOK_LOCK, id)) {
+                    throw new SQLException("Failed to update book");
+                }
+                uncountBook(conn, id, false);
+                int update = update(conn, BOOK_UPDATE, params);
+                if (update == 0) {
+                    throw new SQLException("Failed to update book");
+                }
+                update(conn, BOOK_REFRESH_SEARCH, byId(id));
+                countBook(conn, id, false);
+                return book;
+            });
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -94,11 +130,15 @@ public class BookCrudRepositoryBase extends BaseCrudRepository implements BookCr
 
     @Override
     public boolean delete(Long id) {
-        String sql = "delete from books where id = ?";
-        Map<Integer, Object> params = getParams(id);
+        PreparedStatementSetter params = byId(id);
         try {
-            int update = update(sql, params);
-            return update == 1;
+            return executeInTransaction(conn -> {
+                if (!lock(conn, BOOK_LOCK, id)) {
+                    return false;
+                }
+                uncountBook(conn, id, true);
+                return update(conn, BOOK_DELETE, params) == 1;
+            });
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -106,18 +146,9 @@ public class BookCrudRepositoryBase extends BaseCrudRepository implements BookCr
 
     @Override
     public Optional<Book> findById(Long id) {
-        String sql = String.format("""
-                                 select b.id %s, b.name %s, b.year %s, a.id %s, a.first_name %s,
-                        a.last_name %s, p.id %s, p.name %s, p.city %s  from books b
-                                 left join authors a on b.author_id = a.id
-                                 left join books_publishers pb on b.id = pb.books_id
-                                 left join public.publishers p on pb.publisher_id = p.id
-                                 where b.id = ?
-                        """, BOOK_ID, BOOK_NAME, BOOK_YEAR, AUTHOR_ID, AUTHOR_NAME,
-                AUTHOR_LASTNAME, PUBLISHER_ID, PUBLISHER_NAME, PUBLISHER_CITY);
-        Map<Integer, Object> params = getParams(id);
+        PreparedStatementSetter params = byId(id);
         try {
-            return query(sql, params, resultSetExtractor);
+            return query(BOOK_FIND_BY_ID, params, resultSetExtractor);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -125,14 +156,193 @@ public class BookCrudRepositoryBase extends BaseCrudRepository implements BookCr
 
     @Override
     public List<Book> findAll() {
-        String sql = String.format("select b.id %s, b.name %s, b.year %s, a.id %s, a.first_name %s, " +
-                                   "a.last_name %s from books b join authors a on a.id = b.author_id",
-                BOOK_ID, BOOK_NAME, BOOK_YEAR, AUTHOR_ID, AUTHOR_NAME,
-                AUTHOR_LASTNAME);
         try {
-            return queryForList(sql, rowMapper);
+            return queryForList(BOOK_FIND_ALL, rowMapper);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public List<Book> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return queryForList(BOOK_FIND_ALL_BY_IDS, byIds(ids), rowMapper);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
+
+    @Override
+    public List<Book> findAggregatesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return queryForList(BOOK_FIND_BY_IDS, byIds(ids), resultSetExtractor);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public Page<Book> findAll(PageRequest pageRequest) {
+        try {
+            return queryForPage(BOOK_FIND_PAGE, pageRequest, rowMapper, Book::getId);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void streamAll(Consumer<? super Book> action) {
+        try {
+            queryForEach(BOOK_FIND_ALL, PreparedStatementSetter.NONE, rowMapper, action);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public Page<Book> findAll(BookFilter filter, PageRequest pageRequest) {
+        if (filter.isEmpty()) {
+            return findAll(pageRequest);
+        }
+        BoundFilter bound = BoundFilter.of(filter);
+        try {
+            return queryForPage(BOOK_FIND_FILTERED_PAGE.forPredicates(bound.predicates()), bound,
+                    bound.parameters(), pageRequest, rowMapper, Book::getId);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public Optional<String> findVersionTag(Long id) {
+        try {
+            return query(BOOK_FIND_VERSION_TAG, byId(id), VERSION_TAG_ROW_MAPPER);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String findPageVersionTag(PageRequest pageRequest) {
+        return findPageVersionTag(BookFilter.NONE, pageRequest);
+    }
+
+    @Override
+    public String findPageVersionTag(BookFilter filter, PageRequest pageRequest) {
+        BoundFilter bound = BoundFilter.of(filter);
+        try {
+            return queryForPageVersionTag(BOOK_FIND_FILTERED_PAGE_VERSION_TAG.forPredicates(bound.predicates()),
+                    bound, bound.parameters(), pageRequest);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public SearchResult<Book> search(SearchRequest searchRequest) {
+        int limit = searchRequest.getLimit();
+        PreparedStatementSetter params = ps -> {
+            ps.setString(1, searchRequest.getQuery());
+            ps.setInt(2, searchRequest.getOffset());
+            ps.setInt(3, limit + 1);
+        };
+        try {
+            List<Book> books = queryForList(BOOK_SEARCH, params, rowMapper);
+            if (books.size() <= limit) {
+                return new SearchResult<>(books, null);
+            }
+            return new SearchResult<>(books.subList(0, limit), searchRequest.nextOffset());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public Map<Long, List<Publisher>> findPublishersByBookIds(Collection<Long> bookIds) {
+        Map<Long, List<Publisher>> publishers = new HashMap<>();
+        if (bookIds.isEmpty()) {
+            return publishers;
+        }
+        try {
+            for (Map.Entry<Long, Publisher> row : queryForList(BOOK_FIND_PUBLISHERS, byIds(bookIds),
+                    BOOK_PUBLISHER_ROW_MAPPER)) {
+                publishers.computeIfAbsent(row.getKey(), id -> new ArrayList<>()).add(row.getValue());
+            }
+            return publishers;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Adds the book to the per-author and per-year summaries, and to the per-publisher ones when
+     * its publisher links are new as well.
+     */
+    private void countBook(Connection conn, long id, boolean withPublishers) throws SQLException {
+        update(conn, STATS_ADD_BOOK_AUTHOR, byId(id));
+        update(conn, STATS_ADD_BOOK_YEAR, byId(id));
+        if (withPublishers) {
+            update(conn, STATS_ADD_BOOK_PUBLISHERS, byId(id));
+        }
+    }
+
+    private void uncountBook(Connection conn, long id, boolean withPublishers) throws SQLException {
+        update(conn, STATS_REMOVE_BOOK_AUTHOR, byId(id));
+        update(conn, STATS_REMOVE_BOOK_YEAR, byId(id));
+        if (withPublishers) {
+            update(conn, STATS_REMOVE_BOOK_PUBLISHERS, byId(id));
+        }
+    }
+
+    /**
+     * The predicates {@code filter} enables, as a mask for the filtered queries, and their values,
+     * bound in the same order with one parameter per predicate.
+     */
+    private record BoundFilter(int predicates, Long authorId, Integer yearFrom, Integer yearTo, Long publisherId)
+            implements PreparedStatementSetter {
+        static BoundFilter of(BookFilter filter) {
+            int predicates = 0;
+            if (filter.getAuthorId() != null) {
+                predicates |= BOOK_BY_AUTHOR;
+            }
+            if (filter.getYearFrom() != null) {
+                predicates |= BOOK_YEAR_FROM;
+            }
+            if (filter.getYearTo() != null) {
+                predicates |= BOOK_YEAR_TO;
+            }
+            if (filter.getPublisherId() != null) {
+                predicates |= BOOK_BY_PUBLISHER;
+            }
+            return new BoundFilter(predicates, filter.getAuthorId(), filter.getYearFrom(), filter.getYearTo(),
+                    filter.getPublisherId());
+        }
+
+        int parameters() {
+            return Integer.bitCount(predicates);
+        }
+
+        @Override
+        public void setValues(PreparedStatement ps) throws SQLException {
+            int index = 1;
+            if (authorId != null) {
+                ps.setLong(index++, authorId);
+            }
+            if (yearFrom != null) {
+                ps.setInt(index++, yearFrom);
+            }
+            if (yearTo != null) {
+                ps.setInt(index++, yearTo);
+            }
+            if (publisherId != null) {
+                ps.setLong(index, publisherId);
+            }
+        }
+    }
 }
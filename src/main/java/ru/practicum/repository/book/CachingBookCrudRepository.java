@@ -0,0 +1,61 @@
+package ru.practicum.repository.book;
+
+import ru.practicum.model.Book;
+import ru.practicum.model.BookFilter;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
+import ru.practicum.model.Publisher;
+import ru.practicum.model.SearchRequest;
+import ru.practicum.model.SearchResult;
+import ru.practicum.repository.cache.CachingCrudRepository;
+import ru.practicum.repository.cache.EntityCache;
+import ru.practicum.repository.cache.EntityCopies;
+import ru.practicum.repository.cache.InvalidationGraph;
+import ru.practicum.repository.cache.InvalidationGraph.Ref;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class CachingBookCrudRepository extends CachingCrudRepository<Book> implements BookCrudRepository {
+    private final BookCrudRepository repository;
+
+    public CachingBookCrudRepository(BookCrudRepository repository, EntityCache<Book> cache,
+                                     InvalidationGraph graph) {
+        super(repository, cache, graph, InvalidationGraph.Kind.BOOK, EntityCopies::book,
+                CachingBookCrudRepository::embedded);
+        this.repository = repository;
+    }
+
+    @Override
+    public Page<Book> findAll(BookFilter filter, PageRequest pageRequest) {
+        return repository.findAll(filter, pageRequest);
+    }
+
+    @Override
+    public String findPageVersionTag(BookFilter filter, PageRequest pageRequest) {
+        return repository.findPageVersionTag(filter, pageRequest);
+    }
+
+    @Override
+    public SearchResult<Book> search(SearchRequest searchRequest) {
+        return repository.search(searchRequest);
+    }
+
+    @Override
+    public Map<Long, List<Publisher>> findPublishersByBookIds(Collection<Long> bookIds) {
+        return repository.findPublishersByBookIds(bookIds);
+    }
+
+    private static List<Ref> embedded(Book book) {
+        List<Ref> refs = new ArrayList<>();
+        if (book.getAuthor() != null) {
+            refs.add(Ref.author(book.getAuthor().getId()));
+        }
+        for (Publisher publisher : book.getPublishers()) {
+            refs.add(Ref.publisher(publisher.getId()));
+        }
+        return refs;
+    }
+}
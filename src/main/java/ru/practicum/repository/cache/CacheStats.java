@@ -0,0 +1,53 @@
+package ru.practicum.repository.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+public class CacheStats {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final IntSupplier size;
+
+    CacheStats(IntSupplier size) {
+        this.size = size;
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordEviction() {
+        evictions.increment();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Entries dropped because they expired or to stay within the size bound, including freshly
+     * loaded ones the admission policy turned away.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int getSize() {
+        return size.getAsInt();
+    }
+
+    public double getHitRate() {
+        long hitCount = getHits();
+        long requests = hitCount + getMisses();
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+}
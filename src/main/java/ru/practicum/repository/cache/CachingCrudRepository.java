@@ -0,0 +1,124 @@
+package ru.practicum.repository.cache;
+
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
+import ru.practicum.repository.CrudRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Serves {@link #findById} from an {@link EntityCache} and loads through the wrapped repository on
+ * a miss; every other read goes straight to the repository. Updates and deletes evict the entity.
+ * Callers get a copy made by {@code copy}, since services edit loaded entities before saving them.
+ * What a loaded aggregate embeds is recorded in the {@link InvalidationGraph}, so changes to those
+ * entities evict it too.
+ */
+public class CachingCrudRepository<T> implements CrudRepository<T, Long> {
+    private final CrudRepository<T, Long> repository;
+    private final EntityCache<T> cache;
+    private final InvalidationGraph graph;
+    private final InvalidationGraph.Kind kind;
+    private final UnaryOperator<T> copy;
+    private final Function<T, List<InvalidationGraph.Ref>> embedded;
+
+    public CachingCrudRepository(CrudRepository<T, Long> repository, EntityCache<T> cache,
+                                 InvalidationGraph graph, InvalidationGraph.Kind kind,
+                                 UnaryOperator<T> copy, Function<T, List<InvalidationGraph.Ref>> embedded) {
+        this.repository = repository;
+        this.cache = cache;
+        this.graph = graph;
+        this.kind = kind;
+        this.copy = copy;
+        this.embedded = embedded;
+    }
+
+    @Override
+    public Optional<T> findById(Long id) {
+        T cached = cache.get(id);
+        if (cached != null) {
+            return Optional.of(copy.apply(cached));
+        }
+        long generation = cache.generation();
+        long changes = graph.changeCount();
+        Optional<T> loaded = repository.findById(id);
+        loaded.ifPresent(entity -> {
+            if (graph.link(new InvalidationGraph.Ref(kind, id), embedded.apply(entity), changes)) {
+                cache.put(id, entity, generation);
+            }
+        });
+        return loaded.map(copy);
+    }
+
+    @Override
+    public T save(T t) {
+        // a new entity has nothing cached under its id yet
+        return repository.save(t);
+    }
+
+    @Override
+    public T save(T t, Long id) {
+        try {
+            return repository.save(t, id);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public List<T> saveAll(Collection<T> entities) {
+        return repository.saveAll(entities);
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        try {
+            return repository.delete(id);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public List<T> findAll() {
+        return repository.findAll();
+    }
+
+    @Override
+    public List<T> findAllByIds(Collection<Long> ids) {
+        return repository.findAllByIds(ids);
+    }
+
+    @Override
+    public List<T> findAggregatesByIds(Collection<Long> ids) {
+        return repository.findAggregatesByIds(ids);
+    }
+
+    @Override
+    public Page<T> findAll(PageRequest pageRequest) {
+        return repository.findAll(pageRequest);
+    }
+
+    @Override
+    public Optional<String> findVersionTag(Long id) {
+        return repository.findVersionTag(id);
+    }
+
+    @Override
+    public String findPageVersionTag(PageRequest pageRequest) {
+        return repository.findPageVersionTag(pageRequest);
+    }
+
+    @Override
+    public void streamAll(Consumer<? super T> action) {
+        repository.streamAll(action);
+    }
+
+    public CacheStats getStats() {
+        return cache.getStats();
+    }
+}
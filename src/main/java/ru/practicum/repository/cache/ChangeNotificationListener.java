@@ -0,0 +1,187 @@
+package ru.practicum.repository.cache;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.practicum.db.ConnectionManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Applies changes other nodes commit to the local caches and name indexes. Triggers on the catalog
+ * tables notify {@link #CHANNEL}, and this listener waits for the notifications on a connection of
+ * its own, outside the pool. Changes committed while it is not listening are never delivered, so
+ * everything is flushed when the connection is (re)opened and on each failed attempt to reopen it.
+ */
+public class ChangeNotificationListener implements AutoCloseable {
+    public static final String CHANNEL = "catalog_changes";
+    public static final String FLUSH = "flush";
+    private static final Logger log = LoggerFactory.getLogger(ChangeNotificationListener.class);
+    private static final long MIN_BACKOFF_MILLIS = 100;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final ConnectionManager connectionManager;
+    private final InvalidationGraph graph;
+    private final NameIndexes nameIndexes;
+    private final int pollMillis;
+    private final long maxBackoffMillis;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public ChangeNotificationListener(ConnectionManager connectionManager, InvalidationGraph graph,
+                                      NameIndexes nameIndexes, int pollMillis, long maxBackoffMillis) {
+        this.connectionManager = connectionManager;
+        this.graph = graph;
+        this.nameIndexes = nameIndexes;
+        this.pollMillis = pollMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.thread = new Thread(this::run, "cache-change-listener");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(pollMillis + 1000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Evicts what one notification names. Payloads are {@code author:<id>}, {@code publisher:<id>},
+     * {@code book:<id>:<old author id>:<new author id>}, {@code book_publisher:<book id>:<publisher id>}
+     * and {@code flush} for bulk changes; anything else flushes as well.
+     */
+    void apply(String payload) {
+        String[] parts = payload.split(":", -1);
+        try {
+            switch (parts[0]) {
+                case FLUSH -> flushAll();
+                case "author" -> {
+                    long id = Long.parseLong(parts[1]);
+                    graph.changed(InvalidationGraph.Ref.author(id));
+                    nameIndexes.authorChanged(id);
+                }
+                case "publisher" -> {
+                    long id = Long.parseLong(parts[1]);
+                    graph.changed(InvalidationGraph.Ref.publisher(id));
+                    nameIndexes.publisherChanged(id);
+                }
+                case "book" -> {
+                    graph.changed(InvalidationGraph.Ref.book(Long.parseLong(parts[1])));
+                    // the book joins or leaves the cached author aggregates
+                    evictAuthor(parts[2]);
+                    evictAuthor(parts[3]);
+                }
+                case "book_publisher" -> {
+                    graph.changed(InvalidationGraph.Ref.book(Long.parseLong(parts[1])));
+                    graph.evict(InvalidationGraph.Ref.publisher(Long.parseLong(parts[2])));
+                }
+                default -> unknown(payload);
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            unknown(payload);
+        }
+    }
+
+    private void evictAuthor(String id) {
+        if (!id.isEmpty()) {
+            graph.evict(InvalidationGraph.Ref.author(Long.parseLong(id)));
+        }
+    }
+
+    private void unknown(String payload) {
+        log.warn("Unexpected change notification '{}', flushing everything", payload);
+        flushAll();
+    }
+
+    private void flushAll() {
+        graph.evictAll();
+        try {
+            nameIndexes.rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild the name indexes", e);
+        }
+    }
+
+    private void run() {
+        long backoffMillis = MIN_BACKOFF_MILLIS;
+        while (running) {
+            try (Connection connection = connectionManager.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // whatever changed before LISTEN took effect was missed
+                flushAll();
+                backoffMillis = MIN_BACKOFF_MILLIS;
+                receive(connection);
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                flushAll();
+                log.warn("Change notification connection lost, reconnecting in {} ms", backoffMillis, e);
+                if (!sleep(backoffMillis)) {
+                    return;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+            }
+        }
+    }
+
+    private void receive(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+            if (notifications == null || notifications.length == 0) {
+                if (running && !connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Change notification connection is no longer valid");
+                }
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                try {
+                    apply(notification.getParameter());
+                } catch (RuntimeException e) {
+                    log.warn("Failed to apply change notification '{}', flushing everything",
+                            notification.getParameter(), e);
+                    flushAll();
+                }
+            }
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * In-memory name lookups kept beside the caches, such as the autocomplete indexes.
+     */
+    public interface NameIndexes {
+        /**
+         * Reloads the author, or drops it when it no longer exists.
+         */
+        void authorChanged(long id);
+
+        void publisherChanged(long id);
+
+        void rebuild();
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.repository.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded entity cache keyed by id. Entries expire {@code ttlMillis} after they were loaded.
+ * When the cache is full the least recently used entry is only replaced if the newcomer has been
+ * asked for more often, so a burst of one-off lookups cannot flush the hot entries.
+ */
+public class EntityCache<T> {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final FrequencySketch sketch;
+    private final CacheStats stats = new CacheStats(this::size);
+    private final LinkedHashMap<Long, Entry<T>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long generation;
+
+    public EntityCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, System::nanoTime);
+    }
+
+    EntityCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        if (maxSize < 1 || ttlMillis < 1) {
+            throw new IllegalArgumentException("Invalid cache settings: maxSize=" + maxSize + ", ttlMillis=" + ttlMillis);
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.clock = clock;
+        this.sketch = new FrequencySketch(maxSize);
+    }
+
+    /**
+     * Returns the cached entity or {@code null}.
+     */
+    public T get(long id) {
+        synchronized (entries) {
+            sketch.increment(id);
+            Entry<T> entry = entries.get(id);
+            if (entry != null && isExpired(entry)) {
+                entries.remove(id);
+                stats.recordEviction();
+                entry = null;
+            }
+            if (entry == null) {
+                stats.recordMiss();
+                return null;
+            }
+            stats.recordHit();
+            return entry.value();
+        }
+    }
+
+    /**
+     * Marks the start of a load; pass the result to {@link #put} with the loaded entity.
+     */
+    public long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    /**
+     * Caches an entity loaded after {@code loadedSince} was taken. The entity is dropped when an
+     * invalidation happened in between, since it may predate the write that caused it.
+     */
+    public void put(long id, T value, long loadedSince) {
+        synchronized (entries) {
+            if (loadedSince != generation) {
+                return;
+            }
+            if (entries.size() >= maxSize && !entries.containsKey(id) && !makeRoomFor(id)) {
+                stats.recordEviction();
+                return;
+            }
+            entries.put(id, new Entry<>(value, clock.getAsLong() + ttlNanos));
+        }
+    }
+
+    public void invalidate(long id) {
+        synchronized (entries) {
+            generation++;
+            entries.remove(id);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    private boolean makeRoomFor(long id) {
+        Iterator<Map.Entry<Long, Entry<T>>> eldestFirst = entries.entrySet().iterator();
+        Map.Entry<Long, Entry<T>> victim = eldestFirst.next();
+        if (!isExpired(victim.getValue()) && sketch.frequency(id) <= sketch.frequency(victim.getKey())) {
+            return false;
+        }
+        eldestFirst.remove();
+        stats.recordEviction();
+        return true;
+    }
+
+    private boolean isExpired(Entry<T> entry) {
+        return clock.getAsLong() - entry.expiresAt() >= 0;
+    }
+
+    private record Entry<T>(T value, long expiresAt) {
+    }
+}
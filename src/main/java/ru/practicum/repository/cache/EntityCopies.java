@@ -0,0 +1,62 @@
+package ru.practicum.repository.cache;
+
+import ru.practicum.model.Author;
+import ru.practicum.model.Book;
+import ru.practicum.model.Publisher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deep copies of loaded aggregates, nested authors, books and publishers included, so a caller
+ * editing any part of its copy leaves the cached or shared original alone. Aggregates as the
+ * repositories build them hold no cycles.
+ */
+public final class EntityCopies {
+    private EntityCopies() {
+    }
+
+    public static Author author(Author author) {
+        return Author.builder()
+                .id(author.getId())
+                .firstName(author.getFirstName())
+                .lastName(author.getLastName())
+                .books(books(author.getBooks()))
+                .build();
+    }
+
+    public static Book book(Book book) {
+        return Book.builder()
+                .id(book.getId())
+                .name(book.getName())
+                .author(book.getAuthor() == null ? null : author(book.getAuthor()))
+                .year(book.getYear())
+                .publishers(publishers(book.getPublishers()))
+                .build();
+    }
+
+    public static Publisher publisher(Publisher publisher) {
+        return Publisher.builder()
+                .id(publisher.getId())
+                .name(publisher.getName())
+                .city(publisher.getCity())
+                .books(books(publisher.getBooks()))
+                .build();
+    }
+
+    private static List<Book> books(List<Book> books) {
+        List<Book> copies = new ArrayList<>(books.size());
+        for (Book book : books) {
+            copies.add(book(book));
+        }
+        return copies;
+    }
+
+    private static List<Publisher> publishers(List<Publisher> publishers) {
+        List<Publisher> copies = new ArrayList<>(publishers.size());
+        for (Publisher publisher : publishers) {
+            copies.add(publisher(publisher));
+        }
+        return copies;
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.repository.cache;
+
+/**
+ * Approximate access counts of ids: a count-min sketch of 4-bit counters, sixteen to a
+ * {@code long}. Counters are halved once the sample size is reached, so the sketch follows
+ * recent popularity rather than all-time totals. Not thread-safe; the owning cache guards it.
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L,
+            0xD6E8FEB86659FD93L};
+    private static final long HALF_MASK = 0x7777_7777_7777_7777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maxSize) {
+        int size = Integer.highestOneBit(Math.max(maxSize, 8) - 1) << 1;
+        this.table = new long[size];
+        this.tableMask = size - 1;
+        this.sampleSize = 10 * Math.max(maxSize, 1);
+    }
+
+    int frequency(long key) {
+        int frequency = MAX_COUNT;
+        for (long seed : SEEDS) {
+            long hash = hash(key, seed);
+            frequency = Math.min(frequency, (int) (table[index(hash)] >>> shift(hash)) & MAX_COUNT);
+        }
+        return frequency;
+    }
+
+    void increment(long key) {
+        boolean added = false;
+        for (long seed : SEEDS) {
+            long hash = hash(key, seed);
+            int index = index(hash);
+            int shift = shift(hash);
+            if (((table[index] >>> shift) & MAX_COUNT) < MAX_COUNT) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            halve();
+        }
+    }
+
+    private void halve() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & HALF_MASK;
+        }
+        additions /= 2;
+    }
+
+    private int index(long hash) {
+        return (int) hash & tableMask;
+    }
+
+    private static int shift(long hash) {
+        return (int) (hash >>> 60) << 2;
+    }
+
+    private static long hash(long key, long seed) {
+        long hash = (key + seed) * 0xBF58476D1CE4E5B9L;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,159 @@
+package ru.practicum.repository.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tracks which cached aggregates embed which entities: a cached book embeds its author and
+ * publishers, a cached author its books and their publishers, a cached publisher its books and
+ * their authors. When an entity changes, {@link #changed} evicts the entity and exactly the
+ * cached aggregates embedding it. Edges are recorded as aggregates are cached and dropped when
+ * the graph evicts them; edges of entries that merely expired linger, so past
+ * {@code maxTrackedAggregates} the graph and all caches are flushed.
+ */
+public class InvalidationGraph {
+    private final int maxTrackedAggregates;
+    private final Map<Kind, List<EntityCache<?>>> caches = new EnumMap<>(Kind.class);
+    private final Map<Ref, Set<Ref>> embeddedIn = new HashMap<>();
+    private final Map<Ref, Set<Ref>> embeds = new HashMap<>();
+    private long changes;
+
+    /**
+     * A graph no cache is attached to; changes reported to it evict nothing.
+     */
+    public InvalidationGraph() {
+        this(Integer.MAX_VALUE);
+    }
+
+    public InvalidationGraph(int maxTrackedAggregates) {
+        this.maxTrackedAggregates = maxTrackedAggregates;
+    }
+
+    /**
+     * Adds a cache keyed by ids of {@code kind}; an entity may be cached in several forms.
+     */
+    public synchronized void attach(Kind kind, EntityCache<?> cache) {
+        caches.computeIfAbsent(kind, key -> new ArrayList<>()).add(cache);
+    }
+
+    /**
+     * Marks the start of a load; pass the result to {@link #link} with the loaded aggregate.
+     */
+    public synchronized long changeCount() {
+        return changes;
+    }
+
+    /**
+     * Records the entities a freshly loaded aggregate embeds. Call before caching the aggregate,
+     * so a change that comes after finds the edges. A change that came while the aggregate was
+     * loading found none; any change since {@code loadedSince} therefore returns {@code false},
+     * and the aggregate must not be cached.
+     */
+    public boolean link(Ref aggregate, Collection<Ref> embedded, long loadedSince) {
+        boolean overflow;
+        synchronized (this) {
+            if (changes != loadedSince) {
+                return false;
+            }
+            Set<Ref> targets = embeds.computeIfAbsent(aggregate, ref -> new HashSet<>());
+            for (Ref ref : embedded) {
+                if (targets.add(ref)) {
+                    embeddedIn.computeIfAbsent(ref, key -> new HashSet<>()).add(aggregate);
+                }
+            }
+            overflow = embeds.size() > maxTrackedAggregates;
+        }
+        if (overflow) {
+            evictAll();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * The aggregate itself changed shape, for example a book was added to an author, while the
+     * entity row did not: only its own cache entry goes.
+     */
+    public void evict(Ref aggregate) {
+        synchronized (this) {
+            changes++;
+            unlink(aggregate);
+        }
+        invalidate(aggregate);
+    }
+
+    /**
+     * The entity was updated or deleted: its own entry and every aggregate embedding it go.
+     */
+    public void changed(Ref entity) {
+        List<Ref> affected = new ArrayList<>();
+        affected.add(entity);
+        synchronized (this) {
+            changes++;
+            Set<Ref> aggregates = embeddedIn.get(entity);
+            if (aggregates != null) {
+                affected.addAll(aggregates);
+            }
+            affected.forEach(this::unlink);
+        }
+        affected.forEach(this::invalidate);
+    }
+
+    public void evictAll() {
+        List<EntityCache<?>> attached;
+        synchronized (this) {
+            changes++;
+            embeds.clear();
+            embeddedIn.clear();
+            attached = caches.values().stream().flatMap(List::stream).toList();
+        }
+        attached.forEach(EntityCache::invalidateAll);
+    }
+
+    private void unlink(Ref aggregate) {
+        Set<Ref> targets = embeds.remove(aggregate);
+        if (targets == null) {
+            return;
+        }
+        for (Ref target : targets) {
+            Set<Ref> aggregates = embeddedIn.get(target);
+            if (aggregates != null && aggregates.remove(aggregate) && aggregates.isEmpty()) {
+                embeddedIn.remove(target);
+            }
+        }
+    }
+
+    private void invalidate(Ref ref) {
+        List<EntityCache<?>> attached;
+        synchronized (this) {
+            attached = List.copyOf(caches.getOrDefault(ref.kind(), List.of()));
+        }
+        attached.forEach(cache -> cache.invalidate(ref.id()));
+    }
+
+    public enum Kind {
+        AUTHOR,
+        BOOK,
+        PUBLISHER
+    }
+
+    public record Ref(Kind kind, long id) {
+        public static Ref author(long id) {
+            return new Ref(Kind.AUTHOR, id);
+        }
+
+        public static Ref book(long id) {
+            return new Ref(Kind.BOOK, id);
+        }
+
+        public static Ref publisher(long id) {
+            return new Ref(Kind.PUBLISHER, id);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.repository.cache;
+
+/**
+ * Ids recently found not to exist, so repeated lookups of deleted or never created ids are answered
+ * without a query. Entries live for a short TTL and an id is dropped as soon as it is created.
+ */
+public class MissingIdCache {
+    public static final MissingIdCache DISABLED = new MissingIdCache(null);
+
+    private final EntityCache<Boolean> ids;
+
+    public MissingIdCache(EntityCache<Boolean> ids) {
+        this.ids = ids;
+    }
+
+    public boolean isMissing(long id) {
+        return ids != null && ids.get(id) != null;
+    }
+
+    /**
+     * Take before the lookup and pass to {@link #markMissing}.
+     */
+    public long generation() {
+        return ids == null ? 0 : ids.generation();
+    }
+
+    /**
+     * Remembers an id the lookup started at {@code loadedSince} did not find. Skipped when an id was
+     * created in between, since the lookup may have missed it.
+     */
+    public void markMissing(long id, long loadedSince) {
+        if (ids != null) {
+            ids.put(id, Boolean.TRUE, loadedSince);
+        }
+    }
+
+    public void created(long id) {
+        if (ids != null) {
+            ids.invalidate(id);
+        }
+    }
+}
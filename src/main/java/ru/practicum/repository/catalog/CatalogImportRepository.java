@@ -0,0 +1,10 @@
+package ru.practicum.repository.catalog;
+
+import ru.practicum.model.ImportFormat;
+import ru.practicum.model.ImportSummary;
+
+import java.io.Reader;
+
+public interface CatalogImportRepository {
+    ImportSummary importBooks(Reader source, ImportFormat format);
+}
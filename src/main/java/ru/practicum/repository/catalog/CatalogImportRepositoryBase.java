@@ -0,0 +1,92 @@
+package ru.practicum.repository.catalog;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import ru.practicum.db.ConnectionManager;
+import ru.practicum.model.ImportFormat;
+import ru.practicum.model.ImportSummary;
+import ru.practicum.repository.BaseCrudRepository;
+import ru.practicum.repository.sql.Sql;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static ru.practicum.repository.sql.SqlRegistry.IMPORT_ANALYZE_BOOKS;
+import static ru.practicum.repository.sql.SqlRegistry.IMPORT_COPY_CSV;
+import static ru.practicum.repository.sql.SqlRegistry.IMPORT_COUNT_AUTHORS;
+import static ru.practicum.repository.sql.SqlRegistry.IMPORT_COUNT_PUBLISHERS;
+import static ru.practicum.repository.sql.SqlRegistry.IMPORT_COUNT_YEARS;
+import static ru.practicum.repository.sql.SqlRegistry.IMPORT_COPY_NDJSON;
+import static ru.practicum.repository.sql.SqlRegistry.IMPORT_CREATE_BOOKS;
+import static ru.practicum.repository.sql.SqlRegistry.IMPORT_CREATE_BOOK_PUBLISHERS;
+import static ru.practicum.repository.sql.SqlRegistry.IMPORT_CREATE_DOCUMENTS;
+import static ru.practicum.repository.sql.SqlRegistry.IMPORT_INSERT_AUTHORS;
+import static ru.practicum.repository.sql.SqlRegistry.IMPORT_INSERT_BOOKS;
+import static ru.practicum.repository.sql.SqlRegistry.IMPORT_INSERT_BOOK_PUBLISHERS;
+import static ru.practicum.repository.sql.SqlRegistry.IMPORT_INSERT_PUBLISHERS;
+import static ru.practicum.repository.sql.SqlRegistry.IMPORT_NOTIFY_FLUSH;
+import static ru.practicum.repository.sql.SqlRegistry.IMPORT_SUPPRESS_NOTIFICATIONS;
+import static ru.practicum.repository.sql.SqlRegistry.IMPORT_UNPACK_DOCUMENTS;
+
+/**
+ * Streams the feed into a temporary staging table with COPY and resolves authors and
+ * publishers by name with set-based inserts, all in one transaction. Other nodes are told to
+ * flush their caches once, rather than about every imported row.
+ */
+public class CatalogImportRepositoryBase extends BaseCrudRepository implements CatalogImportRepository {
+
+    public CatalogImportRepositoryBase(ConnectionManager connectionManager) {
+        super(connectionManager);
+    }
+
+    @Override
+    public ImportSummary importBooks(Reader source, ImportFormat format) {
+        try {
+            return executeInTransaction(conn -> {
+                CopyManager copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+                run(conn, IMPORT_SUPPRESS_NOTIFICATIONS);
+                run(conn, IMPORT_CREATE_BOOKS);
+                long rows;
+                if (format == ImportFormat.NDJSON) {
+                    run(conn, IMPORT_CREATE_DOCUMENTS);
+                    copyIn(copyManager, IMPORT_COPY_NDJSON, source);
+                    rows = run(conn, IMPORT_UNPACK_DOCUMENTS);
+                } else {
+                    rows = copyIn(copyManager, IMPORT_COPY_CSV, source);
+                }
+                run(conn, IMPORT_ANALYZE_BOOKS);
+                run(conn, IMPORT_CREATE_BOOK_PUBLISHERS);
+                long authors = run(conn, IMPORT_INSERT_AUTHORS);
+                long publishers = run(conn, IMPORT_INSERT_PUBLISHERS);
+                long books = run(conn, IMPORT_INSERT_BOOKS);
+                long links = run(conn, IMPORT_INSERT_BOOK_PUBLISHERS);
+                run(conn, IMPORT_COUNT_AUTHORS);
+                run(conn, IMPORT_COUNT_YEARS);
+                run(conn, IMPORT_COUNT_PUBLISHERS);
+                run(conn, IMPORT_NOTIFY_FLUSH);
+                return new ImportSummary(rows, authors, publishers, books, links);
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private long copyIn(CopyManager copyManager, Sql copy, Reader source) throws SQLException {
+        try {
+            return copyManager.copyIn(copy.getText(), source);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long run(Connection connection, Sql sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql.getText());
+            return Math.max(statement.getUpdateCount(), 0);
+        }
+    }
+}
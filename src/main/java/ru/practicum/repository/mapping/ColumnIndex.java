@@ -0,0 +1,42 @@
+package ru.practicum.repository.mapping;
+
+import ru.practicum.repository.utils.ColumnLabels;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Locale;
+
+public final class ColumnIndex {
+    private static final ColumnLabels[] LABELS = ColumnLabels.values();
+
+    private final int[] indexes;
+
+    private ColumnIndex(int[] indexes) {
+        this.indexes = indexes;
+    }
+
+    public static ColumnIndex resolve(ResultSetMetaData metaData) throws SQLException {
+        int[] indexes = new int[LABELS.length];
+        for (int i = metaData.getColumnCount(); i >= 1; i--) {
+            String label = metaData.getColumnLabel(i).toUpperCase(Locale.ROOT);
+            for (ColumnLabels column : LABELS) {
+                if (column.name().equals(label)) {
+                    indexes[column.ordinal()] = i;
+                }
+            }
+        }
+        return new ColumnIndex(indexes);
+    }
+
+    public int of(ColumnLabels column) throws SQLException {
+        int index = indexes[column.ordinal()];
+        if (index == 0) {
+            throw new SQLException("Column " + column + " is not part of the result");
+        }
+        return index;
+    }
+
+    public boolean contains(ColumnLabels column) {
+        return indexes[column.ordinal()] != 0;
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.repository.mapping;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static ru.practicum.repository.utils.ColumnLabels.DOCUMENT;
+
+/**
+ * Reads a JSON document the database assembled, as text.
+ */
+public class DocumentRowMapper implements RowMapper<String> {
+    @Override
+    public String mapRow(ResultSet rs, ColumnIndex columns) throws SQLException {
+        return rs.getString(columns.of(DOCUMENT));
+    }
+}
@@ -2,7 +2,17 @@ package ru.practicum.repository.mapping;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 
 public interface ResulSetExtractor<T> {
-    T extractData(ResultSet rs) throws SQLException;
+    /**
+     * Builds one aggregate per run of adjacent rows sharing a root id, so a result holding several
+     * aggregates has to be ordered by the root id.
+     */
+    List<T> extractAll(ResultSet rs, ColumnIndex columns) throws SQLException;
+
+    default T extractData(ResultSet rs, ColumnIndex columns) throws SQLException {
+        List<T> all = extractAll(rs, columns);
+        return all.isEmpty() ? null : all.get(0);
+    }
 }
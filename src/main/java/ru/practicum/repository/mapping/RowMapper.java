@@ -4,5 +4,5 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 
 public interface RowMapper<T> {
-    T mapRow(ResultSet rs) throws SQLException;
+    T mapRow(ResultSet rs, ColumnIndex columns) throws SQLException;
 }
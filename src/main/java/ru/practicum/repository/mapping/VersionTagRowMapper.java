@@ -0,0 +1,16 @@
+package ru.practicum.repository.mapping;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static ru.practicum.repository.utils.ColumnLabels.VERSION_TAG;
+
+/**
+ * Reads the digest of row versions a version-tag query computed.
+ */
+public class VersionTagRowMapper implements RowMapper<String> {
+    @Override
+    public String mapRow(ResultSet rs, ColumnIndex columns) throws SQLException {
+        return rs.getString(columns.of(VERSION_TAG));
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.repository.mapping.author;
 import ru.practicum.model.Author;
 import ru.practicum.model.Book;
 import ru.practicum.model.Publisher;
+import ru.practicum.repository.mapping.ColumnIndex;
 import ru.practicum.repository.mapping.ResulSetExtractor;
 
 import java.sql.ResultSet;
@@ -22,38 +23,44 @@ import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_NAME;
 
 public class AuthorResultSetExtractor implements ResulSetExtractor<Author> {
     @Override
-    public Author extractData(ResultSet rs) throws SQLException {
+    public List<Author> extractAll(ResultSet rs, ColumnIndex columns) throws SQLException {
+        int authorIdColumn = columns.of(AUTHOR_ID);
+        int bookIdColumn = columns.of(BOOK_ID);
+        int publisherIdColumn = columns.of(PUBLISHER_ID);
+        List<Author> authors = new ArrayList<>();
         Author author = null;
-        List<Book> bookList = new ArrayList<>();
         Book book = new Book();
         while (rs.next()) {
-            if (author == null) {
+            long authorId = rs.getLong(authorIdColumn);
+            if (author == null || author.getId() != authorId) {
                 author = Author.builder()
-                        .id(rs.getLong(AUTHOR_ID.toString()))
-                        .firstName(rs.getString(AUTHOR_NAME.toString()))
-                        .lastName(rs.getString(AUTHOR_LASTNAME.toString()))
+                        .id(authorId)
+                        .firstName(rs.getString(columns.of(AUTHOR_NAME)))
+                        .lastName(rs.getString(columns.of(AUTHOR_LASTNAME)))
                         .build();
+                author.setBooks(new ArrayList<>());
+                authors.add(author);
+                book = new Book();
             }
-            if (rs.getLong(BOOK_ID.toString()) != book.getId()) {
+            long bookId = rs.getLong(bookIdColumn);
+            if (bookId != book.getId()) {
                 book = Book.builder()
-                        .id(rs.getLong(BOOK_ID.toString()))
-                        .name(rs.getString(BOOK_NAME.toString()))
-                        .year(rs.getInt(BOOK_YEAR.toString()))
+                        .id(bookId)
+                        .name(rs.getString(columns.of(BOOK_NAME)))
+                        .year(rs.getInt(columns.of(BOOK_YEAR)))
                         .build();
-                bookList.add(book);
+                author.getBooks().add(book);
             }
-            if (rs.getLong(PUBLISHER_ID.toString()) != 0) {
+            long publisherId = rs.getLong(publisherIdColumn);
+            if (publisherId != 0) {
                 Publisher publisher = Publisher.builder()
-                        .id(rs.getLong(PUBLISHER_ID.toString()))
-                        .name(rs.getString(PUBLISHER_NAME.toString()))
-                        .city(rs.getString(PUBLISHER_CITY.toString()))
+                        .id(publisherId)
+                        .name(rs.getString(columns.of(PUBLISHER_NAME)))
+                        .city(rs.getString(columns.of(PUBLISHER_CITY)))
                         .build();
                 book.addPublisher(publisher);
             }
         }
-        if (author != null) {
-            author.setBooks(bookList);
-        }
-        return author;
+        return authors;
     }
 }
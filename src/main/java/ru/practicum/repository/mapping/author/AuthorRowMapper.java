@@ -1,17 +1,22 @@
 package ru.practicum.repository.mapping.author;
 
 import ru.practicum.model.Author;
+import ru.practicum.repository.mapping.ColumnIndex;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
+import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_ID;
+import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_LASTNAME;
+import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_NAME;
+
 public class AuthorRowMapper implements ru.practicum.repository.mapping.RowMapper<Author> {
     @Override
-    public Author mapRow(ResultSet rs) throws SQLException {
+    public Author mapRow(ResultSet rs, ColumnIndex columns) throws SQLException {
         return Author.builder()
-                .id(rs.getLong("id"))
-                .lastName(rs.getString("last_name"))
-                .firstName(rs.getString("first_name"))
+                .id(rs.getLong(columns.of(AUTHOR_ID)))
+                .lastName(rs.getString(columns.of(AUTHOR_LASTNAME)))
+                .firstName(rs.getString(columns.of(AUTHOR_NAME)))
                 .build();
 
     }
@@ -0,0 +1,30 @@
+package ru.practicum.repository.mapping.book;
+
+import ru.practicum.model.Publisher;
+import ru.practicum.repository.mapping.ColumnIndex;
+import ru.practicum.repository.mapping.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.Map;
+
+import static ru.practicum.repository.utils.ColumnLabels.BOOK_ID;
+import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_CITY;
+import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_ID;
+import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_NAME;
+
+/**
+ * Maps a books_publishers row to the book id and its publisher.
+ */
+public class BookPublisherRowMapper implements RowMapper<Map.Entry<Long, Publisher>> {
+    @Override
+    public Map.Entry<Long, Publisher> mapRow(ResultSet rs, ColumnIndex columns) throws SQLException {
+        Publisher publisher = Publisher.builder()
+                .id(rs.getLong(columns.of(PUBLISHER_ID)))
+                .name(rs.getString(columns.of(PUBLISHER_NAME)))
+                .city(rs.getString(columns.of(PUBLISHER_CITY)))
+                .build();
+        return new AbstractMap.SimpleImmutableEntry<>(rs.getLong(columns.of(BOOK_ID)), publisher);
+    }
+}
@@ -3,10 +3,13 @@ package ru.practicum.repository.mapping.book;
 import ru.practicum.model.Author;
 import ru.practicum.model.Book;
 import ru.practicum.model.Publisher;
+import ru.practicum.repository.mapping.ColumnIndex;
 import ru.practicum.repository.mapping.ResulSetExtractor;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_ID;
 import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_LASTNAME;
@@ -20,37 +23,38 @@ import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_NAME;
 
 public class BookResultSetExtractor implements ResulSetExtractor<Book> {
     @Override
-    public Book extractData(ResultSet rs) throws SQLException {
+    public List<Book> extractAll(ResultSet rs, ColumnIndex columns) throws SQLException {
+        int bookIdColumn = columns.of(BOOK_ID);
+        int publisherIdColumn = columns.of(PUBLISHER_ID);
+        List<Book> books = new ArrayList<>();
         Book book = null;
-        Author author = null;
         while (rs.next()) {
-            Publisher publisher = new Publisher();
-            if (author == null) {
-                author = Author.builder()
-                        .id(rs.getLong(AUTHOR_ID.toString()))
-                        .firstName(rs.getString(AUTHOR_NAME.toString()))
-                        .lastName(rs.getString(AUTHOR_LASTNAME.toString()))
+            long bookId = rs.getLong(bookIdColumn);
+            if (book == null || book.getId() != bookId) {
+                Author author = Author.builder()
+                        .id(rs.getLong(columns.of(AUTHOR_ID)))
+                        .firstName(rs.getString(columns.of(AUTHOR_NAME)))
+                        .lastName(rs.getString(columns.of(AUTHOR_LASTNAME)))
                         .build();
-            }
-            if (book == null) {
                 book = Book.builder()
-                        .id(rs.getLong(BOOK_ID.toString()))
-                        .name(rs.getString(BOOK_NAME.toString()))
-                        .year(rs.getInt(BOOK_YEAR.toString()))
+                        .id(bookId)
+                        .name(rs.getString(columns.of(BOOK_NAME)))
+                        .author(author)
+                        .year(rs.getInt(columns.of(BOOK_YEAR)))
                         .build();
+                books.add(book);
             }
-            if (rs.getLong(PUBLISHER_ID.toString()) != 0) {
+            Publisher publisher = new Publisher();
+            long publisherId = rs.getLong(publisherIdColumn);
+            if (publisherId != 0) {
                 publisher = Publisher.builder()
-                        .id(rs.getLong(PUBLISHER_ID.toString()))
-                        .name(rs.getString(PUBLISHER_NAME.toString()))
-                        .city(rs.getString(PUBLISHER_CITY.toString()))
+                        .id(publisherId)
+                        .name(rs.getString(columns.of(PUBLISHER_NAME)))
+                        .city(rs.getString(columns.of(PUBLISHER_CITY)))
                         .build();
             }
             book.addPublisher(publisher);
         }
-        if (book != null) {
-            book.setAuthor(author);
-        }
-        return book;
+        return books;
     }
 }
@@ -2,11 +2,13 @@ package ru.practicum.repository.mapping.book;
 
 import ru.practicum.model.Author;
 import ru.practicum.model.Book;
+import ru.practicum.repository.mapping.ColumnIndex;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_ID;
+import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_LASTNAME;
 import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_NAME;
 import static ru.practicum.repository.utils.ColumnLabels.BOOK_ID;
 import static ru.practicum.repository.utils.ColumnLabels.BOOK_NAME;
@@ -14,18 +16,18 @@ import static ru.practicum.repository.utils.ColumnLabels.BOOK_YEAR;
 
 public class BookRowMapper implements ru.practicum.repository.mapping.RowMapper<Book> {
     @Override
-    public Book mapRow(ResultSet rs) throws SQLException {
+    public Book mapRow(ResultSet rs, ColumnIndex columns) throws SQLException {
         Author author = Author.builder()
-                .id(rs.getLong(AUTHOR_ID.toString()))
-                .firstName(rs.getString(AUTHOR_NAME.toString()))
-                .lastName(rs.getString(AUTHOR_NAME.toString()))
+                .id(rs.getLong(columns.of(AUTHOR_ID)))
+                .firstName(rs.getString(columns.of(AUTHOR_NAME)))
+                .lastName(rs.getString(columns.of(AUTHOR_LASTNAME)))
                 .build();
 
         return Book.builder()
-                .id(rs.getLong(BOOK_ID.toString()))
-                .name(rs.getString(BOOK_NAME.toString()))
+                .id(rs.getLong(columns.of(BOOK_ID)))
+                .name(rs.getString(columns.of(BOOK_NAME)))
                 .author(author)
-                .year(rs.getInt(BOOK_YEAR.toString()))
+                .year(rs.getInt(columns.of(BOOK_YEAR)))
                 .build();
     }
 }
@@ -3,6 +3,7 @@ package ru.practicum.repository.mapping.publisher;
 import ru.practicum.model.Author;
 import ru.practicum.model.Book;
 import ru.practicum.model.Publisher;
+import ru.practicum.repository.mapping.ColumnIndex;
 import ru.practicum.repository.mapping.ResulSetExtractor;
 
 import java.sql.ResultSet;
@@ -11,6 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_ID;
+import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_LASTNAME;
 import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_NAME;
 import static ru.practicum.repository.utils.ColumnLabels.BOOK_ID;
 import static ru.practicum.repository.utils.ColumnLabels.BOOK_NAME;
@@ -21,40 +23,46 @@ import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_NAME;
 
 public class PublisherResultSetExtractor implements ResulSetExtractor<Publisher> {
     @Override
-    public Publisher extractData(ResultSet rs) throws SQLException {
+    public List<Publisher> extractAll(ResultSet rs, ColumnIndex columns) throws SQLException {
+        int publisherIdColumn = columns.of(PUBLISHER_ID);
+        int bookIdColumn = columns.of(BOOK_ID);
+        int authorIdColumn = columns.of(AUTHOR_ID);
+        List<Publisher> publishers = new ArrayList<>();
         Publisher publisher = null;
         Author author = new Author();
-        List<Book> books = new ArrayList<>();
         while (rs.next()) {
             Book book = new Book();
-            if (publisher == null) {
+            long publisherId = rs.getLong(publisherIdColumn);
+            if (publisher == null || publisher.getId() != publisherId) {
                 publisher = Publisher.builder()
-                        .id(rs.getLong(PUBLISHER_ID.toString()))
-                        .name(rs.getString(PUBLISHER_NAME.toString()))
-                        .city(rs.getString(PUBLISHER_CITY.toString()))
+                        .id(publisherId)
+                        .name(rs.getString(columns.of(PUBLISHER_NAME)))
+                        .city(rs.getString(columns.of(PUBLISHER_CITY)))
                         .build();
+                publisher.setBooks(new ArrayList<>());
+                publishers.add(publisher);
+                author = new Author();
             }
-            if (rs.getLong(BOOK_ID.toString()) != book.getId()) {
+            long bookId = rs.getLong(bookIdColumn);
+            if (bookId != book.getId()) {
                 book = Book.builder()
-                        .id(rs.getLong(BOOK_ID.toString()))
-                        .name(rs.getString(BOOK_NAME.toString()))
+                        .id(bookId)
+                        .name(rs.getString(columns.of(BOOK_NAME)))
                         .author(author)
-                        .year(rs.getInt(BOOK_YEAR.toString()))
+                        .year(rs.getInt(columns.of(BOOK_YEAR)))
                         .build();
-                books.add(book);
+                publisher.getBooks().add(book);
             }
-            if (rs.getLong(AUTHOR_ID.toString()) != author.getId()) {
+            long authorId = rs.getLong(authorIdColumn);
+            if (authorId != author.getId()) {
                 author = Author.builder()
-                        .id(rs.getLong(AUTHOR_ID.toString()))
-                        .firstName(rs.getString(AUTHOR_NAME.toString()))
-                        .lastName(rs.getString(AUTHOR_NAME.toString()))
+                        .id(authorId)
+                        .firstName(rs.getString(columns.of(AUTHOR_NAME)))
+                        .lastName(rs.getString(columns.of(AUTHOR_LASTNAME)))
                         .build();
                 book.setAuthor(author);
             }
         }
-        if (publisher != null) {
-            publisher.setBooks(books);
-        }
-        return publisher;
+        return publishers;
     }
 }
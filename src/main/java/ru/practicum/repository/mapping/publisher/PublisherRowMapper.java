@@ -1,18 +1,23 @@
 package ru.practicum.repository.mapping.publisher;
 
 import ru.practicum.model.Publisher;
+import ru.practicum.repository.mapping.ColumnIndex;
 import ru.practicum.repository.mapping.RowMapper;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
+import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_CITY;
+import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_ID;
+import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_NAME;
+
 public class PublisherRowMapper implements RowMapper<Publisher> {
     @Override
-    public Publisher mapRow(ResultSet rs) throws SQLException {
+    public Publisher mapRow(ResultSet rs, ColumnIndex columns) throws SQLException {
         return Publisher.builder()
-                .id(rs.getLong("id"))
-                .name(rs.getString("name"))
-                .city(rs.getString("city"))
+                .id(rs.getLong(columns.of(PUBLISHER_ID)))
+                .name(rs.getString(columns.of(PUBLISHER_NAME)))
+                .city(rs.getString(columns.of(PUBLISHER_CITY)))
                 .build();
     }
 }
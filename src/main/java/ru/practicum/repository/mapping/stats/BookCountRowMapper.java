@@ -0,0 +1,21 @@
+package ru.practicum.repository.mapping.stats;
+
+import ru.practicum.model.BookCount;
+import ru.practicum.repository.mapping.ColumnIndex;
+import ru.practicum.repository.mapping.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static ru.practicum.repository.utils.ColumnLabels.BOOK_COUNT;
+import static ru.practicum.repository.utils.ColumnLabels.COUNT_KEY;
+import static ru.practicum.repository.utils.ColumnLabels.COUNT_NAME;
+
+public class BookCountRowMapper implements RowMapper<BookCount> {
+    @Override
+    public BookCount mapRow(ResultSet rs, ColumnIndex columns) throws SQLException {
+        return new BookCount(rs.getLong(columns.of(COUNT_KEY)),
+                rs.getString(columns.of(COUNT_NAME)),
+                rs.getLong(columns.of(BOOK_COUNT)));
+    }
+}
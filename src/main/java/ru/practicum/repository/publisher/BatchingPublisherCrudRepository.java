@@ -0,0 +1,21 @@
+package ru.practicum.repository.publisher;
+
+import ru.practicum.model.Publisher;
+import ru.practicum.repository.batch.BatchingCrudRepository;
+import ru.practicum.repository.cache.EntityCopies;
+
+import java.util.Optional;
+
+public class BatchingPublisherCrudRepository extends BatchingCrudRepository<Publisher> implements PublisherCrudRepository {
+    private final PublisherCrudRepository repository;
+
+    public BatchingPublisherCrudRepository(PublisherCrudRepository repository, long windowMicros, int maxBatchSize) {
+        super(repository, Publisher::getId, EntityCopies::publisher, windowMicros, maxBatchSize);
+        this.repository = repository;
+    }
+
+    @Override
+    public Optional<String> findJsonById(long id) {
+        return repository.findJsonById(id);
+    }
+}
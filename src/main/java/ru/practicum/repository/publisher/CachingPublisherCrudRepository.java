@@ -0,0 +1,41 @@
+package ru.practicum.repository.publisher;
+
+import ru.practicum.model.Book;
+import ru.practicum.model.Publisher;
+import ru.practicum.repository.cache.CachingCrudRepository;
+import ru.practicum.repository.cache.EntityCache;
+import ru.practicum.repository.cache.EntityCopies;
+import ru.practicum.repository.cache.InvalidationGraph;
+import ru.practicum.repository.cache.InvalidationGraph.Ref;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class CachingPublisherCrudRepository extends CachingCrudRepository<Publisher>
+        implements PublisherCrudRepository {
+    private final PublisherCrudRepository repository;
+
+    public CachingPublisherCrudRepository(PublisherCrudRepository repository, EntityCache<Publisher> cache,
+                                          InvalidationGraph graph) {
+        super(repository, cache, graph, InvalidationGraph.Kind.PUBLISHER, EntityCopies::publisher,
+                CachingPublisherCrudRepository::embedded);
+        this.repository = repository;
+    }
+
+    @Override
+    public Optional<String> findJsonById(long id) {
+        return repository.findJsonById(id);
+    }
+
+    private static List<Ref> embedded(Publisher publisher) {
+        List<Ref> refs = new ArrayList<>();
+        for (Book book : publisher.getBooks()) {
+            refs.add(Ref.book(book.getId()));
+            if (book.getAuthor() != null) {
+                refs.add(Ref.author(book.getAuthor().getId()));
+            }
+        }
+        return refs;
+    }
+}
@@ -3,5 +3,11 @@ package ru.practicum.repository.publisher;
 import ru.practicum.model.Publisher;
 import ru.practicum.repository.CrudRepository;
 
+import java.util.Optional;
+
 public interface PublisherCrudRepository extends CrudRepository<Publisher, Long> {
+    /**
+     * Returns the publisher with its books as a JSON document built by the database.
+     */
+    Optional<String> findJsonById(long id);
 }
@@ -2,46 +2,67 @@ package ru.practicum.repository.publisher;
 
 import ru.practicum.db.ConnectionManager;
 import ru.practicum.model.Publisher;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
 import ru.practicum.repository.BaseCrudRepository;
+import ru.practicum.repository.PreparedStatementSetter;
+import ru.practicum.repository.mapping.DocumentRowMapper;
 import ru.practicum.repository.mapping.ResulSetExtractor;
 import ru.practicum.repository.mapping.RowMapper;
 import ru.practicum.repository.utils.GenereteKeyHolder;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
-import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_ID;
-import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_LASTNAME;
-import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_NAME;
-import static ru.practicum.repository.utils.ColumnLabels.BOOK_ID;
-import static ru.practicum.repository.utils.ColumnLabels.BOOK_NAME;
-import static ru.practicum.repository.utils.ColumnLabels.BOOK_YEAR;
-import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_CITY;
-import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_ID;
-import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_NAME;
+import static ru.practicum.repository.sql.SqlRegistry.PUBLISHER_DELETE;
+import static ru.practicum.repository.sql.SqlRegistry.PUBLISHER_FIND_ALL;
+import static ru.practicum.repository.sql.SqlRegistry.PUBLISHER_FIND_ALL_BY_IDS;
+import static ru.practicum.repository.sql.SqlRegistry.PUBLISHER_FIND_BY_ID;
+import static ru.practicum.repository.sql.SqlRegistry.PUBLISHER_FIND_BY_IDS;
+import static ru.practicum.repository.sql.SqlRegistry.PUBLISHER_FIND_JSON_BY_ID;
+import static ru.practicum.repository.sql.SqlRegistry.PUBLISHER_FIND_PAGE;
+import static ru.practicum.repository.sql.SqlRegistry.PUBLISHER_FIND_PAGE_VERSION_TAG;
+import static ru.practicum.repository.sql.SqlRegistry.PUBLISHER_FIND_VERSION_TAG;
+import static ru.practicum.repository.sql.SqlRegistry.PUBLISHER_INSERT;
+import static ru.practicum.repository.sql.SqlRegistry.PUBLISHER_INSERT_ROWS;
+import static ru.practicum.repository.sql.SqlRegistry.PUBLISHER_UPDATE;
 
 public class PublisherCrudRepositoryBase extends BaseCrudRepository implements PublisherCrudRepository {
+    private static final DocumentRowMapper DOCUMENT_ROW_MAPPER = new DocumentRowMapper();
+
     private final ResulSetExtractor<Publisher> resulSetExtractor;
     private final RowMapper<Publisher> rowMapper;
+    private final int insertChunkSize;
 
     public PublisherCrudRepositoryBase(ConnectionManager connectionManager,
                                        ResulSetExtractor<Publisher> resulSetExtractor,
                                        RowMapper<Publisher> rowMapper) {
+        this(connectionManager, resulSetExtractor, rowMapper, DEFAULT_INSERT_CHUNK_SIZE);
+    }
+
+    public PublisherCrudRepositoryBase(ConnectionManager connectionManager,
+                                       ResulSetExtractor<Publisher> resulSetExtractor,
+                                       RowMapper<Publisher> rowMapper,
+                                       int insertChunkSize) {
         super(connectionManager);
         this.resulSetExtractor = resulSetExtractor;
         this.rowMapper = rowMapper;
+        this.insertChunkSize = insertChunkSize;
     }
 
     @Override
     public Publisher save(Publisher publisher) {
         GenereteKeyHolder keyHolder = new GenereteKeyHolder();
-        String sql = "insert into publishers (name,city) values (?,?)";
-        Map<Integer, Object> params = getParams(publisher.getName(), publisher.getCity());
+        PreparedStatementSetter params = ps -> {
+            ps.setString(1, publisher.getName());
+            ps.setString(2, publisher.getCity());
+        };
         try {
-            int update = update(sql, params, keyHolder);
+            int update = update(PUBLISHER_INSERT, params, keyHolder);
 
             if (update == 1) {
                 if (Objects.nonNull(keyHolder.getKey())) {
@@ -56,12 +77,33 @@ public class PublisherCrudRepositoryBase extends BaseCrudRepository implements P
         }
     }
 
+    @Override
+    public List<Publisher> saveAll(Collection<Publisher> publishers) {
+        List<Publisher> rows = List.copyOf(publishers);
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        try {
+            executeInTransaction(conn -> {
+                insertRows(conn, PUBLISHER_INSERT_ROWS, rows, insertChunkSize,
+                        List.of(Publisher::getName, Publisher::getCity), Publisher::setId);
+                return null;
+            });
+            return rows;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public Publisher save(Publisher publisher, Long id) {
-        String sql = "update publishers set name=?, city=? where id=?";
-        Map<Integer, Object> params = getParams(publisher.getName(), publisher.getCity(), id);
+        PreparedStatementSetter params = ps -> {
+            ps.setString(1, publisher.getName());
+            ps.setString(2, publisher.getCity());
+            ps.setLong(3, id);
+        };
         try {
-            int update = update(sql, params);
+            int update = update(PUBLISHER_UPDATE, params);
             if (update == 0) {
                 throw new SQLException("Failed to update publisher");
             }
@@ -73,10 +115,9 @@ public class PublisherCrudRepositoryBase extends BaseCrudRepository implements P
 
     @Override
     public boolean delete(Long id) {
-        String sql = "delete from publishers where id=?";
-        Map<Integer, Object> params = getParams(id);
+        PreparedStatementSetter params = byId(id);
         try {
-            int update = update(sql, params);
+            int update = update(PUBLISHER_DELETE, params);
             return update == 1;
         } catch (SQLException e) {
             throw new RuntimeException(e);
@@ -85,20 +126,17 @@ public class PublisherCrudRepositoryBase extends BaseCrudRepository implements P
 
     @Override
     public Optional<Publisher> findById(Long id) {
-        String sql = String.format("""
-                               select
-                               p.id %s, p.name %s, p.city %s,
-                               b.id %s, b.name %s, b.year %s,
-                               a.id %s, a.first_name %s, a.last_name %s
-                        from publishers p
-                                 left join books_publishers bp on p.id = bp.publisher_id
-                                 left join books b on b.id = bp.books_id
-                                 left join authors a on a.id = b.author_id
-                        where p.id=?
-                        """, PUBLISHER_ID, PUBLISHER_NAME, PUBLISHER_CITY, BOOK_ID,
-                BOOK_NAME, BOOK_YEAR, AUTHOR_ID, AUTHOR_NAME, AUTHOR_LASTNAME);
         try {
-            return query(sql, getParams(id), resulSetExtractor);
+            return query(PUBLISHER_FIND_BY_ID, byId(id), resulSetExtractor);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public Optional<String> findJsonById(long id) {
+        try {
+            return query(PUBLISHER_FIND_JSON_BY_ID, byId(id), DOCUMENT_ROW_MAPPER);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -106,9 +144,68 @@ public class PublisherCrudRepositoryBase extends BaseCrudRepository implements P
 
     @Override
     public List<Publisher> findAll() {
-        String sql = "select * from publishers";
         try {
-            return queryForList(sql, rowMapper);
+            return queryForList(PUBLISHER_FIND_ALL, rowMapper);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public List<Publisher> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return queryForList(PUBLISHER_FIND_ALL_BY_IDS, byIds(ids), rowMapper);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public List<Publisher> findAggregatesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return queryForList(PUBLISHER_FIND_BY_IDS, byIds(ids), resulSetExtractor);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public Page<Publisher> findAll(PageRequest pageRequest) {
+        try {
+            return queryForPage(PUBLISHER_FIND_PAGE, pageRequest, rowMapper, Publisher::getId);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public Optional<String> findVersionTag(Long id) {
+        try {
+            return query(PUBLISHER_FIND_VERSION_TAG, byId(id), VERSION_TAG_ROW_MAPPER);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String findPageVersionTag(PageRequest pageRequest) {
+        try {
+            return queryForPageVersionTag(PUBLISHER_FIND_PAGE_VERSION_TAG, PreparedStatementSetter.NONE, 0, pageRequest);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void streamAll(Consumer<? super Publisher> action) {
+        try {
+            queryForEach(PUBLISHER_FIND_ALL, PreparedStatementSetter.NONE, rowMapper, action);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
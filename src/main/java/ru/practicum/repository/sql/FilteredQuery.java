@@ -0,0 +1,52 @@
+package ru.practicum.repository.sql;
+
+import ru.practicum.repository.utils.ColumnLabels;
+
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Query with optional {@code where} predicates. Bit {@code i} of a mask enables predicate
+ * {@code i}; each combination is rendered once and reused, so only the predicates that apply
+ * reach the planner and it can pick the matching index.
+ */
+public final class FilteredQuery {
+    private final String name;
+    private final String template;
+    private final List<String> predicates;
+    private final List<ColumnLabels> columns;
+    private final ConcurrentMap<Integer, Sql> byMask = new ConcurrentHashMap<>();
+
+    FilteredQuery(String name, String template, List<String> predicates, List<ColumnLabels> columns) {
+        if (predicates.size() >= Integer.SIZE) {
+            throw new IllegalArgumentException("Too many predicates for " + name);
+        }
+        this.name = name;
+        this.template = template;
+        this.predicates = predicates;
+        this.columns = columns;
+    }
+
+    public int allPredicates() {
+        return (1 << predicates.size()) - 1;
+    }
+
+    public Sql forPredicates(int mask) {
+        if ((mask & ~allPredicates()) != 0) {
+            throw new IllegalArgumentException("Unknown predicates " + Integer.toBinaryString(mask) + " for " + name);
+        }
+        return byMask.computeIfAbsent(mask, this::render);
+    }
+
+    private Sql render(int mask) {
+        StringJoiner where = new StringJoiner(" and ", "", " and ").setEmptyValue("");
+        for (int i = 0; i < predicates.size(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                where.add(predicates.get(i));
+            }
+        }
+        return new Sql(name + "[" + Integer.toBinaryString(mask) + "]", String.format(template, where), columns);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.repository.sql;
+
+import ru.practicum.repository.mapping.ColumnIndex;
+import ru.practicum.repository.utils.ColumnLabels;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+public final class Sql {
+    private final String name;
+    private final String text;
+    private final List<ColumnLabels> columns;
+    private volatile ColumnIndex columnIndex;
+
+    Sql(String name, String text, List<ColumnLabels> columns) {
+        this.name = name;
+        this.text = text;
+        this.columns = columns;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public List<ColumnLabels> getColumns() {
+        return columns;
+    }
+
+    public ColumnIndex columnIndex(ResultSet resultSet) throws SQLException {
+        ColumnIndex index = columnIndex;
+        if (index == null) {
+            index = ColumnIndex.resolve(resultSet.getMetaData());
+            columnIndex = index;
+        }
+        return index;
+    }
+
+    public boolean isQuery() {
+        return !columns.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,553 @@
+package ru.practicum.repository.sql;
+
+import ru.practicum.db.ConnectionManager;
+import ru.practicum.repository.utils.ColumnLabels;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_ID;
+import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_LASTNAME;
+import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_NAME;
+import static ru.practicum.repository.utils.ColumnLabels.BOOK_COUNT;
+import static ru.practicum.repository.utils.ColumnLabels.BOOK_ID;
+import static ru.practicum.repository.utils.ColumnLabels.BOOK_NAME;
+import static ru.practicum.repository.utils.ColumnLabels.BOOK_YEAR;
+import static ru.practicum.repository.utils.ColumnLabels.COUNT_KEY;
+import static ru.practicum.repository.utils.ColumnLabels.COUNT_NAME;
+import static ru.practicum.repository.utils.ColumnLabels.DOCUMENT;
+import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_CITY;
+import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_ID;
+import static ru.practicum.repository.utils.ColumnLabels.PUBLISHER_NAME;
+import static ru.practicum.repository.utils.ColumnLabels.ROW_ORDINAL;
+import static ru.practicum.repository.utils.ColumnLabels.VERSION_TAG;
+
+public final class SqlRegistry {
+    private static final List<Sql> STATEMENTS = new ArrayList<>();
+    /**
+     * Book title weighted above the author's name; the 'simple' configuration does no stemming,
+     * so titles and names in any language match as typed. Defined in schema.sql, which also
+     * backfills the books written before the column existed.
+     */
+    private static final String BOOK_SEARCH_VECTOR = "book_search_vector(%s, %s, %s)";
+
+    public static final Sql AUTHOR_INSERT = update("author.insert",
+            "insert into authors (first_name, last_name) values (?, ?)");
+    public static final Sql AUTHOR_INSERT_ROWS = query("author.insertRows", """
+                    with new_rows as materialized (
+                        select nextval(pg_get_serial_sequence('authors', 'id')) id, v.first_name, v.last_name, v.ord
+                        from unnest(?::varchar[], ?::varchar[]) with ordinality v(first_name, last_name, ord)),
+                    inserted as (insert into authors (id, first_name, last_name)
+                        select id, first_name, last_name from new_rows)
+                    select id %s, ord %s from new_rows order by ord
+                    """, AUTHOR_ID, ROW_ORDINAL);
+    public static final Sql AUTHOR_UPDATE = update("author.update",
+            "update authors set first_name = ?, last_name = ?, version = version + 1 where id = ?");
+    public static final Sql AUTHOR_REFRESH_BOOK_SEARCH = update("author.refreshBookSearch",
+            "update books b set search_vector = " + searchVector("b.name", "a.first_name", "a.last_name")
+            + " from authors a where a.id = b.author_id and a.id = ?");
+    public static final Sql AUTHOR_DELETE = update("author.delete",
+            "delete from authors where id = ?");
+    public static final Sql AUTHOR_LOCK = query("author.lock",
+            "select a.id %s from authors a where a.id = ? for update", AUTHOR_ID);
+    public static final Sql AUTHOR_FIND_BY_ID = query("author.findById", """
+                    select a.id %s, a.first_name %s, a.last_name %s,
+                    b.id %s, b.name %s, b.year %s, p.id %s, p.name %s, p.city %s
+                    from authors a
+                    left join books b on a.id = b.author_id
+                    left join books_publishers bp on b.id = bp.books_id
+                    left join publishers p on p.id = bp.publisher_id
+                    where a.id = ?
+                    """, AUTHOR_ID, AUTHOR_NAME, AUTHOR_LASTNAME,
+            BOOK_ID, BOOK_NAME, BOOK_YEAR, PUBLISHER_ID, PUBLISHER_NAME, PUBLISHER_CITY);
+    public static final Sql AUTHOR_FIND_BY_IDS = query("author.findByIds", """
+                    select a.id %s, a.first_name %s, a.last_name %s,
+                    b.id %s, b.name %s, b.year %s, p.id %s, p.name %s, p.city %s
+                    from authors a
+                    left join books b on a.id = b.author_id
+                    left join books_publishers bp on b.id = bp.books_id
+                    left join publishers p on p.id = bp.publisher_id
+                    where a.id = any(?)
+                    order by a.id, b.id
+                    """, AUTHOR_ID, AUTHOR_NAME, AUTHOR_LASTNAME,
+            BOOK_ID, BOOK_NAME, BOOK_YEAR, PUBLISHER_ID, PUBLISHER_NAME, PUBLISHER_CITY);
+    public static final Sql AUTHOR_FIND_ALL = query("author.findAll",
+            "select a.id %s, a.first_name %s, a.last_name %s from authors a",
+            AUTHOR_ID, AUTHOR_NAME, AUTHOR_LASTNAME);
+
+    public static final Sql AUTHOR_FIND_ALL_BY_IDS = query("author.findAllByIds",
+            "select a.id %s, a.first_name %s, a.last_name %s from authors a where a.id = any(?)",
+            AUTHOR_ID, AUTHOR_NAME, AUTHOR_LASTNAME);
+    public static final Sql AUTHOR_FIND_JSON_BY_ID = query("author.findJsonById", """
+                    select json_build_object(
+                        'id', a.id, 'firstName', a.first_name, 'lastName', a.last_name,
+                        'books', coalesce((
+                            select json_agg(json_build_object(
+                                'id', b.id, 'name', b.name, 'year', b.year,
+                                'publishers', coalesce((
+                                    select json_agg(json_build_object('id', p.id, 'name', p.name, 'city', p.city)
+                                                    order by p.id)
+                                    from books_publishers bp
+                                    join publishers p on p.id = bp.publisher_id
+                                    where bp.books_id = b.id), '[]'::json)) order by b.id)
+                            from books b
+                            where b.author_id = a.id), '[]'::json))::text %s
+                    from authors a
+                    where a.id = ?
+                    """, DOCUMENT);
+    public static final Sql AUTHOR_FIND_PAGE = query("author.findPage",
+            "select a.id %s, a.first_name %s, a.last_name %s from authors a where a.id > ? order by a.id limit ?",
+            AUTHOR_ID, AUTHOR_NAME, AUTHOR_LASTNAME);
+    public static final Sql AUTHOR_FIND_VERSION_TAG = query("author.findVersionTag", """
+                    select md5(string_agg(concat_ws(':', a.version, b.id, b.version, p.id, p.version), ','
+                                          order by b.id, p.id)) %s
+                    from authors a
+                    left join books b on a.id = b.author_id
+                    left join books_publishers bp on b.id = bp.books_id
+                    left join publishers p on p.id = bp.publisher_id
+                    where a.id = ?
+                    group by a.id
+                    """, VERSION_TAG);
+    public static final Sql AUTHOR_FIND_PAGE_VERSION_TAG = query("author.findPageVersionTag", """
+                    select md5(coalesce(string_agg(a.id || ':' || a.version, ',' order by a.id), '')) %s
+                    from (select id, version from authors where id > ? order by id limit ?) a
+                    """, VERSION_TAG);
+
+    public static final Sql BOOK_INSERT = update("book.insert",
+            "insert into books (name, author_id, year) values (?, ?, ?)");
+    public static final Sql BOOK_ADD_PUBLISHER = update("book.addPublisher",
+            "insert into books_publishers (books_id, publisher_id) values (?, ?)");
+    public static final Sql BOOK_UPDATE = update("book.update",
+            "update books set name = ?, author_id = ?, year = ?, version = version + 1 where id = ?");
+    public static final Sql BOOK_REFRESH_SEARCH = update("book.refreshSearch",
+            "update books b set search_vector = " + searchVector("b.name", "a.first_name", "a.last_name")
+            + " from authors a where a.id = b.author_id and b.id = ?");
+    public static final Sql BOOK_DELETE = update("book.delete",
+            "delete from books where id = ?");
+    public static final Sql BOOK_LOCK = query("book.lock",
+            "select b.id %s from books b where b.id = ? for update", BOOK_ID);
+    public static final Sql BOOK_FIND_BY_ID = query("book.findById", """
+                    select b.id %s, b.name %s, b.year %s, a.id %s, a.first_name %s,
+                    a.last_name %s, p.id %s, p.name %s, p.city %s
+                    from books b
+                    left join authors a on b.author_id = a.id
+                    left join books_publishers pb on b.id = pb.books_id
+                    left join publishers p on pb.publisher_id = p.id
+                    where b.id = ?
+                    """, BOOK_ID, BOOK_NAME, BOOK_YEAR, AUTHOR_ID, AUTHOR_NAME,
+            AUTHOR_LASTNAME, PUBLISHER_ID, PUBLISHER_NAME, PUBLISHER_CITY);
+    public static final Sql BOOK_FIND_BY_IDS = query("book.findByIds", """
+                    select b.id %s, b.name %s, b.year %s, a.id %s, a.first_name %s,
+                    a.last_name %s, p.id %s, p.name %s, p.city %s
+                    from books b
+                    left join authors a on b.author_id = a.id
+                    left join books_publishers pb on b.id = pb.books_id
+                    left join publishers p on pb.publisher_id = p.id
+                    where b.id = any(?)
+                    order by b.id
+                    """, BOOK_ID, BOOK_NAME, BOOK_YEAR, AUTHOR_ID, AUTHOR_NAME,
+            AUTHOR_LASTNAME, PUBLISHER_ID, PUBLISHER_NAME, PUBLISHER_CITY);
+    public static final Sql BOOK_FIND_ALL = query("book.findAll", """
+                    select b.id %s, b.name %s, b.year %s, a.id %s, a.first_name %s, a.last_name %s
+                    from books b
+                    join authors a on a.id = b.author_id
+                    """, BOOK_ID, BOOK_NAME, BOOK_YEAR, AUTHOR_ID, AUTHOR_NAME, AUTHOR_LASTNAME);
+    public static final Sql BOOK_FIND_ALL_BY_IDS = query("book.findAllByIds", """
+                    select b.id %s, b.name %s, b.year %s, a.id %s, a.first_name %s, a.last_name %s
+                    from books b
+                    join authors a on a.id = b.author_id
+                    where b.id = any(?)
+                    """, BOOK_ID, BOOK_NAME, BOOK_YEAR, AUTHOR_ID, AUTHOR_NAME, AUTHOR_LASTNAME);
+    public static final Sql BOOK_FIND_PAGE = query("book.findPage", """
+                    select b.id %s, b.name %s, b.year %s, a.id %s, a.first_name %s, a.last_name %s
+                    from books b
+                    join authors a on a.id = b.author_id
+                    where b.id > ?
+                    order by b.id
+                    limit ?
+                    """, BOOK_ID, BOOK_NAME, BOOK_YEAR, AUTHOR_ID, AUTHOR_NAME, AUTHOR_LASTNAME);
+    public static final Sql BOOK_FIND_VERSION_TAG = query("book.findVersionTag", """
+                    select md5(string_agg(concat_ws(':', b.version, a.id, a.version, p.id, p.version), ','
+                                          order by p.id)) %s
+                    from books b
+                    join authors a on a.id = b.author_id
+                    left join books_publishers bp on b.id = bp.books_id
+                    left join publishers p on p.id = bp.publisher_id
+                    where b.id = ?
+                    group by b.id
+                    """, VERSION_TAG);
+    public static final int BOOK_BY_AUTHOR = 1;
+    public static final int BOOK_YEAR_FROM = 1 << 1;
+    public static final int BOOK_YEAR_TO = 1 << 2;
+    public static final int BOOK_BY_PUBLISHER = 1 << 3;
+    private static final List<String> BOOK_FIND_FILTERED_PAGE_PREDICATES = List.of(
+            "b.author_id = ?",
+            "b.year >= ?",
+            "b.year <= ?",
+            "exists (select 1 from books_publishers bp where bp.books_id = b.id and bp.publisher_id = ?)");
+    public static final FilteredQuery BOOK_FIND_FILTERED_PAGE = filteredQuery("book.findFilteredPage", """
+                    select b.id %s, b.name %s, b.year %s, a.id %s, a.first_name %s, a.last_name %s
+                    from books b
+                    join authors a on a.id = b.author_id
+                    where %%sb.id > ?
+                    order by b.id
+                    limit ?
+                    """, BOOK_FIND_FILTERED_PAGE_PREDICATES,
+            BOOK_ID, BOOK_NAME, BOOK_YEAR, AUTHOR_ID, AUTHOR_NAME, AUTHOR_LASTNAME);
+    public static final FilteredQuery BOOK_FIND_FILTERED_PAGE_VERSION_TAG = filteredQuery(
+            "book.findFilteredPageVersionTag", """
+                    select md5(coalesce(string_agg(concat_ws(':', t.id, t.version, t.author_id, t.author_version), ','
+                                                   order by t.id), '')) %s
+                    from (select b.id, b.version, a.id author_id, a.version author_version
+                          from books b
+                          join authors a on a.id = b.author_id
+                          where %%sb.id > ?
+                          order by b.id
+                          limit ?) t
+                    """, BOOK_FIND_FILTERED_PAGE_PREDICATES, VERSION_TAG);
+    public static final Sql BOOK_SEARCH = query("book.search", """
+                    select b.id %s, b.name %s, b.year %s, a.id %s, a.first_name %s, a.last_name %s
+                    from books b
+                    join authors a on a.id = b.author_id
+                    cross join websearch_to_tsquery('simple', ?) q
+                    where b.search_vector @@ q
+                    order by ts_rank(b.search_vector, q) desc, b.id
+                    offset ?
+                    limit ?
+                    """, BOOK_ID, BOOK_NAME, BOOK_YEAR, AUTHOR_ID, AUTHOR_NAME, AUTHOR_LASTNAME);
+    public static final Sql BOOK_FIND_PUBLISHERS = query("book.findPublishers", """
+                    select bp.books_id %s, p.id %s, p.name %s, p.city %s
+                    from books_publishers bp
+                    join publishers p on p.id = bp.publisher_id
+                    where bp.books_id = any(?)
+                    order by bp.books_id, p.id
+                    """, BOOK_ID, PUBLISHER_ID, PUBLISHER_NAME, PUBLISHER_CITY);
+
+    public static final Sql PUBLISHER_INSERT = update("publisher.insert",
+            "insert into publishers (name, city) values (?, ?)");
+    public static final Sql PUBLISHER_INSERT_ROWS = query("publisher.insertRows", """
+                    with new_rows as materialized (
+                        select nextval(pg_get_serial_sequence('publishers', 'id')) id, v.name, v.city, v.ord
+                        from unnest(?::varchar[], ?::varchar[]) with ordinality v(name, city, ord)),
+                    inserted as (insert into publishers (id, name, city)
+                        select id, name, city from new_rows)
+                    select id %s, ord %s from new_rows order by ord
+                    """, PUBLISHER_ID, ROW_ORDINAL);
+    public static final Sql PUBLISHER_UPDATE = update("publisher.update",
+            "update publishers set name = ?, city = ?, version = version + 1 where id = ?");
+    public static final Sql PUBLISHER_DELETE = update("publisher.delete",
+            "delete from publishers where id = ?");
+    public static final Sql PUBLISHER_FIND_BY_ID = query("publisher.findById", """
+                    select p.id %s, p.name %s, p.city %s,
+                    b.id %s, b.name %s, b.year %s,
+                    a.id %s, a.first_name %s, a.last_name %s
+                    from publishers p
+                    left join books_publishers bp on p.id = bp.publisher_id
+                    left join books b on b.id = bp.books_id
+                    left join authors a on a.id = b.author_id
+                    where p.id = ?
+                    """, PUBLISHER_ID, PUBLISHER_NAME, PUBLISHER_CITY, BOOK_ID,
+            BOOK_NAME, BOOK_YEAR, AUTHOR_ID, AUTHOR_NAME, AUTHOR_LASTNAME);
+    public static final Sql PUBLISHER_FIND_BY_IDS = query("publisher.findByIds", """
+                    select p.id %s, p.name %s, p.city %s,
+                    b.id %s, b.name %s, b.year %s,
+                    a.id %s, a.first_name %s, a.last_name %s
+                    from publishers p
+                    left join books_publishers bp on p.id = bp.publisher_id
+                    left join books b on b.id = bp.books_id
+                    left join authors a on a.id = b.author_id
+                    where p.id = any(?)
+                    order by p.id
+                    """, PUBLISHER_ID, PUBLISHER_NAME, PUBLISHER_CITY, BOOK_ID,
+            BOOK_NAME, BOOK_YEAR, AUTHOR_ID, AUTHOR_NAME, AUTHOR_LASTNAME);
+    public static final Sql PUBLISHER_FIND_ALL = query("publisher.findAll",
+            "select p.id %s, p.name %s, p.city %s from publishers p",
+            PUBLISHER_ID, PUBLISHER_NAME, PUBLISHER_CITY);
+    public static final Sql PUBLISHER_FIND_ALL_BY_IDS = query("publisher.findAllByIds",
+            "select p.id %s, p.name %s, p.city %s from publishers p where p.id = any(?)",
+            PUBLISHER_ID, PUBLISHER_NAME, PUBLISHER_CITY);
+    public static final Sql PUBLISHER_FIND_JSON_BY_ID = query("publisher.findJsonById", """
+                    select json_build_object(
+                        'id', p.id, 'name', p.name, 'city', p.city,
+                        'books', coalesce((
+                            select json_agg(json_build_object(
+                                'id', b.id, 'name', b.name, 'year', b.year,
+                                'author', json_build_object('id', a.id, 'firstName', a.first_name,
+                                                            'lastName', a.last_name)) order by b.id)
+                            from books_publishers bp
+                            join books b on b.id = bp.books_id
+                            join authors a on a.id = b.author_id
+                            where bp.publisher_id = p.id), '[]'::json))::text %s
+                    from publishers p
+                    where p.id = ?
+                    """, DOCUMENT);
+    public static final Sql PUBLISHER_FIND_PAGE = query("publisher.findPage",
+            "select p.id %s, p.name %s, p.city %s from publishers p where p.id > ? order by p.id limit ?",
+            PUBLISHER_ID, PUBLISHER_NAME, PUBLISHER_CITY);
+    public static final Sql PUBLISHER_FIND_VERSION_TAG = query("publisher.findVersionTag", """
+                    select md5(string_agg(concat_ws(':', p.version, b.id, b.version, a.id, a.version), ','
+                                          order by b.id)) %s
+                    from publishers p
+                    left join books_publishers bp on p.id = bp.publisher_id
+                    left join books b on b.id = bp.books_id
+                    left join authors a on a.id = b.author_id
+                    where p.id = ?
+                    group by p.id
+                    """, VERSION_TAG);
+    public static final Sql PUBLISHER_FIND_PAGE_VERSION_TAG = query("publisher.findPageVersionTag", """
+                    select md5(coalesce(string_agg(p.id || ':' || p.version, ',' order by p.id), '')) %s
+                    from (select id, version from publishers where id > ? order by id limit ?) p
+                    """, VERSION_TAG);
+
+    // Summary tables behind the catalog statistics. The "add" statements count a book after it
+    // was written, the "remove" statements uncount it before it is changed or deleted, once
+    // BOOK_LOCK holds its row so a concurrent write cannot uncount the same values again. Author
+    // deletes take AUTHOR_LOCK first, which waits out books being written for that author.
+    public static final Sql STATS_ADD_BOOK_AUTHOR = update("stats.addBookAuthor", """
+            insert into author_book_counts (author_id, book_count)
+            select b.author_id, 1 from books b where b.id = ?
+            on conflict (author_id) do update set book_count = author_book_counts.book_count + excluded.book_count
+            """);
+    public static final Sql STATS_ADD_BOOK_YEAR = update("stats.addBookYear", """
+            insert into year_book_counts (year, book_count)
+            select b.year, 1 from books b where b.id = ?
+            on conflict (year) do update set book_count = year_book_counts.book_count + excluded.book_count
+            """);
+    public static final Sql STATS_ADD_BOOK_PUBLISHERS = update("stats.addBookPublishers", """
+            insert into publisher_book_counts (publisher_id, book_count)
+            select distinct bp.publisher_id, 1 from books_publishers bp where bp.books_id = ?
+            on conflict (publisher_id)
+            do update set book_count = publisher_book_counts.book_count + excluded.book_count
+            """);
+    public static final Sql STATS_REMOVE_BOOK_AUTHOR = update("stats.removeBookAuthor", """
+            update author_book_counts c set book_count = c.book_count - 1
+            from books b where b.author_id = c.author_id and b.id = ?
+            """);
+    public static final Sql STATS_REMOVE_BOOK_YEAR = update("stats.removeBookYear", """
+            update year_book_counts c set book_count = c.book_count - 1
+            from books b where b.year = c.year and b.id = ?
+            """);
+    public static final Sql STATS_REMOVE_BOOK_PUBLISHERS = update("stats.removeBookPublishers", """
+            update publisher_book_counts c set book_count = c.book_count - 1
+            from (select distinct publisher_id from books_publishers where books_id = ?) bp
+            where bp.publisher_id = c.publisher_id
+            """);
+    public static final Sql STATS_REMOVE_AUTHOR_BOOK_YEARS = update("stats.removeAuthorBookYears", """
+            update year_book_counts c set book_count = c.book_count - d.books
+            from (select year, count(*) books from books where author_id = ? group by year) d
+            where d.year = c.year
+            """);
+    public static final Sql STATS_REMOVE_AUTHOR_BOOK_PUBLISHERS = update("stats.removeAuthorBookPublishers", """
+            update publisher_book_counts c set book_count = c.book_count - d.books
+            from (select bp.publisher_id, count(distinct bp.books_id) books
+                  from books_publishers bp
+                  join books b on b.id = bp.books_id
+                  where b.author_id = ?
+                  group by bp.publisher_id) d
+            where d.publisher_id = c.publisher_id
+            """);
+    public static final Sql STATS_AUTHOR_COUNTS = query("stats.authorCounts", """
+                    select c.author_id %s, a.first_name || ' ' || a.last_name %s, c.book_count %s
+                    from author_book_counts c
+                    join authors a on a.id = c.author_id
+                    where c.book_count > 0
+                    order by c.book_count desc, c.author_id
+                    limit ?
+                    """, COUNT_KEY, COUNT_NAME, BOOK_COUNT);
+    public static final Sql STATS_AUTHOR_COUNT = query("stats.authorCount", """
+                    select a.id %s, a.first_name || ' ' || a.last_name %s, coalesce(c.book_count, 0) %s
+                    from authors a
+                    left join author_book_counts c on c.author_id = a.id
+                    where a.id = ?
+                    """, COUNT_KEY, COUNT_NAME, BOOK_COUNT);
+    public static final Sql STATS_PUBLISHER_COUNTS = query("stats.publisherCounts", """
+                    select c.publisher_id %s, p.name %s, c.book_count %s
+                    from publisher_book_counts c
+                    join publishers p on p.id = c.publisher_id
+                    where c.book_count > 0
+                    order by c.book_count desc, c.publisher_id
+                    limit ?
+                    """, COUNT_KEY, COUNT_NAME, BOOK_COUNT);
+    public static final Sql STATS_PUBLISHER_COUNT = query("stats.publisherCount", """
+                    select p.id %s, p.name %s, coalesce(c.book_count, 0) %s
+                    from publishers p
+                    left join publisher_book_counts c on c.publisher_id = p.id
+                    where p.id = ?
+                    """, COUNT_KEY, COUNT_NAME, BOOK_COUNT);
+    public static final Sql STATS_YEAR_COUNTS = query("stats.yearCounts", """
+                    select c.year %s, null %s, c.book_count %s
+                    from year_book_counts c
+                    where c.book_count > 0
+                    order by c.year
+                    """, COUNT_KEY, COUNT_NAME, BOOK_COUNT);
+    public static final Sql STATS_YEAR_COUNT = query("stats.yearCount", """
+                    select c.year %s, null %s, c.book_count %s
+                    from year_book_counts c
+                    where c.year = ?
+                    """, COUNT_KEY, COUNT_NAME, BOOK_COUNT);
+
+    // Catalog import works on temporary staging tables that only exist inside the importing
+    // transaction, so these statements are not registered for startup validation. Books already
+    // in the catalog with the same name, author and year are skipped, so a feed can be re-imported.
+    // The change notification triggers stay quiet while app.bulk_import is on; the import
+    // announces itself with a single 'flush' instead of one notification per row.
+    public static final Sql IMPORT_SUPPRESS_NOTIFICATIONS = staging("import.suppressNotifications",
+            "select set_config('app.bulk_import', 'on', true)");
+    public static final Sql IMPORT_NOTIFY_FLUSH = staging("import.notifyFlush",
+            "select pg_notify('catalog_changes', 'flush')");
+    public static final Sql IMPORT_CREATE_BOOKS = staging("import.createBooks", """
+            create temp table import_books
+            (
+                book_id           bigint default nextval(pg_get_serial_sequence('books', 'id')),
+                name              text,
+                year              integer,
+                author_first_name text,
+                author_last_name  text,
+                publishers        jsonb
+            ) on commit drop
+            """);
+    public static final Sql IMPORT_COPY_CSV = staging("import.copyCsv", """
+            copy import_books (name, year, author_first_name, author_last_name, publishers)
+            from stdin with (format csv, header true)
+            """);
+    public static final Sql IMPORT_CREATE_DOCUMENTS = staging("import.createDocuments",
+            "create temp table import_documents (doc jsonb) on commit drop");
+    public static final Sql IMPORT_COPY_NDJSON = staging("import.copyNdjson",
+            "copy import_documents (doc) from stdin with (format csv, quote e'\\x01', delimiter e'\\x02')");
+    public static final Sql IMPORT_UNPACK_DOCUMENTS = staging("import.unpackDocuments", """
+            insert into import_books (name, year, author_first_name, author_last_name, publishers)
+            select doc ->> 'name', (doc ->> 'year')::integer, doc -> 'author' ->> 'firstName',
+            doc -> 'author' ->> 'lastName', doc -> 'publishers'
+            from import_documents
+            where doc is not null
+            """);
+    public static final Sql IMPORT_ANALYZE_BOOKS = staging("import.analyzeBooks",
+            "analyze import_books");
+    public static final Sql IMPORT_CREATE_BOOK_PUBLISHERS = staging("import.createBookPublishers", """
+            create temp table import_book_publishers on commit drop as
+            select s.book_id, p ->> 'name' as name, p ->> 'city' as city
+            from import_books s
+            cross join jsonb_array_elements(coalesce(s.publishers, '[]'::jsonb)) p
+            """);
+    public static final Sql IMPORT_INSERT_AUTHORS = staging("import.insertAuthors", """
+            insert into authors (first_name, last_name)
+            select distinct s.author_first_name, s.author_last_name
+            from import_books s
+            where not exists (select 1 from authors a
+                              where a.first_name = s.author_first_name and a.last_name = s.author_last_name)
+            """);
+    public static final Sql IMPORT_INSERT_PUBLISHERS = staging("import.insertPublishers", """
+            insert into publishers (name, city)
+            select distinct ip.name, ip.city
+            from import_book_publishers ip
+            where not exists (select 1 from publishers p where p.name = ip.name and p.city = ip.city)
+            """);
+    public static final Sql IMPORT_INSERT_BOOKS = staging("import.insertBooks", """
+            insert into books (id, name, author_id, year, search_vector)
+            select s.book_id, s.name, a.id, s.year, %s
+            from import_books s
+            join (select first_name, last_name, min(id) id from authors group by first_name, last_name) a
+            on a.first_name = s.author_first_name and a.last_name = s.author_last_name
+            where not exists (select 1 from books b
+                              where b.author_id = a.id and b.name = s.name and b.year = s.year)
+            """.formatted(searchVector("s.name", "a.first_name", "a.last_name")));
+    public static final Sql IMPORT_INSERT_BOOK_PUBLISHERS = staging("import.insertBookPublishers", """
+            insert into books_publishers (books_id, publisher_id)
+            select distinct ip.book_id, p.id
+            from import_book_publishers ip
+            join books b on b.id = ip.book_id
+            join (select name, city, min(id) id from publishers group by name, city) p
+            on p.name = ip.name and p.city = ip.city
+            """);
+    public static final Sql IMPORT_COUNT_AUTHORS = staging("import.countAuthors", """
+            insert into author_book_counts (author_id, book_count)
+            select b.author_id, count(*) from books b join import_books s on s.book_id = b.id group by b.author_id
+            on conflict (author_id) do update set book_count = author_book_counts.book_count + excluded.book_count
+            """);
+    public static final Sql IMPORT_COUNT_YEARS = staging("import.countYears", """
+            insert into year_book_counts (year, book_count)
+            select b.year, count(*) from books b join import_books s on s.book_id = b.id group by b.year
+            on conflict (year) do update set book_count = year_book_counts.book_count + excluded.book_count
+            """);
+    public static final Sql IMPORT_COUNT_PUBLISHERS = staging("import.countPublishers", """
+            insert into publisher_book_counts (publisher_id, book_count)
+            select bp.publisher_id, count(distinct bp.books_id)
+            from books_publishers bp join import_books s on s.book_id = bp.books_id
+            group by bp.publisher_id
+            on conflict (publisher_id)
+            do update set book_count = publisher_book_counts.book_count + excluded.book_count
+            """);
+
+    private SqlRegistry() {
+    }
+
+    public static List<Sql> all() {
+        return Collections.unmodifiableList(STATEMENTS);
+    }
+
+    public static void validate(ConnectionManager connectionManager) throws SQLException {
+        try (Connection connection = connectionManager.getConnection()) {
+            for (Sql sql : STATEMENTS) {
+                validate(connection, sql);
+            }
+        }
+    }
+
+    private static void validate(Connection connection, Sql sql) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql.getText())) {
+            ps.getParameterMetaData();
+            if (!sql.isQuery()) {
+                return;
+            }
+            ResultSetMetaData metaData = ps.getMetaData();
+            Set<String> labels = new HashSet<>();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                labels.add(metaData.getColumnLabel(i).toUpperCase(Locale.ROOT));
+            }
+            for (ColumnLabels column : sql.getColumns()) {
+                if (!labels.contains(column.name())) {
+                    throw new SQLException("column " + column + " is missing from the result");
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Invalid statement " + sql.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String searchVector(String name, String firstName, String lastName) {
+        return String.format(BOOK_SEARCH_VECTOR, name, firstName, lastName);
+    }
+
+    private static Sql update(String name, String text) {
+        return register(new Sql(name, text, List.of()));
+    }
+
+    private static Sql query(String name, String template, ColumnLabels... columns) {
+        return register(new Sql(name, String.format(template, (Object[]) columns), List.of(columns)));
+    }
+
+    private static FilteredQuery filteredQuery(String name, String template, List<String> predicates,
+                                               ColumnLabels... columns) {
+        FilteredQuery query = new FilteredQuery(name, String.format(template, (Object[]) columns), predicates,
+                List.of(columns));
+        register(query.forPredicates(query.allPredicates()));
+        return query;
+    }
+
+    private static Sql staging(String name, String text) {
+        return new Sql(name, text, List.of());
+    }
+
+    private static Sql register(Sql sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+}
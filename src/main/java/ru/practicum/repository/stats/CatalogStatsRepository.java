@@ -0,0 +1,24 @@
+package ru.practicum.repository.stats;
+
+import ru.practicum.model.BookCount;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Book counts read from summary tables that the book and author repositories keep current, so
+ * every read is an index lookup rather than a group-by over the catalog.
+ */
+public interface CatalogStatsRepository {
+    List<BookCount> findTopAuthors(int limit);
+
+    Optional<BookCount> findAuthorCount(long authorId);
+
+    List<BookCount> findTopPublishers(int limit);
+
+    Optional<BookCount> findPublisherCount(long publisherId);
+
+    List<BookCount> findYearCounts();
+
+    BookCount findYearCount(int year);
+}
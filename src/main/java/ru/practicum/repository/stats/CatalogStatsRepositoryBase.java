@@ -0,0 +1,75 @@
+package ru.practicum.repository.stats;
+
+import ru.practicum.db.ConnectionManager;
+import ru.practicum.model.BookCount;
+import ru.practicum.repository.BaseCrudRepository;
+import ru.practicum.repository.PreparedStatementSetter;
+import ru.practicum.repository.mapping.RowMapper;
+import ru.practicum.repository.sql.Sql;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import static ru.practicum.repository.sql.SqlRegistry.STATS_AUTHOR_COUNT;
+import static ru.practicum.repository.sql.SqlRegistry.STATS_AUTHOR_COUNTS;
+import static ru.practicum.repository.sql.SqlRegistry.STATS_PUBLISHER_COUNT;
+import static ru.practicum.repository.sql.SqlRegistry.STATS_PUBLISHER_COUNTS;
+import static ru.practicum.repository.sql.SqlRegistry.STATS_YEAR_COUNT;
+import static ru.practicum.repository.sql.SqlRegistry.STATS_YEAR_COUNTS;
+
+public class CatalogStatsRepositoryBase extends BaseCrudRepository implements CatalogStatsRepository {
+    private final RowMapper<BookCount> rowMapper;
+
+    public CatalogStatsRepositoryBase(ConnectionManager connectionManager, RowMapper<BookCount> rowMapper) {
+        super(connectionManager);
+        this.rowMapper = rowMapper;
+    }
+
+    @Override
+    public List<BookCount> findTopAuthors(int limit) {
+        return list(STATS_AUTHOR_COUNTS, ps -> ps.setInt(1, limit));
+    }
+
+    @Override
+    public Optional<BookCount> findAuthorCount(long authorId) {
+        return single(STATS_AUTHOR_COUNT, byId(authorId));
+    }
+
+    @Override
+    public List<BookCount> findTopPublishers(int limit) {
+        return list(STATS_PUBLISHER_COUNTS, ps -> ps.setInt(1, limit));
+    }
+
+    @Override
+    public Optional<BookCount> findPublisherCount(long publisherId) {
+        return single(STATS_PUBLISHER_COUNT, byId(publisherId));
+    }
+
+    @Override
+    public List<BookCount> findYearCounts() {
+        return list(STATS_YEAR_COUNTS, PreparedStatementSetter.NONE);
+    }
+
+    @Override
+    public BookCount findYearCount(int year) {
+        return single(STATS_YEAR_COUNT, ps -> ps.setInt(1, year))
+                .orElseGet(() -> new BookCount(year, null, 0));
+    }
+
+    private Optional<BookCount> single(Sql query, PreparedStatementSetter params) {
+        try {
+            return query(query, params, rowMapper);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private List<BookCount> list(Sql query, PreparedStatementSetter params) {
+        try {
+            return queryForList(query, params, rowMapper);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -9,6 +9,12 @@ public enum ColumnLabels {
     AUTHOR_LASTNAME,
     PUBLISHER_ID,
     PUBLISHER_NAME,
-    PUBLISHER_CITY
+    PUBLISHER_CITY,
+    DOCUMENT,
+    COUNT_KEY,
+    COUNT_NAME,
+    BOOK_COUNT,
+    VERSION_TAG,
+    ROW_ORDINAL
 }
 
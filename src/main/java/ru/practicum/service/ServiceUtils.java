@@ -1,7 +1,15 @@
 package ru.practicum.service;
 
+import ru.practicum.model.LookupResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 
 public class ServiceUtils {
     private ServiceUtils() {
@@ -12,4 +20,23 @@ public class ServiceUtils {
             consumer.accept(param);
         }
     }
+
+    public static <T> LookupResult<T> inRequestOrder(Collection<Long> requestedIds, List<T> found,
+                                                     ToLongFunction<T> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T entity : found) {
+            byId.put(idOf.applyAsLong(entity), entity);
+        }
+        List<T> ordered = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requestedIds) {
+            T entity = byId.get(id);
+            if (entity != null) {
+                ordered.add(entity);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new LookupResult<>(ordered, missing);
+    }
 }
@@ -0,0 +1,72 @@
+package ru.practicum.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one: the first caller runs the loader, callers
+ * arriving while it runs wait for it and get the same result or exception. Nothing is kept once the
+ * call completes, so results must not be modified by the callers sharing them.
+ */
+public class SingleFlight {
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public <V> V execute(Object key, Supplier<V> loader) {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            collapsed.increment();
+            return (V) await(running);
+        }
+        calls.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Lets the next caller for {@code key} start a fresh call instead of joining the running one,
+     * which may have read data a write has since replaced. Callers already waiting keep its result.
+     */
+    public void forget(Object key) {
+        inFlight.remove(key);
+    }
+
+    public Stats getStats() {
+        return new Stats(calls.sum(), collapsed.sum(), inFlight.size());
+    }
+
+    private static Object await(CompletableFuture<Object> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * {@code calls} reached the loader, {@code collapsed} waited for one of them instead.
+     */
+    public record Stats(long calls, long collapsed, int inFlight) {
+    }
+}
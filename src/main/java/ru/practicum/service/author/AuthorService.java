@@ -1,16 +1,37 @@
 package ru.practicum.service.author;
 
 import ru.practicum.model.Author;
+import ru.practicum.model.LookupResult;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface AuthorService {
     Author getById(long id);
 
     List<Author> getAll();
 
+    String getJsonById(long id);
+
+    LookupResult<Author> getAllByIds(List<Long> ids);
+
+    Page<Author> getAll(PageRequest pageRequest);
+
+    Optional<String> getVersionTag(long id);
+
+    String getPageVersionTag(PageRequest pageRequest);
+
+    List<Author> suggest(String prefix, int limit);
+
+    void streamAll(Consumer<? super Author> action);
+
     Author create(Author author);
 
+    List<Author> createAll(List<Author> authors);
+
     boolean deleteById(long id);
 
     Author update(Author author, long id);
@@ -2,16 +2,34 @@ package ru.practicum.service.author;
 
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.model.Author;
-import ru.practicum.repository.CrudRepository;
+import ru.practicum.model.LookupResult;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
+import ru.practicum.repository.author.AuthorCrudRepository;
+import ru.practicum.repository.cache.InvalidationGraph;
+import ru.practicum.repository.cache.InvalidationGraph.Ref;
 import ru.practicum.service.ServiceUtils;
+import ru.practicum.service.suggest.PrefixIndex;
+import ru.practicum.service.suggest.SuggestionIndexes;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public class AuthorServiceImpl implements AuthorService {
-    private final CrudRepository<Author, Long> authorRepository;
+    private final AuthorCrudRepository authorRepository;
+    private final PrefixIndex<Author> suggestions;
+    private final InvalidationGraph invalidation;
 
-    public AuthorServiceImpl(CrudRepository<Author, Long> authorRepository) {
+    public AuthorServiceImpl(AuthorCrudRepository authorRepository) {
+        this(authorRepository, SuggestionIndexes.authors(), new InvalidationGraph());
+    }
+
+    public AuthorServiceImpl(AuthorCrudRepository authorRepository, PrefixIndex<Author> suggestions,
+                             InvalidationGraph invalidation) {
         this.authorRepository = authorRepository;
+        this.suggestions = suggestions;
+        this.invalidation = invalidation;
     }
 
     @Override
@@ -24,14 +42,63 @@ public class AuthorServiceImpl implements AuthorService {
         return authorRepository.findAll();
     }
 
+    @Override
+    public String getJsonById(long id) {
+        return authorRepository.findJsonById(id).orElseThrow(() -> new NotFoundException("Author " + id + " not found"));
+    }
+
+    @Override
+    public LookupResult<Author> getAllByIds(List<Long> ids) {
+        return ServiceUtils.inRequestOrder(ids, authorRepository.findAllByIds(ids), Author::getId);
+    }
+
+    @Override
+    public Page<Author> getAll(PageRequest pageRequest) {
+        return authorRepository.findAll(pageRequest);
+    }
+
+    @Override
+    public Optional<String> getVersionTag(long id) {
+        return authorRepository.findVersionTag(id);
+    }
+
+    @Override
+    public String getPageVersionTag(PageRequest pageRequest) {
+        return authorRepository.findPageVersionTag(pageRequest);
+    }
+
+    @Override
+    public List<Author> suggest(String prefix, int limit) {
+        return suggestions.suggest(prefix, limit);
+    }
+
+    @Override
+    public void streamAll(Consumer<? super Author> action) {
+        authorRepository.streamAll(action);
+    }
+
     @Override
     public Author create(Author author) {
-        return authorRepository.save(author);
+        Author created = authorRepository.save(author);
+        suggestions.put(created);
+        return created;
+    }
+
+    @Override
+    public List<Author> createAll(List<Author> authors) {
+        List<Author> created = authorRepository.saveAll(authors);
+        suggestions.putAll(created);
+        return created;
     }
 
     @Override
     public boolean deleteById(long id) {
-        return authorRepository.delete(id);
+        boolean deleted = authorRepository.delete(id);
+        if (deleted) {
+            suggestions.remove(id);
+            invalidation.changed(Ref.author(id));
+        }
+        return deleted;
     }
 
     @Override
@@ -40,7 +107,10 @@ public class AuthorServiceImpl implements AuthorService {
         ServiceUtils.updateEntity(author.getFirstName(), authorToUpdate::setFirstName);
         ServiceUtils.updateEntity(author.getLastName(), authorToUpdate::setLastName);
 
-        return authorRepository.save(authorToUpdate, id);
+        Author updated = authorRepository.save(authorToUpdate, id);
+        suggestions.put(updated);
+        invalidation.changed(Ref.author(id));
+        return updated;
     }
 
 }
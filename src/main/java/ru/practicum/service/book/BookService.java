@@ -1,12 +1,40 @@
 package ru.practicum.service.book;
 
 import ru.practicum.model.Book;
+import ru.practicum.model.BookFilter;
+import ru.practicum.model.LookupResult;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
+import ru.practicum.model.SearchRequest;
+import ru.practicum.model.SearchResult;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface BookService {
     List<Book> getAllBooks();
 
+    LookupResult<Book> getBooksByIds(List<Long> ids);
+
+    LookupResult<Book> getBooksByIdsWithPublishers(List<Long> ids);
+
+    Page<Book> getAllBooks(BookFilter filter, PageRequest pageRequest);
+
+    Page<Book> getAllBooksWithPublishers(BookFilter filter, PageRequest pageRequest);
+
+    Optional<String> getVersionTag(long id);
+
+    /**
+     * Version tag of the page {@link #getAllBooks(BookFilter, PageRequest)} returns; it does not
+     * cover the publishers the expanded listing adds.
+     */
+    String getPageVersionTag(BookFilter filter, PageRequest pageRequest);
+
+    SearchResult<Book> search(SearchRequest searchRequest);
+
+    void streamAllBooks(Consumer<? super Book> action);
+
     Book getById(long id);
 
     Book create(Book book);
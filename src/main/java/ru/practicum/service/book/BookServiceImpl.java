@@ -2,16 +2,45 @@ package ru.practicum.service.book;
 
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.model.Book;
-import ru.practicum.repository.CrudRepository;
+import ru.practicum.model.BookFilter;
+import ru.practicum.model.LookupResult;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
+import ru.practicum.model.Publisher;
+import ru.practicum.model.SearchRequest;
+import ru.practicum.model.SearchResult;
+import ru.practicum.repository.book.BookCrudRepository;
+import ru.practicum.repository.cache.InvalidationGraph;
+import ru.practicum.repository.cache.InvalidationGraph.Ref;
+import ru.practicum.repository.cache.MissingIdCache;
 import ru.practicum.service.ServiceUtils;
+import ru.practicum.service.SingleFlight;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public class BookServiceImpl implements BookService {
-    private final CrudRepository<Book, Long> repository;
+    private static final String FIND_BY_ID = "findById";
+    private static final String FIND_VERSION_TAG = "findVersionTag";
 
-    public BookServiceImpl(CrudRepository<Book, Long> repository) {
+    private final BookCrudRepository repository;
+    private final InvalidationGraph invalidation;
+    private final MissingIdCache missingIds;
+    private final SingleFlight coalescing;
+
+    public BookServiceImpl(BookCrudRepository repository) {
+        this(repository, new InvalidationGraph(), MissingIdCache.DISABLED, new SingleFlight());
+    }
+
+    public BookServiceImpl(BookCrudRepository repository, InvalidationGraph invalidation, MissingIdCache missingIds,
+                           SingleFlight coalescing) {
         this.repository = repository;
+        this.invalidation = invalidation;
+        this.missingIds = missingIds;
+        this.coalescing = coalescing;
     }
 
     @Override
@@ -19,14 +48,90 @@ public class BookServiceImpl implements BookService {
         return repository.findAll();
     }
 
+    @Override
+    public LookupResult<Book> getBooksByIds(List<Long> ids) {
+        return ServiceUtils.inRequestOrder(ids, repository.findAllByIds(ids), Book::getId);
+    }
+
+    @Override
+    public Page<Book> getAllBooks(BookFilter filter, PageRequest pageRequest) {
+        return repository.findAll(filter, pageRequest);
+    }
+
+    @Override
+    public LookupResult<Book> getBooksByIdsWithPublishers(List<Long> ids) {
+        LookupResult<Book> result = getBooksByIds(ids);
+        attachPublishers(result.getFound());
+        return result;
+    }
+
+    @Override
+    public Page<Book> getAllBooksWithPublishers(BookFilter filter, PageRequest pageRequest) {
+        Page<Book> page = repository.findAll(filter, pageRequest);
+        attachPublishers(page.getItems());
+        return page;
+    }
+
+    @Override
+    public Optional<String> getVersionTag(long id) {
+        if (missingIds.isMissing(id)) {
+            return Optional.empty();
+        }
+        return coalescing.execute(new Call(FIND_VERSION_TAG, id), () -> {
+            long since = missingIds.generation();
+            Optional<String> versionTag = repository.findVersionTag(id);
+            if (versionTag.isEmpty()) {
+                missingIds.markMissing(id, since);
+            }
+            return versionTag;
+        });
+    }
+
+    @Override
+    public String getPageVersionTag(BookFilter filter, PageRequest pageRequest) {
+        return repository.findPageVersionTag(filter, pageRequest);
+    }
+
+    @Override
+    public SearchResult<Book> search(SearchRequest searchRequest) {
+        return repository.search(searchRequest);
+    }
+
+    @Override
+    public void streamAllBooks(Consumer<? super Book> action) {
+        repository.streamAll(action);
+    }
+
     @Override
     public Book getById(long id) {
-        return repository.findById(id).orElseThrow(() -> new NotFoundException("Book " + id + " not found"));
+        if (missingIds.isMissing(id)) {
+            throw new NotFoundException("Book " + id + " not found", false);
+        }
+        // callers only read the book, so concurrent ones can share it
+        return coalescing.execute(new Call(FIND_BY_ID, id), () -> {
+            long since = missingIds.generation();
+            Optional<Book> book = repository.findById(id);
+            if (book.isEmpty()) {
+                missingIds.markMissing(id, since);
+                throw new NotFoundException("Book " + id + " not found");
+            }
+            return book.get();
+        });
     }
 
     @Override
     public Book create(Book book) {
-        return repository.save(book);
+        Book created = repository.save(book);
+        missingIds.created(created.getId());
+        forgetInFlight(created.getId());
+        // the author and the publishers now list one more book
+        if (created.getAuthor() != null) {
+            invalidation.evict(Ref.author(created.getAuthor().getId()));
+        }
+        for (Publisher publisher : created.getPublishers()) {
+            invalidation.evict(Ref.publisher(publisher.getId()));
+        }
+        return created;
     }
 
     @Override
@@ -35,11 +140,43 @@ public class BookServiceImpl implements BookService {
         ServiceUtils.updateEntity(book.getName(), bookToUpdate::setName);
         ServiceUtils.updateEntity(book.getYear(), bookToUpdate::setYear);
         ServiceUtils.updateEntity(book.getAuthor(), bookToUpdate::setAuthor);
-        return repository.save(bookToUpdate, id);
+        Book updated = repository.save(bookToUpdate, id);
+        forgetInFlight(id);
+        // the previous author embeds the book and goes with it; a new author gains a book
+        invalidation.changed(Ref.book(id));
+        if (updated.getAuthor() != null) {
+            invalidation.evict(Ref.author(updated.getAuthor().getId()));
+        }
+        return updated;
     }
 
     @Override
     public boolean deleteById(long id) {
-        return repository.delete(id);
+        boolean deleted = repository.delete(id);
+        if (deleted) {
+            forgetInFlight(id);
+            invalidation.changed(Ref.book(id));
+        }
+        return deleted;
+    }
+
+    /**
+     * Lookups started before the write may return what it replaced; a caller that reads its own
+     * write must not join them.
+     */
+    private void forgetInFlight(long id) {
+        coalescing.forget(new Call(FIND_BY_ID, id));
+        coalescing.forget(new Call(FIND_VERSION_TAG, id));
+    }
+
+    private void attachPublishers(List<Book> books) {
+        List<Long> bookIds = books.stream().map(Book::getId).toList();
+        Map<Long, List<Publisher>> publishers = repository.findPublishersByBookIds(bookIds);
+        for (Book book : books) {
+            book.setPublishers(publishers.getOrDefault(book.getId(), new ArrayList<>()));
+        }
+    }
+
+    private record Call(String operation, long id) {
     }
 }
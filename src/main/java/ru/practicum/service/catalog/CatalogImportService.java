@@ -0,0 +1,10 @@
+package ru.practicum.service.catalog;
+
+import ru.practicum.model.ImportFormat;
+import ru.practicum.model.ImportSummary;
+
+import java.io.Reader;
+
+public interface CatalogImportService {
+    ImportSummary importBooks(Reader source, ImportFormat format);
+}
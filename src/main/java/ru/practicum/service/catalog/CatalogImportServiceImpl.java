@@ -0,0 +1,45 @@
+package ru.practicum.service.catalog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.practicum.model.ImportFormat;
+import ru.practicum.model.ImportSummary;
+import ru.practicum.repository.catalog.CatalogImportRepository;
+
+import java.io.Reader;
+import java.util.Objects;
+
+public class CatalogImportServiceImpl implements CatalogImportService {
+    private static final Logger log = LoggerFactory.getLogger(CatalogImportServiceImpl.class);
+
+    private final CatalogImportRepository repository;
+    private final Runnable afterImport;
+
+    public CatalogImportServiceImpl(CatalogImportRepository repository) {
+        this(repository, () -> {
+        });
+    }
+
+    /**
+     * @param afterImport runs once anything was imported, to refresh what is derived from the
+     *                    catalog outside the database
+     */
+    public CatalogImportServiceImpl(CatalogImportRepository repository, Runnable afterImport) {
+        this.repository = repository;
+        this.afterImport = afterImport;
+    }
+
+    @Override
+    public ImportSummary importBooks(Reader source, ImportFormat format) {
+        Objects.requireNonNull(format, "Import format is required");
+        long started = System.nanoTime();
+        ImportSummary summary = repository.importBooks(source, format);
+        log.info("Imported {} {} rows in {} ms: {} books, {} new authors, {} new publishers",
+                summary.getRows(), format, (System.nanoTime() - started) / 1_000_000,
+                summary.getBooksCreated(), summary.getAuthorsCreated(), summary.getPublishersCreated());
+        if (summary.getBooksCreated() > 0 || summary.getAuthorsCreated() > 0 || summary.getPublishersCreated() > 0) {
+            afterImport.run();
+        }
+        return summary;
+    }
+}
@@ -1,17 +1,38 @@
 package ru.practicum.service.publisher;
 
+import ru.practicum.model.LookupResult;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
 import ru.practicum.model.Publisher;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface PublisherService {
     List<Publisher> getAllPublishers();
 
+    String getJsonById(long id);
+
+    LookupResult<Publisher> getPublishersByIds(List<Long> ids);
+
+    Page<Publisher> getAllPublishers(PageRequest pageRequest);
+
+    Optional<String> getVersionTag(long id);
+
+    String getPageVersionTag(PageRequest pageRequest);
+
+    List<Publisher> suggest(String prefix, int limit);
+
+    void streamAllPublishers(Consumer<? super Publisher> action);
+
     Publisher getById(long id);
 
     Publisher createPublisher(Publisher publisher);
 
     Publisher update(Publisher publisher, long id);
 
+    List<Publisher> createAll(List<Publisher> publishers);
+
     boolean deleteById(long id);
 }
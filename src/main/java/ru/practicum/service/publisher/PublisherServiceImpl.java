@@ -1,17 +1,35 @@
 package ru.practicum.service.publisher;
 
 import ru.practicum.exception.NotFoundException;
+import ru.practicum.model.LookupResult;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
 import ru.practicum.model.Publisher;
-import ru.practicum.repository.CrudRepository;
+import ru.practicum.repository.cache.InvalidationGraph;
+import ru.practicum.repository.cache.InvalidationGraph.Ref;
+import ru.practicum.repository.publisher.PublisherCrudRepository;
 import ru.practicum.service.ServiceUtils;
+import ru.practicum.service.suggest.PrefixIndex;
+import ru.practicum.service.suggest.SuggestionIndexes;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public class PublisherServiceImpl implements PublisherService {
-    private final CrudRepository<Publisher, Long> repository;
+    private final PublisherCrudRepository repository;
+    private final PrefixIndex<Publisher> suggestions;
+    private final InvalidationGraph invalidation;
 
-    public PublisherServiceImpl(CrudRepository<Publisher, Long> repository) {
+    public PublisherServiceImpl(PublisherCrudRepository repository) {
+        this(repository, SuggestionIndexes.publishers(), new InvalidationGraph());
+    }
+
+    public PublisherServiceImpl(PublisherCrudRepository repository, PrefixIndex<Publisher> suggestions,
+                                InvalidationGraph invalidation) {
         this.repository = repository;
+        this.suggestions = suggestions;
+        this.invalidation = invalidation;
     }
 
     @Override
@@ -19,6 +37,41 @@ public class PublisherServiceImpl implements PublisherService {
         return repository.findAll();
     }
 
+    @Override
+    public String getJsonById(long id) {
+        return repository.findJsonById(id).orElseThrow(() -> new NotFoundException("Publisher with id " + id + " not found"));
+    }
+
+    @Override
+    public LookupResult<Publisher> getPublishersByIds(List<Long> ids) {
+        return ServiceUtils.inRequestOrder(ids, repository.findAllByIds(ids), Publisher::getId);
+    }
+
+    @Override
+    public Page<Publisher> getAllPublishers(PageRequest pageRequest) {
+        return repository.findAll(pageRequest);
+    }
+
+    @Override
+    public Optional<String> getVersionTag(long id) {
+        return repository.findVersionTag(id);
+    }
+
+    @Override
+    public String getPageVersionTag(PageRequest pageRequest) {
+        return repository.findPageVersionTag(pageRequest);
+    }
+
+    @Override
+    public List<Publisher> suggest(String prefix, int limit) {
+        return suggestions.suggest(prefix, limit);
+    }
+
+    @Override
+    public void streamAllPublishers(Consumer<? super Publisher> action) {
+        repository.streamAll(action);
+    }
+
     @Override
     public Publisher getById(long id) {
         return repository.findById(id).orElseThrow(() -> new NotFoundException("Publisher with id " + id + " not found"));
@@ -26,7 +79,9 @@ public class PublisherServiceImpl implements PublisherService {
 
     @Override
     public Publisher createPublisher(Publisher publisher) {
-        return repository.save(publisher);
+        Publisher created = repository.save(publisher);
+        suggestions.put(created);
+        return created;
     }
 
     @Override
@@ -35,11 +90,26 @@ public class PublisherServiceImpl implements PublisherService {
                 orElseThrow(() -> new NotFoundException("Publisher with id " + id + " not found"));
         ServiceUtils.updateEntity(publisher.getCity(), publisherToUpdate::setCity);
         ServiceUtils.updateEntity(publisher.getName(), publisherToUpdate::setName);
-        return repository.save(publisherToUpdate, id);
+        Publisher updated = repository.save(publisherToUpdate, id);
+        suggestions.put(updated);
+        invalidation.changed(Ref.publisher(id));
+        return updated;
+    }
+
+    @Override
+    public List<Publisher> createAll(List<Publisher> publishers) {
+        List<Publisher> created = repository.saveAll(publishers);
+        suggestions.putAll(created);
+        return created;
     }
 
     @Override
     public boolean deleteById(long id) {
-        return repository.delete(id);
+        boolean deleted = repository.delete(id);
+        if (deleted) {
+            suggestions.remove(id);
+            invalidation.changed(Ref.publisher(id));
+        }
+        return deleted;
     }
 }
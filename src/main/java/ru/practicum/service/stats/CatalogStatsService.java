@@ -0,0 +1,19 @@
+package ru.practicum.service.stats;
+
+import ru.practicum.model.BookCount;
+
+import java.util.List;
+
+public interface CatalogStatsService {
+    List<BookCount> getTopAuthors(int limit);
+
+    BookCount getAuthorCount(long authorId);
+
+    List<BookCount> getTopPublishers(int limit);
+
+    BookCount getPublisherCount(long publisherId);
+
+    List<BookCount> getYearCounts();
+
+    BookCount getYearCount(int year);
+}
@@ -0,0 +1,47 @@
+package ru.practicum.service.stats;
+
+import ru.practicum.exception.NotFoundException;
+import ru.practicum.model.BookCount;
+import ru.practicum.repository.stats.CatalogStatsRepository;
+
+import java.util.List;
+
+public class CatalogStatsServiceImpl implements CatalogStatsService {
+    private final CatalogStatsRepository repository;
+
+    public CatalogStatsServiceImpl(CatalogStatsRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public List<BookCount> getTopAuthors(int limit) {
+        return repository.findTopAuthors(limit);
+    }
+
+    @Override
+    public BookCount getAuthorCount(long authorId) {
+        return repository.findAuthorCount(authorId)
+                .orElseThrow(() -> new NotFoundException("Author " + authorId + " not found"));
+    }
+
+    @Override
+    public List<BookCount> getTopPublishers(int limit) {
+        return repository.findTopPublishers(limit);
+    }
+
+    @Override
+    public BookCount getPublisherCount(long publisherId) {
+        return repository.findPublisherCount(publisherId)
+                .orElseThrow(() -> new NotFoundException("Publisher with id " + publisherId + " not found"));
+    }
+
+    @Override
+    public List<BookCount> getYearCounts() {
+        return repository.findYearCounts();
+    }
+
+    @Override
+    public BookCount getYearCount(int year) {
+        return repository.findYearCount(year);
+    }
+}
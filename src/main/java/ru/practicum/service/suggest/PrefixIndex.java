@@ -0,0 +1,143 @@
+package ru.practicum.service.suggest;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.function.ToLongFunction;
+
+/**
+ * In-memory prefix index over normalized names: a sorted array searched with binary search.
+ * Lookups read an immutable snapshot without locking; writers copy the array, which is cheap
+ * next to the read rate of a type-ahead box.
+ */
+public class PrefixIndex<T> {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Comparator<Entry<?>> ORDER = Comparator.<Entry<?>, String>comparing(Entry::key)
+            .thenComparingLong(Entry::id);
+
+    private final Function<T, List<String>> keysOf;
+    private final ToLongFunction<T> idOf;
+    private volatile List<Entry<T>> entries = List.of();
+
+    public PrefixIndex(Function<T, List<String>> keysOf, ToLongFunction<T> idOf) {
+        this.keysOf = keysOf;
+        this.idOf = idOf;
+    }
+
+    public synchronized void replaceAll(Collection<? extends T> items) {
+        List<Entry<T>> rebuilt = new ArrayList<>();
+        for (T item : items) {
+            rebuilt.addAll(entriesOf(item));
+        }
+        rebuilt.sort(ORDER);
+        entries = List.copyOf(rebuilt);
+    }
+
+    public void put(T item) {
+        putAll(List.of(item));
+    }
+
+    public synchronized void putAll(Collection<? extends T> items) {
+        Set<Long> ids = new HashSet<>();
+        List<Entry<T>> added = new ArrayList<>();
+        for (T item : items) {
+            ids.add(idOf.applyAsLong(item));
+            added.addAll(entriesOf(item));
+        }
+        added.sort(ORDER);
+        entries = List.copyOf(merge(withoutIds(ids), added));
+    }
+
+    public synchronized void remove(long id) {
+        entries = List.copyOf(withoutIds(Set.of(id)));
+    }
+
+    /**
+     * Up to {@code limit} distinct items with a key starting with {@code prefix}, in key order.
+     */
+    public List<T> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        List<Entry<T>> snapshot = entries;
+        List<T> result = new ArrayList<>(Math.min(limit, 16));
+        Set<Long> seen = new HashSet<>();
+        for (int i = lowerBound(snapshot, normalized); i < snapshot.size() && result.size() < limit; i++) {
+            Entry<T> entry = snapshot.get(i);
+            if (!entry.key().startsWith(normalized)) {
+                break;
+            }
+            if (seen.add(entry.id())) {
+                result.add(entry.item());
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    static String normalize(String value) {
+        String normalized = Normalizer.normalize(value, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replace('ё', 'е')
+                .trim();
+        return WHITESPACE.matcher(normalized).replaceAll(" ");
+    }
+
+    private List<Entry<T>> entriesOf(T item) {
+        long id = idOf.applyAsLong(item);
+        List<Entry<T>> result = new ArrayList<>();
+        for (String key : keysOf.apply(item)) {
+            if (key != null && !key.isBlank()) {
+                result.add(new Entry<>(normalize(key), id, item));
+            }
+        }
+        return result;
+    }
+
+    private List<Entry<T>> withoutIds(Set<Long> ids) {
+        List<Entry<T>> result = new ArrayList<>(entries.size() + 2);
+        for (Entry<T> entry : entries) {
+            if (!ids.contains(entry.id())) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    private static <T> List<Entry<T>> merge(List<Entry<T>> left, List<Entry<T>> right) {
+        List<Entry<T>> merged = new ArrayList<>(left.size() + right.size());
+        int i = 0;
+        int j = 0;
+        while (i < left.size() && j < right.size()) {
+            merged.add(ORDER.compare(left.get(i), right.get(j)) <= 0 ? left.get(i++) : right.get(j++));
+        }
+        merged.addAll(left.subList(i, left.size()));
+        merged.addAll(right.subList(j, right.size()));
+        return merged;
+    }
+
+    private static int lowerBound(List<? extends Entry<?>> sorted, String key) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted.get(mid).key().compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Entry<T>(String key, long id, T item) {
+    }
+}
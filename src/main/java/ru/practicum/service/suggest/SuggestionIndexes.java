@@ -0,0 +1,28 @@
+package ru.practicum.service.suggest;
+
+import ru.practicum.model.Author;
+import ru.practicum.model.Publisher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SuggestionIndexes {
+    private SuggestionIndexes() {
+    }
+
+    /**
+     * Authors are found by the start of either "first last" or "last first".
+     */
+    public static PrefixIndex<Author> authors() {
+        return new PrefixIndex<>(author -> {
+            List<String> keys = new ArrayList<>(2);
+            keys.add(author.getFirstName() + " " + author.getLastName());
+            keys.add(author.getLastName() + " " + author.getFirstName());
+            return keys;
+        }, Author::getId);
+    }
+
+    public static PrefixIndex<Publisher> publishers() {
+        return new PrefixIndex<>(publisher -> List.of(publisher.getName()), Publisher::getId);
+    }
+}
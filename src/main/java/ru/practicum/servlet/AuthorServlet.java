@@ -7,42 +7,58 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import ru.practicum.factory.Factory;
 import ru.practicum.model.Author;
+import ru.practicum.model.LookupResult;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
 import ru.practicum.service.author.AuthorService;
 import ru.practicum.servlet.dto.author.AuthorRequestDto;
-import ru.practicum.servlet.dto.author.AuthorResponseDto;
 import ru.practicum.servlet.dto.author.AuthorResponseDtoShort;
 import ru.practicum.servlet.dto.mapping.AuthorMapper;
 import ru.practicum.servlet.dto.mapping.AuthorMapperImpl;
 import ru.practicum.servlet.utils.ErrorMessage;
+import ru.practicum.servlet.utils.JsonAssembly;
 import ru.practicum.servlet.utils.JsonMapper;
+import ru.practicum.servlet.utils.Pagination;
+import ru.practicum.servlet.utils.ResponseCache;
 import ru.practicum.servlet.utils.Utils;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @WebServlet("/authors/*")
 public class AuthorServlet extends HttpServlet {
     private transient AuthorService authorService;
     private transient AuthorMapper mapper;
+    private transient JsonAssembly jsonAssembly = JsonAssembly.APPLICATION;
+    private transient ResponseCache responseCache = ResponseCache.DISABLED;
 
     @Override
     public void init() throws ServletException {
         authorService = Factory.getAuthorService();
         mapper = new AuthorMapperImpl();
+        responseCache = Factory.getAuthorResponseCache();
+        jsonAssembly = JsonAssembly.forEndpoint("authors");
     }
 
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
         String pathVar = req.getPathInfo();
         if (pathVar == null || pathVar.isEmpty()) {
-            getAllAuthor(resp);
+            getAllAuthor(req, resp);
+        } else if (Utils.SUGGEST_PATH.equals(pathVar)) {
+            suggestAuthors(req, resp);
         } else {
-            getAuthorById(resp, Utils.parsePathVariableToId(pathVar));
+            getAuthorById(req, resp, Utils.parsePathVariableToId(pathVar));
         }
     }
 
     @Override
     protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        if (Utils.BATCH_PATH.equals(req.getPathInfo())) {
+            createAuthors(req, resp);
+            return;
+        }
         try {
             AuthorRequestDto dto = JsonMapper.parseRequestBody(req, AuthorRequestDto.class);
             Author author = authorService.create(mapper.fromAuthorRequestDto(dto));
@@ -92,24 +108,96 @@ public class AuthorServlet extends HttpServlet {
         }
     }
 
-    private void getAuthorById(HttpServletResponse resp, long id) throws IOException {
+    private void createAuthors(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         try {
-            Author author = authorService.getById(id);
-            AuthorResponseDto dto = mapper.authorToResponseDto(author);
+            List<AuthorRequestDto> dtoList = JsonMapper.parseRequestBodyList(req, AuthorRequestDto.class);
+            List<Author> authors = authorService.createAll(mapper.fromAuthorRequestDtoList(dtoList));
+            resp.setStatus(HttpServletResponse.SC_CREATED);
             Utils.settingResponse(resp);
-            resp.getWriter().print(JsonMapper.parseToJson(dto));
+            resp.getWriter().println(JsonMapper.parseToJson(mapper.authorListToResponseDtoShortList(authors)));
         } catch (RuntimeException e) {
-            Utils.setErrorResponse(resp, HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_FORBIDDEN, e.getMessage());
+        } catch (IOException e) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, ErrorMessage.EMPTY_BODY.msg());
         }
     }
 
+    private void getAuthorById(HttpServletRequest req, HttpServletResponse resp, long id) throws IOException {
+        long since = responseCache.generation();
+        String versionTag = authorService.getVersionTag(id).orElse(null);
+        if (Utils.notModified(req, resp, versionTag)) {
+            return;
+        }
+        byte[] json = responseCache.get(id, versionTag);
+        if (json == null) {
+            try {
+                json = jsonAssembly == JsonAssembly.DATABASE
+                        ? authorService.getJsonById(id).getBytes(StandardCharsets.UTF_8)
+                        : JsonMapper.parseToJsonBytes(mapper.authorToResponseDto(authorService.getById(id)));
+            } catch (RuntimeException e) {
+                Utils.setErrorResponse(resp, HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+                return;
+            }
+            responseCache.put(id, versionTag, json, since);
+        }
+        Utils.writeJson(resp, json);
+    }
 
-    private void getAllAuthor(HttpServletResponse resp) throws IOException {
-        List<Author> authorList = authorService.getAll();
-        List<AuthorResponseDtoShort> dtoList = mapper.authorListToResponseDtoShortList(authorList);
+    private void getAllAuthor(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if (Utils.isStreamRequested(req)) {
+            Utils.<AuthorResponseDtoShort>streamJsonArray(resp, sink -> authorService.streamAll(
+                    entity -> sink.accept(mapper.authorToResponseDtoShort(entity))));
+            return;
+        }
+        String ids = req.getParameter(Utils.IDS_PARAM);
+        if (ids != null) {
+            getAuthorsByIds(resp, ids);
+            return;
+        }
+        PageRequest pageRequest;
+        try {
+            pageRequest = Pagination.parsePageRequest(req);
+        } catch (IllegalArgumentException e) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        if (Utils.notModified(req, resp, authorService.getPageVersionTag(pageRequest))) {
+            return;
+        }
+        Page<Author> page = authorService.getAll(pageRequest);
+        List<AuthorResponseDtoShort> dtoList = mapper.authorListToResponseDtoShortList(page.getItems());
         Utils.settingResponse(resp);
+        Pagination.setNextLink(req, resp, page);
         resp.getWriter().print(JsonMapper.parseToJson(dtoList));
     }
 
+    private void getAuthorsByIds(HttpServletResponse resp, String idsParam) throws IOException {
+        LookupResult<Author> result;
+        try {
+            result = authorService.getAllByIds(Utils.parseIds(idsParam));
+        } catch (IllegalArgumentException e) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        Utils.settingResponse(resp);
+        Utils.setMissingIds(resp, result);
+        resp.getWriter().print(JsonMapper.parseToJson(mapper.authorListToResponseDtoShortList(result.getFound())));
+    }
 
+    private void suggestAuthors(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        String prefix = req.getParameter(Utils.PREFIX_PARAM);
+        if (prefix == null || prefix.isBlank()) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, ErrorMessage.INVALID_SUGGEST.msg());
+            return;
+        }
+        List<Author> suggestions;
+        try {
+            suggestions = authorService.suggest(prefix, Utils.parseSuggestLimit(req));
+        } catch (IllegalArgumentException e) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        Utils.settingResponse(resp);
+        resp.getWriter().print(JsonMapper.parseToJson(mapper.authorListToResponseDtoShortList(suggestions)));
+    }
 }
@@ -6,6 +6,11 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import ru.practicum.factory.Factory;
 import ru.practicum.model.Book;
+import ru.practicum.model.BookFilter;
+import ru.practicum.model.LookupResult;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
+import ru.practicum.model.SearchResult;
 import ru.practicum.service.book.BookService;
 import ru.practicum.servlet.dto.book.BookDto;
 import ru.practicum.servlet.dto.book.BookResponseDto;
@@ -14,48 +19,157 @@ import ru.practicum.servlet.dto.mapping.BookMapper;
 import ru.practicum.servlet.dto.mapping.BookMapperImpl;
 import ru.practicum.servlet.utils.ErrorMessage;
 import ru.practicum.servlet.utils.JsonMapper;
+import ru.practicum.servlet.utils.Pagination;
+import ru.practicum.servlet.utils.ResponseCache;
 import ru.practicum.servlet.utils.Utils;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Function;
 
 @WebServlet("/books/*")
 public class BookServlet extends HttpServlet {
+    private static final String SEARCH_PATH = "/search";
+    private static final String SEARCH_QUERY_PARAM = "q";
+    private static final String EXPAND_PARAM = "expand";
+    private static final String EXPAND_PUBLISHERS = "publishers";
+    private static final String AUTHOR_ID_PARAM = "authorId";
+    private static final String YEAR_FROM_PARAM = "yearFrom";
+    private static final String YEAR_TO_PARAM = "yearTo";
+    private static final String PUBLISHER_ID_PARAM = "publisherId";
+
     private transient BookService bookService;
     private transient BookMapper bookMapper;
+    private transient ResponseCache responseCache = ResponseCache.DISABLED;
 
     @Override
     public void init() {
         bookService = Factory.getBookService();
         bookMapper = new BookMapperImpl();
+        responseCache = Factory.getBookResponseCache();
     }
 
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         String pathVar = req.getPathInfo();
         if (pathVar == null || pathVar.isEmpty()) {
-            getAllBook(resp);
+            getAllBook(req, resp);
+        } else if (SEARCH_PATH.equals(pathVar)) {
+            searchBooks(req, resp);
         } else {
-            getBookByID(resp, Utils.parsePathVariableToId(pathVar));
+            getBookByID(req, resp, Utils.parsePathVariableToId(pathVar));
         }
     }
 
-    private void getAllBook(HttpServletResponse resp) throws IOException {
-        List<Book> books = bookService.getAllBooks();
+    private void getAllBook(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if (Utils.isStreamRequested(req)) {
+            Utils.<BookResponseDto>streamJsonArray(resp, sink -> bookService.streamAllBooks(
+                    entity -> sink.accept(bookMapper.toBookResponseDto(entity))));
+            return;
+        }
+        String expand = req.getParameter(EXPAND_PARAM);
+        if (expand != null && !EXPAND_PUBLISHERS.equals(expand)) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, ErrorMessage.UNSUPPORTED_EXPAND.msg());
+            return;
+        }
+        String ids = req.getParameter(Utils.IDS_PARAM);
+        if (ids != null) {
+            getBooksByIds(resp, ids, expand != null);
+            return;
+        }
+        BookFilter filter;
+        PageRequest pageRequest;
+        try {
+            filter = parseFilter(req);
+            pageRequest = Pagination.parsePageRequest(req);
+        } catch (IllegalArgumentException e) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        // the page tag covers books and authors only, so expanded pages are always sent in full
+        if (expand == null && Utils.notModified(req, resp, bookService.getPageVersionTag(filter, pageRequest))) {
+            return;
+        }
+        Page<Book> page = expand == null
+                ? bookService.getAllBooks(filter, pageRequest)
+                : bookService.getAllBooksWithPublishers(filter, pageRequest);
         Utils.settingResponse(resp);
-        List<BookResponseDto> dtoList = bookMapper.toBookResponseDtoList(books);
+        Pagination.setNextLink(req, resp, page);
+        List<? extends BookResponseDto> dtoList = expand == null
+                ? bookMapper.toBookResponseDtoList(page.getItems())
+                : bookMapper.toBookWithPublisherDtoList(page.getItems());
         resp.getWriter().print(JsonMapper.parseToJson(dtoList));
     }
 
-    private void getBookByID(HttpServletResponse resp, long id) throws IOException {
+    private void searchBooks(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        String query = req.getParameter(SEARCH_QUERY_PARAM);
+        if (query == null || query.isBlank()) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, ErrorMessage.EMPTY_SEARCH_QUERY.msg());
+            return;
+        }
+        SearchResult<Book> result;
         try {
-            Book book = bookService.getById(id);
-            BookResponseDto dto = bookMapper.toBookWithPublisherDto(book);
-            Utils.settingResponse(resp);
-            resp.getWriter().print(JsonMapper.parseToJson(dto));
-        } catch (RuntimeException e) {
-            Utils.setErrorResponse(resp, HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+            result = bookService.search(Pagination.parseSearchRequest(req, query));
+        } catch (IllegalArgumentException e) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        Utils.settingResponse(resp);
+        Pagination.setNextLink(req, resp, result);
+        resp.getWriter().print(JsonMapper.parseToJson(bookMapper.toBookResponseDtoList(result.getItems())));
+    }
+
+    private static BookFilter parseFilter(HttpServletRequest req) {
+        try {
+            return BookFilter.builder()
+                    .authorId(parseOptional(req.getParameter(AUTHOR_ID_PARAM), Long::valueOf))
+                    .yearFrom(parseOptional(req.getParameter(YEAR_FROM_PARAM), Integer::valueOf))
+                    .yearTo(parseOptional(req.getParameter(YEAR_TO_PARAM), Integer::valueOf))
+                    .publisherId(parseOptional(req.getParameter(PUBLISHER_ID_PARAM), Long::valueOf))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(ErrorMessage.INVALID_FILTER.msg(), e);
+        }
+    }
+
+    private static <T> T parseOptional(String value, Function<String, T> parser) {
+        return value == null || value.isBlank() ? null : parser.apply(value.trim());
+    }
+
+    private void getBooksByIds(HttpServletResponse resp, String idsParam, boolean withPublishers) throws IOException {
+        LookupResult<Book> result;
+        try {
+            List<Long> ids = Utils.parseIds(idsParam);
+            result = withPublishers ? bookService.getBooksByIdsWithPublishers(ids) : bookService.getBooksByIds(ids);
+        } catch (IllegalArgumentException e) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        Utils.settingResponse(resp);
+        Utils.setMissingIds(resp, result);
+        List<? extends BookResponseDto> dtoList = withPublishers
+                ? bookMapper.toBookWithPublisherDtoList(result.getFound())
+                : bookMapper.toBookResponseDtoList(result.getFound());
+        resp.getWriter().print(JsonMapper.parseToJson(dtoList));
+    }
+
+    private void getBookByID(HttpServletRequest req, HttpServletResponse resp, long id) throws IOException {
+        long since = responseCache.generation();
+        String versionTag = bookService.getVersionTag(id).orElse(null);
+        if (Utils.notModified(req, resp, versionTag)) {
+            return;
+        }
+        byte[] json = responseCache.get(id, versionTag);
+        if (json == null) {
+            try {
+                json = JsonMapper.parseToJsonBytes(bookMapper.toBookWithPublisherDto(bookService.getById(id)));
+            } catch (RuntimeException e) {
+                Utils.setErrorResponse(resp, HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+                return;
+            }
+            responseCache.put(id, versionTag, json, since);
         }
+        Utils.writeJson(resp, json);
     }
 
     @Override
@@ -0,0 +1,62 @@
+package ru.practicum.servlet;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import ru.practicum.factory.Factory;
+import ru.practicum.model.ImportFormat;
+import ru.practicum.model.ImportSummary;
+import ru.practicum.service.catalog.CatalogImportService;
+import ru.practicum.servlet.dto.mapping.CatalogMapper;
+import ru.practicum.servlet.dto.mapping.CatalogMapperImpl;
+import ru.practicum.servlet.utils.ErrorMessage;
+import ru.practicum.servlet.utils.JsonMapper;
+import ru.practicum.servlet.utils.Utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Bulk book import. The body is either CSV with the header
+ * {@code name,year,author_first_name,author_last_name,publishers}, where publishers is a JSON array
+ * of {@code {"name": ..., "city": ...}}, or NDJSON with one
+ * {@code {"name", "year", "author": {"firstName", "lastName"}, "publishers": [...]}} object per line.
+ */
+@WebServlet("/import/books")
+public class CatalogImportServlet extends HttpServlet {
+    private transient CatalogImportService importService;
+    private transient CatalogMapper mapper;
+
+    @Override
+    public void init() throws ServletException {
+        importService = Factory.getCatalogImportService();
+        mapper = new CatalogMapperImpl();
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        Optional<ImportFormat> format = ImportFormat.fromContentType(req.getContentType());
+        if (format.isEmpty()) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE,
+                    ErrorMessage.UNSUPPORTED_IMPORT_FORMAT.msg());
+            return;
+        }
+        if (req.getCharacterEncoding() == null) {
+            req.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+        try {
+            ImportSummary summary = importService.importBooks(req.getReader(), format.get());
+            resp.setStatus(HttpServletResponse.SC_CREATED);
+            Utils.settingResponse(resp);
+            resp.getWriter().println(JsonMapper.parseToJson(mapper.toImportResponseDto(summary)));
+        } catch (UncheckedIOException e) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, ErrorMessage.EMPTY_BODY.msg());
+        } catch (RuntimeException e) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        }
+    }
+}
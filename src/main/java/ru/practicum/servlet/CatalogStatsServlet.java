@@ -0,0 +1,83 @@
+package ru.practicum.servlet;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import ru.practicum.exception.NotFoundException;
+import ru.practicum.factory.Factory;
+import ru.practicum.service.stats.CatalogStatsService;
+import ru.practicum.servlet.dto.mapping.StatsMapper;
+import ru.practicum.servlet.dto.mapping.StatsMapperImpl;
+import ru.practicum.servlet.utils.ErrorMessage;
+import ru.practicum.servlet.utils.JsonMapper;
+import ru.practicum.servlet.utils.Pagination;
+import ru.practicum.servlet.utils.Utils;
+
+import java.io.IOException;
+
+/**
+ * Book counts per author ({@code /stats/authors[/{id}]}), per publisher
+ * ({@code /stats/publishers[/{id}]}) and per year ({@code /stats/years[/{year}]}). The author and
+ * publisher lists are ordered by count and take a {@code limit}.
+ */
+@WebServlet("/stats/*")
+public class CatalogStatsServlet extends HttpServlet {
+    private static final String AUTHORS = "authors";
+    private static final String PUBLISHERS = "publishers";
+    private static final String YEARS = "years";
+
+    private transient CatalogStatsService statsService;
+    private transient StatsMapper mapper;
+
+    @Override
+    public void init() throws ServletException {
+        statsService = Factory.getCatalogStatsService();
+        mapper = new StatsMapperImpl();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        String pathVar = req.getPathInfo();
+        String[] parts = pathVar == null ? new String[0] : pathVar.replaceFirst("^/", "").split("/");
+        if (parts.length == 0 || parts.length > 2) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_NOT_FOUND, ErrorMessage.UNKNOWN_STATS.msg());
+            return;
+        }
+        Object body;
+        try {
+            body = parts.length == 1 ? getList(parts[0], req) : getOne(parts[0], parts[1]);
+        } catch (NotFoundException e) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+            return;
+        } catch (IllegalArgumentException e) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        if (body == null) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_NOT_FOUND, ErrorMessage.UNKNOWN_STATS.msg());
+            return;
+        }
+        Utils.settingResponse(resp);
+        resp.getWriter().print(JsonMapper.parseToJson(body));
+    }
+
+    private Object getList(String dimension, HttpServletRequest req) {
+        return switch (dimension) {
+            case AUTHORS -> mapper.toBookCountDtoList(statsService.getTopAuthors(Pagination.parseLimit(req)));
+            case PUBLISHERS -> mapper.toBookCountDtoList(statsService.getTopPublishers(Pagination.parseLimit(req)));
+            case YEARS -> mapper.toBookCountDtoList(statsService.getYearCounts());
+            default -> null;
+        };
+    }
+
+    private Object getOne(String dimension, String key) {
+        return switch (dimension) {
+            case AUTHORS -> mapper.toBookCountDto(statsService.getAuthorCount(Long.parseLong(key)));
+            case PUBLISHERS -> mapper.toBookCountDto(statsService.getPublisherCount(Long.parseLong(key)));
+            case YEARS -> mapper.toBookCountDto(statsService.getYearCount(Integer.parseInt(key)));
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.servlet;
+
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import ru.practicum.factory.Factory;
+import ru.practicum.servlet.utils.ErrorMessage;
+import ru.practicum.servlet.utils.JsonMapper;
+import ru.practicum.servlet.utils.Utils;
+
+import java.io.IOException;
+
+/**
+ * Runtime counters for monitoring: {@code /monitoring/caches} reports hits, misses, evictions and
+ * size of every enabled entity cache, {@code /monitoring/coalescing} how many concurrent identical
+ * reads shared one repository call, {@code /monitoring/batching} how many findById lookups were
+ * answered by how many batched queries.
+ */
+@WebServlet("/monitoring/*")
+public class MonitoringServlet extends HttpServlet {
+    private static final String CACHES_PATH = "/caches";
+    private static final String COALESCING_PATH = "/coalescing";
+    private static final String BATCHING_PATH = "/batching";
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        Object stats;
+        if (CACHES_PATH.equals(req.getPathInfo())) {
+            stats = Factory.getCacheStats();
+        } else if (COALESCING_PATH.equals(req.getPathInfo())) {
+            stats = Factory.getCoalescingStats();
+        } else if (BATCHING_PATH.equals(req.getPathInfo())) {
+            stats = Factory.getBatchingStats();
+        } else {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_NOT_FOUND, ErrorMessage.UNKNOWN_MONITORING.msg());
+            return;
+        }
+        Utils.settingResponse(resp);
+        resp.getWriter().print(JsonMapper.parseToJson(stats));
+    }
+}
@@ -6,63 +6,124 @@ import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import ru.practicum.factory.Factory;
+import ru.practicum.model.LookupResult;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
 import ru.practicum.model.Publisher;
 import ru.practicum.service.publisher.PublisherService;
 import ru.practicum.servlet.dto.mapping.PublisherMapper;
 import ru.practicum.servlet.dto.mapping.PublisherMapperImpl;
 import ru.practicum.servlet.dto.publisher.PublisherRequestDto;
-import ru.practicum.servlet.dto.publisher.PublisherResponseDto;
 import ru.practicum.servlet.dto.publisher.PublisherResponseDtoShort;
 import ru.practicum.servlet.utils.ErrorMessage;
+import ru.practicum.servlet.utils.JsonAssembly;
 import ru.practicum.servlet.utils.JsonMapper;
+import ru.practicum.servlet.utils.Pagination;
+import ru.practicum.servlet.utils.ResponseCache;
 import ru.practicum.servlet.utils.Utils;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @WebServlet("/publishers/*")
 public class PublisherServlet extends HttpServlet {
     private transient PublisherService service;
     private transient PublisherMapper mapper;
+    private transient JsonAssembly jsonAssembly = JsonAssembly.APPLICATION;
+    private transient ResponseCache responseCache = ResponseCache.DISABLED;
 
     @Override
     public void init() throws ServletException {
         service = Factory.getPublisherService();
         mapper = new PublisherMapperImpl();
+        responseCache = Factory.getPublisherResponseCache();
+        jsonAssembly = JsonAssembly.forEndpoint("publishers");
     }
 
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
         String pathVar = req.getPathInfo();
         if (pathVar == null || pathVar.isEmpty()) {
-            getAllPublishers(resp);
+            getAllPublishers(req, resp);
+        } else if (Utils.SUGGEST_PATH.equals(pathVar)) {
+            suggestPublishers(req, resp);
         } else {
-            getPublisherByID(resp, Utils.parsePathVariableToId(pathVar));
+            getPublisherByID(req, resp, Utils.parsePathVariableToId(pathVar));
         }
     }
 
-    private void getAllPublishers(HttpServletResponse resp) throws IOException {
-        List<Publisher> publishers = service.getAllPublishers();
-        List<PublisherResponseDtoShort> dto = mapper.toPublisherResponseDtoShortList(publishers);
+    private void getAllPublishers(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if (Utils.isStreamRequested(req)) {
+            Utils.<PublisherResponseDtoShort>streamJsonArray(resp, sink -> service.streamAllPublishers(
+                    entity -> sink.accept(mapper.toPublisherResponseDtoShort(entity))));
+            return;
+        }
+        String ids = req.getParameter(Utils.IDS_PARAM);
+        if (ids != null) {
+            getPublishersByIds(resp, ids);
+            return;
+        }
+        PageRequest pageRequest;
+        try {
+            pageRequest = Pagination.parsePageRequest(req);
+        } catch (IllegalArgumentException e) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        if (Utils.notModified(req, resp, service.getPageVersionTag(pageRequest))) {
+            return;
+        }
+        Page<Publisher> page = service.getAllPublishers(pageRequest);
+        List<PublisherResponseDtoShort> dto = mapper.toPublisherResponseDtoShortList(page.getItems());
         Utils.settingResponse(resp);
+        Pagination.setNextLink(req, resp, page);
         resp.getWriter().println(JsonMapper.parseToJson(dto));
     }
 
-    private void getPublisherByID(HttpServletResponse resp, long id) throws IOException {
+    private void getPublishersByIds(HttpServletResponse resp, String idsParam) throws IOException {
+        LookupResult<Publisher> result;
         try {
-            Publisher publisher = service.getById(id);
-            PublisherResponseDto dto = mapper.toPublisherResponseDto(publisher);
-            Utils.settingResponse(resp);
-            resp.getWriter().print(JsonMapper.parseToJson(dto));
-        } catch (RuntimeException e) {
-            Utils.setErrorResponse(resp, HttpServletResponse.SC_NOT_FOUND, e.getMessage());
-        } catch (IOException e) {
+            result = service.getPublishersByIds(Utils.parseIds(idsParam));
+        } catch (IllegalArgumentException e) {
             Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        Utils.settingResponse(resp);
+        Utils.setMissingIds(resp, result);
+        resp.getWriter().println(JsonMapper.parseToJson(mapper.toPublisherResponseDtoShortList(result.getFound())));
+    }
+
+    private void getPublisherByID(HttpServletRequest req, HttpServletResponse resp, long id) throws IOException {
+        long since = responseCache.generation();
+        String versionTag = service.getVersionTag(id).orElse(null);
+        if (Utils.notModified(req, resp, versionTag)) {
+            return;
+        }
+        byte[] json = responseCache.get(id, versionTag);
+        if (json == null) {
+            try {
+                json = jsonAssembly == JsonAssembly.DATABASE
+                        ? service.getJsonById(id).getBytes(StandardCharsets.UTF_8)
+                        : JsonMapper.parseToJsonBytes(mapper.toPublisherResponseDto(service.getById(id)));
+            } catch (RuntimeException e) {
+                Utils.setErrorResponse(resp, HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+                return;
+            } catch (IOException e) {
+                Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+                return;
+            }
+            responseCache.put(id, versionTag, json, since);
         }
+        Utils.writeJson(resp, json);
     }
 
     @Override
     protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if (Utils.BATCH_PATH.equals(req.getPathInfo())) {
+            createPublishers(req, resp);
+            return;
+        }
         try {
             PublisherRequestDto dto = JsonMapper.parseRequestBody(req, PublisherRequestDto.class);
             Publisher publisher = service.createPublisher(mapper.fromRequestDtoToPublisher(dto));
@@ -76,6 +137,20 @@ public class PublisherServlet extends HttpServlet {
         }
     }
 
+    private void createPublishers(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        try {
+            List<PublisherRequestDto> dtoList = JsonMapper.parseRequestBodyList(req, PublisherRequestDto.class);
+            List<Publisher> publishers = service.createAll(mapper.fromRequestDtoListToPublishers(dtoList));
+            resp.setStatus(HttpServletResponse.SC_CREATED);
+            Utils.settingResponse(resp);
+            resp.getWriter().println(JsonMapper.parseToJson(mapper.toPublisherResponseDtoShortList(publishers)));
+        } catch (RuntimeException e) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_FORBIDDEN, e.getMessage());
+        } catch (IOException e) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, ErrorMessage.EMPTY_BODY.msg());
+        }
+    }
+
     @Override
     protected void doPut(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
         String pathVar = req.getPathInfo();
@@ -111,4 +186,21 @@ public class PublisherServlet extends HttpServlet {
             resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
         }
     }
+
+    private void suggestPublishers(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        String prefix = req.getParameter(Utils.PREFIX_PARAM);
+        if (prefix == null || prefix.isBlank()) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, ErrorMessage.INVALID_SUGGEST.msg());
+            return;
+        }
+        List<Publisher> suggestions;
+        try {
+            suggestions = service.suggest(prefix, Utils.parseSuggestLimit(req));
+        } catch (IllegalArgumentException e) {
+            Utils.setErrorResponse(resp, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        Utils.settingResponse(resp);
+        resp.getWriter().println(JsonMapper.parseToJson(mapper.toPublisherResponseDtoShortList(suggestions)));
+    }
 }
@@ -17,6 +17,8 @@ public interface AuthorMapper {
 
     Author fromAuthorRequestDto(AuthorRequestDto dto);
 
+    List<Author> fromAuthorRequestDtoList(List<AuthorRequestDto> dtoList);
+
     AuthorResponseDtoShort authorToResponseDtoShort(Author author);
 
     List<AuthorResponseDtoShort> authorListToResponseDtoShortList(List<Author> authorList);
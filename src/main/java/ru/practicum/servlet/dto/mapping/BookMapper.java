@@ -19,6 +19,8 @@ import java.util.List;
 public interface BookMapper {
     BookWithPublisherDto toBookWithPublisherDto(Book book);
 
+    List<BookWithPublisherDto> toBookWithPublisherDtoList(List<Book> books);
+
     BookResponseDto toBookResponseDto(Book book);
 
     List<BookResponseDto> toBookResponseDtoList(List<Book> books);
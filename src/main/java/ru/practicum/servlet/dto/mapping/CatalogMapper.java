@@ -0,0 +1,10 @@
+package ru.practicum.servlet.dto.mapping;
+
+import org.mapstruct.Mapper;
+import ru.practicum.model.ImportSummary;
+import ru.practicum.servlet.dto.catalog.ImportResponseDto;
+
+@Mapper
+public interface CatalogMapper {
+    ImportResponseDto toImportResponseDto(ImportSummary summary);
+}
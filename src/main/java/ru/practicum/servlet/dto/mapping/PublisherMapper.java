@@ -15,6 +15,8 @@ import java.util.List;
 public interface PublisherMapper {
     Publisher fromRequestDtoToPublisher(PublisherRequestDto publisherRequestDto);
 
+    List<Publisher> fromRequestDtoListToPublishers(List<PublisherRequestDto> publisherRequestDtoList);
+
     PublisherResponseDto toPublisherResponseDto(Publisher publisher);
 
     PublisherResponseDtoShort toPublisherResponseDtoShort(Publisher publisher);
@@ -0,0 +1,14 @@
+package ru.practicum.servlet.dto.mapping;
+
+import org.mapstruct.Mapper;
+import ru.practicum.model.BookCount;
+import ru.practicum.servlet.dto.stats.BookCountDto;
+
+import java.util.List;
+
+@Mapper
+public interface StatsMapper {
+    BookCountDto toBookCountDto(BookCount bookCount);
+
+    List<BookCountDto> toBookCountDtoList(List<BookCount> bookCounts);
+}
@@ -0,0 +1,40 @@
+package ru.practicum.servlet.dto.stats;
+
+public class BookCountDto {
+    private long key;
+    private String name;
+    private long bookCount;
+
+    public BookCountDto() {
+    }
+
+    public BookCountDto(long key, String name, long bookCount) {
+        this.key = key;
+        this.name = name;
+        this.bookCount = bookCount;
+    }
+
+    public long getKey() {
+        return key;
+    }
+
+    public void setKey(long key) {
+        this.key = key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getBookCount() {
+        return bookCount;
+    }
+
+    public void setBookCount(long bookCount) {
+        this.bookCount = bookCount;
+    }
+}
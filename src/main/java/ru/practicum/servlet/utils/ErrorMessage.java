@@ -2,7 +2,16 @@ package ru.practicum.servlet.utils;
 
 public enum ErrorMessage {
     EMPTY_BODY("Invalid request. Body is empty."),
-    EMPTY_PATH_VARIABLE("Invalid request. PathVariable is empty.");
+    EMPTY_PATH_VARIABLE("Invalid request. PathVariable is empty."),
+    UNSUPPORTED_IMPORT_FORMAT("Invalid request. Content-Type must be text/csv or application/x-ndjson."),
+    UNSUPPORTED_EXPAND("Invalid request. Only expand=publishers is supported."),
+    INVALID_PAGE("Invalid request. limit must be between 1 and 1000 and cursor must come from a previous page."),
+    INVALID_FILTER("Invalid request. authorId and publisherId must be numeric ids, yearFrom must not exceed yearTo."),
+    EMPTY_SEARCH_QUERY("Invalid request. Query parameter q is required."),
+    INVALID_SUGGEST("Invalid request. prefix is required and limit must be between 1 and 50."),
+    UNKNOWN_STATS("Not found. Statistics are available for /stats/authors, /stats/publishers and /stats/years."),
+    UNKNOWN_MONITORING("Not found. Monitoring data is available for /monitoring/caches, /monitoring/coalescing and /monitoring/batching."),
+    INVALID_IDS("Invalid request. ids must be a comma-separated list of at most 1000 numeric ids.");
 
     private final String message;
 
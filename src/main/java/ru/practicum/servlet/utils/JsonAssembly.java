@@ -0,0 +1,19 @@
+package ru.practicum.servlet.utils;
+
+import ru.practicum.utils.PropertyUtil;
+
+import java.util.Locale;
+
+/**
+ * Where a detail response is turned into JSON: in the application from the model and DTOs, or in
+ * the database, whose JSON text is written to the response as is.
+ */
+public enum JsonAssembly {
+    APPLICATION,
+    DATABASE;
+
+    public static JsonAssembly forEndpoint(String endpoint) {
+        String value = PropertyUtil.getProperty("servlet." + endpoint + ".jsonAssembly", APPLICATION.name());
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
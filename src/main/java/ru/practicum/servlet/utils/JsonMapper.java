@@ -1,13 +1,22 @@
 package ru.practicum.servlet.utils;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import jakarta.servlet.http.HttpServletRequest;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.function.Consumer;
 
 public class JsonMapper {
     private static final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private static final ObjectWriter elementWriter = mapper.writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
 
     private JsonMapper() {
     }
@@ -16,7 +25,38 @@ public class JsonMapper {
         return mapper.readValue(req.getReader(), clazz);
     }
 
+    public static <T> List<T> parseRequestBodyList(HttpServletRequest req, Class<T> clazz) throws IOException {
+        return mapper.readValue(req.getReader(), mapper.getTypeFactory().constructCollectionType(List.class, clazz));
+    }
+
     public static <T> String parseToJson(T obj) throws IOException {
         return mapper.writeValueAsString(obj);
     }
+
+    public static <T> byte[] parseToJsonBytes(T obj) throws IOException {
+        return mapper.writeValueAsBytes(obj);
+    }
+
+    /**
+     * Writes the elements handed to the sink as a JSON array, one at a time. The writer is not
+     * closed, and an array cut short by an exception is left unterminated.
+     */
+    public static <T> void writeArray(Writer writer, Consumer<Consumer<T>> producer) throws IOException {
+        JsonGenerator generator = mapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        try (generator) {
+            generator.writeStartArray();
+            producer.accept(element -> {
+                try {
+                    elementWriter.writeValue(generator, element);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
 }
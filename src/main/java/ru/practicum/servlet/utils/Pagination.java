@@ -0,0 +1,117 @@
+package ru.practicum.servlet.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
+import ru.practicum.model.SearchRequest;
+import ru.practicum.model.SearchResult;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Reads {@code limit} and {@code cursor} query parameters and advertises the next page in a
+ * {@code Link: <...>; rel="next"} header. Cursors are opaque to clients.
+ */
+public class Pagination {
+    public static final String LIMIT = "limit";
+    public static final String CURSOR = "cursor";
+    private static final String CURSOR_PREFIX = "after:";
+    private static final String OFFSET_CURSOR_PREFIX = "offset:";
+
+    private Pagination() {
+    }
+
+    public static PageRequest parsePageRequest(HttpServletRequest req) {
+        int limit = parseLimit(req);
+        String cursor = req.getParameter(CURSOR);
+        return cursor == null ? PageRequest.first(limit) : PageRequest.after(decodeCursor(cursor), limit);
+    }
+
+    public static SearchRequest parseSearchRequest(HttpServletRequest req, String query) {
+        int limit = parseLimit(req);
+        String cursor = req.getParameter(CURSOR);
+        long offset = cursor == null ? 0 : decodePosition(cursor, OFFSET_CURSOR_PREFIX);
+        return SearchRequest.of(query, (int) Math.min(offset, Integer.MAX_VALUE), limit);
+    }
+
+    /**
+     * The {@code limit} parameter, {@link PageRequest#DEFAULT_LIMIT} when absent.
+     */
+    public static int parseLimit(HttpServletRequest req) {
+        String limitParam = req.getParameter(LIMIT);
+        int limit;
+        try {
+            limit = limitParam == null ? PageRequest.DEFAULT_LIMIT : Integer.parseInt(limitParam);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(ErrorMessage.INVALID_PAGE.msg(), e);
+        }
+        if (limit < 1 || limit > PageRequest.MAX_LIMIT) {
+            throw new IllegalArgumentException(ErrorMessage.INVALID_PAGE.msg());
+        }
+        return limit;
+    }
+
+    public static void setNextLink(HttpServletRequest req, HttpServletResponse resp, Page<?> page) {
+        if (page.hasNext()) {
+            setNextLink(req, resp, encodeCursor(page.getNextAfterId()));
+        }
+    }
+
+    public static void setNextLink(HttpServletRequest req, HttpServletResponse resp, SearchResult<?> result) {
+        if (result.hasNext()) {
+            setNextLink(req, resp, encodeOffsetCursor(result.getNextOffset()));
+        }
+    }
+
+    private static void setNextLink(HttpServletRequest req, HttpServletResponse resp, String cursor) {
+        StringBuilder link = new StringBuilder("<").append(req.getRequestURL()).append('?');
+        for (Map.Entry<String, String[]> parameter : req.getParameterMap().entrySet()) {
+            if (CURSOR.equals(parameter.getKey())) {
+                continue;
+            }
+            for (String value : parameter.getValue()) {
+                link.append(encode(parameter.getKey())).append('=').append(encode(value)).append('&');
+            }
+        }
+        link.append(CURSOR).append('=').append(cursor).append(">; rel=\"next\"");
+        resp.setHeader("Link", link.toString());
+    }
+
+    public static String encodeCursor(long afterId) {
+        return encodePosition(afterId, CURSOR_PREFIX);
+    }
+
+    public static long decodeCursor(String cursor) {
+        return decodePosition(cursor, CURSOR_PREFIX);
+    }
+
+    public static String encodeOffsetCursor(int offset) {
+        return encodePosition(offset, OFFSET_CURSOR_PREFIX);
+    }
+
+
+    private static String encodePosition(long position, String prefix) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((prefix + position).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodePosition(String cursor, String prefix) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(prefix)) {
+                throw new IllegalArgumentException(ErrorMessage.INVALID_PAGE.msg());
+            }
+            return Long.parseLong(decoded.substring(prefix.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(ErrorMessage.INVALID_PAGE.msg(), e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
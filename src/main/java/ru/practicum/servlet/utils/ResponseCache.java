@@ -0,0 +1,45 @@
+package ru.practicum.servlet.utils;
+
+import ru.practicum.repository.cache.EntityCache;
+
+/**
+ * Final UTF-8 JSON bodies of one detail endpoint, keyed by id and valid for exactly one version
+ * tag, so a hit is written to the client without mapping or serialization. A body of an older
+ * version is replaced on the next miss; invalidations reaching the underlying cache drop it sooner.
+ */
+public class ResponseCache {
+    public static final ResponseCache DISABLED = new ResponseCache(null);
+
+    private final EntityCache<Body> bodies;
+
+    public ResponseCache(EntityCache<Body> bodies) {
+        this.bodies = bodies;
+    }
+
+    /**
+     * Take before reading the version tag and pass to {@link #put}.
+     */
+    public long generation() {
+        return bodies == null ? 0 : bodies.generation();
+    }
+
+    /**
+     * Returns the body cached for this version of the entity or {@code null}.
+     */
+    public byte[] get(long id, String versionTag) {
+        if (bodies == null || versionTag == null) {
+            return null;
+        }
+        Body body = bodies.get(id);
+        return body != null && body.versionTag().equals(versionTag) ? body.json() : null;
+    }
+
+    public void put(long id, String versionTag, byte[] json, long loadedSince) {
+        if (bodies != null && versionTag != null) {
+            bodies.put(id, new Body(versionTag, json), loadedSince);
+        }
+    }
+
+    public record Body(String versionTag, byte[] json) {
+    }
+}
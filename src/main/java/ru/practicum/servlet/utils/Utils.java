@@ -1,11 +1,30 @@
 package ru.practicum.servlet.utils;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import ru.practicum.exception.ApiError;
+import ru.practicum.model.LookupResult;
 
 import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 public class Utils {
+    public static final String BATCH_PATH = "/batch";
+    public static final String STREAM_PARAM = "stream";
+    public static final String IDS_PARAM = "ids";
+    public static final String MISSING_IDS_HEADER = "X-Missing-Ids";
+    public static final int MAX_IDS = 1000;
+    public static final String SUGGEST_PATH = "/suggest";
+    public static final String PREFIX_PARAM = "prefix";
+    public static final int DEFAULT_SUGGEST_LIMIT = 10;
+    public static final int MAX_SUGGEST_LIMIT = 50;
+    public static final String ETAG_HEADER = "ETag";
+    public static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+
     private Utils() {
     }
 
@@ -13,6 +32,80 @@ public class Utils {
         return Long.parseLong(pathVar.replace("/", ""));
     }
 
+    /**
+     * Parses {@code ids=1,2,3}, dropping repeated ids but keeping the order of first occurrence.
+     */
+    public static List<Long> parseIds(String idsParam) {
+        Set<Long> ids = new LinkedHashSet<>();
+        try {
+            for (String part : idsParam.split(",")) {
+                ids.add(Long.parseLong(part.trim()));
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(ErrorMessage.INVALID_IDS.msg(), e);
+        }
+        if (ids.size() > MAX_IDS) {
+            throw new IllegalArgumentException(ErrorMessage.INVALID_IDS.msg());
+        }
+        return List.copyOf(ids);
+    }
+
+    public static int parseSuggestLimit(HttpServletRequest req) {
+        String limitParam = req.getParameter(Pagination.LIMIT);
+        try {
+            int limit = limitParam == null ? DEFAULT_SUGGEST_LIMIT : Integer.parseInt(limitParam);
+            if (limit >= 1 && limit <= MAX_SUGGEST_LIMIT) {
+                return limit;
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(ErrorMessage.INVALID_SUGGEST.msg(), e);
+        }
+        throw new IllegalArgumentException(ErrorMessage.INVALID_SUGGEST.msg());
+    }
+
+    public static void setMissingIds(HttpServletResponse resp, LookupResult<?> result) {
+        if (!result.getMissingIds().isEmpty()) {
+            resp.setHeader(MISSING_IDS_HEADER, result.getMissingIds().stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(",")));
+        }
+    }
+
+    /**
+     * Sends {@code versionTag} as the ETag and answers 304 when the client already holds that
+     * version. Returns {@code true} when the response is complete. Without a tag, for example for
+     * a missing entity, nothing is sent and the request proceeds as usual.
+     */
+    public static boolean notModified(HttpServletRequest req, HttpServletResponse resp, String versionTag) {
+        if (versionTag == null) {
+            return false;
+        }
+        String etag = '"' + versionTag + '"';
+        resp.setHeader(ETAG_HEADER, etag);
+        if (!matchesAny(req.getHeader(IF_NONE_MATCH_HEADER), etag)) {
+            return false;
+        }
+        resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        return true;
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // If-None-Match uses the weak comparison, so W/"x" matches "x"
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public static void setErrorResponse(HttpServletResponse resp, int code, String msg) throws IOException {
         settingResponse(resp);
         resp.setStatus(code);
@@ -23,4 +116,37 @@ public class Utils {
         resp.setContentType("application/json");
         resp.setCharacterEncoding("UTF-8");
     }
+
+    /**
+     * Writes an already serialized UTF-8 JSON body straight to the output stream.
+     */
+    public static void writeJson(HttpServletResponse resp, byte[] json) throws IOException {
+        settingResponse(resp);
+        resp.setContentLength(json.length);
+        resp.getOutputStream().write(json);
+    }
+
+    public static boolean isStreamRequested(HttpServletRequest req) {
+        return Boolean.parseBoolean(req.getParameter(STREAM_PARAM));
+    }
+
+    /**
+     * Streams a JSON array to the client. A failure before anything was sent becomes an error
+     * response; after that the truncated body is all the client gets. Rows are written as they are
+     * fetched, so a repository producer holds its pooled connection, and an open transaction, for
+     * as long as the client takes to read the whole body; a slow reader ties it up that long.
+     */
+    public static <T> void streamJsonArray(HttpServletResponse resp, Consumer<Consumer<T>> producer)
+            throws IOException {
+        settingResponse(resp);
+        try {
+            JsonMapper.writeArray(resp.getWriter(), producer);
+        } catch (RuntimeException e) {
+            if (resp.isCommitted()) {
+                throw e;
+            }
+            resp.resetBuffer();
+            setErrorResponse(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
 }
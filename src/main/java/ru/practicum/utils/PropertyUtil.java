@@ -23,4 +23,23 @@ public class PropertyUtil {
     public static String getProperty(String propertyName) {
         return prop.getProperty(propertyName);
     }
+
+    public static String getProperty(String propertyName, String defaultValue) {
+        return prop.getProperty(propertyName, defaultValue);
+    }
+
+    public static int getIntProperty(String propertyName, int defaultValue) {
+        String value = prop.getProperty(propertyName);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    public static boolean getBooleanProperty(String propertyName, boolean defaultValue) {
+        String value = prop.getProperty(propertyName);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    public static long getLongProperty(String propertyName, long defaultValue) {
+        String value = prop.getProperty(propertyName);
+        return value == null ? defaultValue : Long.parseLong(value.trim());
+    }
 }
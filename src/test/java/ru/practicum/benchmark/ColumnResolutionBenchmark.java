@@ -0,0 +1,107 @@
+package ru.practicum.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import ru.practicum.model.Author;
+import ru.practicum.model.Book;
+import ru.practicum.repository.mapping.ColumnIndex;
+import ru.practicum.repository.mapping.book.BookRowMapper;
+import ru.practicum.repository.sql.SqlRegistry;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_ID;
+import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_LASTNAME;
+import static ru.practicum.repository.utils.ColumnLabels.AUTHOR_NAME;
+import static ru.practicum.repository.utils.ColumnLabels.BOOK_ID;
+import static ru.practicum.repository.utils.ColumnLabels.BOOK_NAME;
+import static ru.practicum.repository.utils.ColumnLabels.BOOK_YEAR;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnResolutionBenchmark {
+    private static final int ROWS = 10_000;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private Statement statement;
+    private ResultSet resultSet;
+    private final BookRowMapper rowMapper = new BookRowMapper();
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ColumnResolutionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        statement = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        resultSet = statement.executeQuery(String.format("""
+                        select g %s, 'book' || g %s, g %% 2000 %s, g %% 100 %s,
+                        'name' || g %% 100 %s, 'lastName' || g %% 100 %s
+                        from generate_series(1, %d) g
+                        """, BOOK_ID, BOOK_NAME, BOOK_YEAR, AUTHOR_ID, AUTHOR_NAME, AUTHOR_LASTNAME, ROWS));
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        resultSet.close();
+        statement.close();
+        connection.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public void mapByLabel(Blackhole blackhole) throws SQLException {
+        resultSet.beforeFirst();
+        while (resultSet.next()) {
+            Author author = Author.builder()
+                    .id(resultSet.getLong(AUTHOR_ID.toString()))
+                    .firstName(resultSet.getString(AUTHOR_NAME.toString()))
+                    .lastName(resultSet.getString(AUTHOR_LASTNAME.toString()))
+                    .build();
+            blackhole.consume(Book.builder()
+                    .id(resultSet.getLong(BOOK_ID.toString()))
+                    .name(resultSet.getString(BOOK_NAME.toString()))
+                    .author(author)
+                    .year(resultSet.getInt(BOOK_YEAR.toString()))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void mapByIndex(Blackhole blackhole) throws SQLException {
+        resultSet.beforeFirst();
+        ColumnIndex columns = SqlRegistry.BOOK_FIND_ALL.columnIndex(resultSet);
+        while (resultSet.next()) {
+            blackhole.consume(rowMapper.mapRow(resultSet, columns));
+        }
+    }
+}
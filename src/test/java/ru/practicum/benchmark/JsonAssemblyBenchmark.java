@@ -0,0 +1,95 @@
+package ru.practicum.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import ru.practicum.db.ConnectionPool;
+import ru.practicum.db.PoolConfig;
+import ru.practicum.repository.TestPostgresConnection;
+import ru.practicum.repository.author.AuthorCrudRepositoryBase;
+import ru.practicum.repository.mapping.author.AuthorResultSetExtractor;
+import ru.practicum.repository.mapping.author.AuthorRowMapper;
+import ru.practicum.servlet.dto.mapping.AuthorMapper;
+import ru.practicum.servlet.dto.mapping.AuthorMapperImpl;
+import ru.practicum.servlet.utils.JsonMapper;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two ways of answering GET /authors/{id} for an author with many books and
+ * publishers: folding the joined rows into the model and serializing the DTOs, or taking the JSON
+ * text the database assembled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonAssemblyBenchmark {
+    private static final int BOOKS = 200;
+    private static final int PUBLISHERS = 20;
+    private static final int PUBLISHERS_PER_BOOK = 3;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConnectionPool pool;
+    private AuthorCrudRepositoryBase repository;
+    private final AuthorMapper mapper = new AuthorMapperImpl();
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonAssemblyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine").withInitScript("./schema.sql");
+        postgres.start();
+        pool = new ConnectionPool(new TestPostgresConnection(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword()), PoolConfig.builder().minSize(1).maxSize(2).build());
+        try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("insert into authors (first_name, last_name) values ('first', 'last')");
+            statement.execute("insert into publishers (name, city) select 'publisher' || g, 'city' || g "
+                              + "from generate_series(1, " + PUBLISHERS + ") g");
+            statement.execute("insert into books (name, author_id, year) select 'book' || g, 1, 2000 + g % 20 "
+                              + "from generate_series(1, " + BOOKS + ") g");
+            statement.execute("insert into books_publishers (books_id, publisher_id) "
+                              + "select b.id, (b.id + s) % " + PUBLISHERS + " + 1 from books b, "
+                              + "generate_series(1, " + PUBLISHERS_PER_BOOK + ") s");
+        }
+        repository = new AuthorCrudRepositoryBase(pool, new AuthorRowMapper(), new AuthorResultSetExtractor());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public String applicationAssembly() throws IOException {
+        return JsonMapper.parseToJson(mapper.authorToResponseDto(repository.findById(1L).orElseThrow()));
+    }
+
+    @Benchmark
+    public String databaseAssembly() {
+        return repository.findJsonById(1L).orElseThrow();
+    }
+}
@@ -0,0 +1,161 @@
+package ru.practicum.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ConnectionPoolTest {
+    private ConnectionManager source;
+    private ConnectionPool pool;
+    private final List<Connection> physicalConnections = new ArrayList<>();
+    private final List<PreparedStatement> physicalStatements = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        source = Mockito.mock(ConnectionManager.class);
+        BDDMockito.given(source.getConnection()).willAnswer(invocation -> {
+            Connection connection = Mockito.mock(Connection.class);
+            BDDMockito.given(connection.isValid(anyInt())).willReturn(true);
+            BDDMockito.given(connection.getAutoCommit()).willReturn(true);
+            BDDMockito.given(connection.prepareStatement(anyString(), anyInt()))
+                    .willAnswer(prepare -> {
+                        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+                        physicalStatements.add(statement);
+                        return statement;
+                    });
+            physicalConnections.add(connection);
+            return connection;
+        });
+        pool = new ConnectionPool(source, PoolConfig.builder()
+                .minSize(0)
+                .maxSize(2)
+                .borrowTimeoutMillis(100)
+                .validationBypassMillis(0)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Returned connection is reused by the next borrower")
+    void givenPool_whenConnectionReturned_thenReused() throws SQLException {
+        Connection first = pool.getConnection();
+        first.close();
+        Connection second = pool.getConnection();
+        second.close();
+
+        verify(source, times(1)).getConnection();
+        assertThat(pool.getTotalConnections()).isEqualTo(1);
+        assertThat(pool.getIdleConnections()).isEqualTo(1);
+        assertThat(first.isClosed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Borrowing beyond max size times out")
+    void givenExhaustedPool_whenBorrow_thenTimeout() throws SQLException {
+        pool.getConnection();
+        pool.getConnection();
+
+        assertThatThrownBy(() -> pool.getConnection()).isInstanceOf(SQLTimeoutException.class);
+        assertThat(pool.getActiveConnections()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Connection failing validation is discarded on borrow")
+    void givenInvalidIdleConnection_whenBorrow_thenReplaced() throws SQLException {
+        Connection first = pool.getConnection();
+        first.close();
+        Connection physical = physicalConnections.get(0);
+        BDDMockito.given(physical.isValid(anyInt())).willReturn(false);
+
+        pool.getConnection().close();
+
+        verify(physical, times(1)).close();
+        verify(source, times(2)).getConnection();
+        assertThat(pool.getTotalConnections()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Using a returned connection fails")
+    void givenReturnedConnection_whenUsed_thenException() throws SQLException {
+        Connection connection = pool.getConnection();
+        connection.close();
+
+        assertThatThrownBy(() -> connection.prepareStatement("select 1")).isInstanceOf(SQLException.class);
+    }
+
+    @Test
+    @DisplayName("Statement prepared again on the same connection is served from the cache")
+    void givenCachedStatement_whenPreparedAgain_thenCacheHit() throws SQLException {
+        String sql = "select 1";
+        try (Connection connection = pool.getConnection()) {
+            connection.prepareStatement(sql).close();
+        }
+        try (Connection connection = pool.getConnection()) {
+            connection.prepareStatement(sql).close();
+        }
+
+        verify(physicalConnections.get(0), times(1)).prepareStatement(sql, Statement.NO_GENERATED_KEYS);
+        assertThat(pool.getStatementCacheStats().getMisses()).isEqualTo(1);
+        assertThat(pool.getStatementCacheStats().getHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Cached statement is checked in with its fetch size and max rows reset")
+    void givenStatementWithFetchSize_whenClosed_thenFetchSizeReset() throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            PreparedStatement statement = connection.prepareStatement("select 1");
+            statement.setFetchSize(1000);
+            statement.setMaxRows(10);
+            statement.close();
+        }
+
+        PreparedStatement physical = physicalStatements.get(0);
+        verify(physical).setFetchSize(0);
+        verify(physical).setMaxRows(0);
+        verify(physical, Mockito.never()).close();
+    }
+
+    @Test
+    @DisplayName("Statement prepared while the cached one is in use is wrapped and closed for real")
+    void givenCachedStatementInUse_whenPreparedAgain_thenUncachedHandleClosesStatement() throws SQLException {
+        String sql = "select 1";
+        try (Connection connection = pool.getConnection()) {
+            PreparedStatement first = connection.prepareStatement(sql);
+            PreparedStatement second = connection.prepareStatement(sql);
+
+            assertThat(second.getConnection()).isSameAs(connection);
+            second.close();
+            assertThat(second.isClosed()).isTrue();
+            assertThatThrownBy(second::executeQuery).isInstanceOf(SQLException.class);
+            first.close();
+            connection.prepareStatement(sql).close();
+        }
+
+        verify(physicalStatements.get(1)).close();
+        verify(physicalStatements.get(0), Mockito.never()).close();
+        assertThat(physicalStatements).hasSize(2);
+        assertThat(pool.getStatementCacheStats().getHits()).isEqualTo(1);
+    }
+}
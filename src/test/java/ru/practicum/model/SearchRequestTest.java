@@ -0,0 +1,27 @@
+package ru.practicum.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchRequestTest {
+
+    @Test
+    @DisplayName("Next offset stops at the deepest offset a request accepts")
+    void givenRequestNearMaxOffset_whenNextOffset_thenBoundedByMaxOffset() {
+        //given
+        SearchRequest last = SearchRequest.of("name", SearchRequest.MAX_OFFSET - 100, 100);
+        SearchRequest past = SearchRequest.of("name", 9_950, 100);
+        //when
+        Integer lastNext = last.nextOffset();
+        Integer pastNext = past.nextOffset();
+        //that
+        assertThat(lastNext).isEqualTo(SearchRequest.MAX_OFFSET);
+        assertThat(SearchRequest.of("name", lastNext, 100).getOffset()).isEqualTo(SearchRequest.MAX_OFFSET);
+        assertThat(pastNext).isNull();
+        assertThatThrownBy(() -> SearchRequest.of("name", 9_950 + 100, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,5 +1,7 @@
 package ru.practicum.repository.author;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,12 +13,16 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import ru.practicum.db.ConnectionManager;
 import ru.practicum.model.Author;
 import ru.practicum.model.Book;
+import ru.practicum.model.PageRequest;
 import ru.practicum.model.Publisher;
 import ru.practicum.repository.TestPostgresConnection;
 import ru.practicum.repository.dataUtils.CreatedData;
 import ru.practicum.repository.mapping.author.AuthorResultSetExtractor;
 import ru.practicum.repository.mapping.author.AuthorRowMapper;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
 import java.util.Optional;
 
@@ -199,4 +205,106 @@ class AuthorCrudRepositoryBaseTest {
                 .ignoringActualNullFields()
                 .isEqualTo(expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test save all authors in several chunks functionality")
+    void givenAuthorCrudRepository_whenSaveAllInChunks_thenIdsAssignedInOrder() {
+        //given
+        repository = new AuthorCrudRepositoryBase(connectionManager,
+                new AuthorRowMapper(),
+                new AuthorResultSetExtractor(),
+                2);
+        List<Author> authors = List.of(
+                Author.builder().firstName("first1").lastName("last1").build(),
+                Author.builder().firstName("first2").lastName("last2").build(),
+                Author.builder().firstName("first3").lastName("last3").build());
+        //when
+        List<Author> actual = repository.saveAll(authors);
+        //that
+        assertThat(actual).hasSize(3);
+        for (Author author : actual) {
+            assertThat(repository.findById(author.getId())).isPresent()
+                    .get()
+                    .extracting(Author::getFirstName)
+                    .isEqualTo(author.getFirstName());
+        }
+    }
+
+    @Test
+    @DisplayName("Test find by id author as database-built json functionality")
+    void givenAuthorCrudRepository_whenFindJsonById_thenDocument() throws JsonProcessingException {
+        //given
+        String expected = """
+                {"id": 3, "firstName": "name3", "lastName": "lastName3", "books": [
+                  {"id": 4, "name": "book4", "year": 4, "publishers": [{"id": 4, "name": "publisher4", "city": "city4"}]}
+                ]}
+                """;
+        ObjectMapper objectMapper = new ObjectMapper();
+        //when
+        Optional<String> actual = repository.findJsonById(3L);
+        //that
+        assertThat(actual).isPresent();
+        assertThat(objectMapper.readTree(actual.get())).isEqualTo(objectMapper.readTree(expected));
+    }
+
+    @Test
+    @DisplayName("Test find authors by ids functionality")
+    void givenAuthorCrudRepository_whenFindAllByIds_thenOnlyExisting() {
+        //given
+        //when
+        List<Author> actual = repository.findAllByIds(List.of(3L, 99L, 1L));
+        //that
+        assertThat(actual).extracting(Author::getId).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Test find aggregates by ids functionality. Each as find by id, with and without books")
+    void givenAuthorCrudRepository_whenFindAggregatesByIds_thenEachAsFindById() throws SQLException {
+        //given
+        Author withoutBooks = repository.save(CreatedData.createAuthor(5));
+        try (Connection connection = connectionManager.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("insert into books (name, author_id, year) values ('book6', 2, 6)");
+        }
+        List<Long> ids = List.of(1L, 2L, withoutBooks.getId(), 99L);
+        //when
+        List<Author> actual = repository.findAggregatesByIds(ids);
+        //that
+        assertThat(actual).extracting(Author::getId).containsExactlyInAnyOrder(1L, 2L, withoutBooks.getId());
+        for (Author author : actual) {
+            assertThat(author).usingRecursiveComparison()
+                    .ignoringCollectionOrder()
+                    .isEqualTo(repository.findById(author.getId()).orElseThrow());
+        }
+    }
+
+    @Test
+    @DisplayName("Test author version tag follows updates functionality")
+    void givenAuthorCrudRepository_whenAuthorUpdated_thenVersionTagChanges() {
+        //given
+        Optional<String> before = repository.findVersionTag(1L);
+        //when
+        repository.save(Author.builder().firstName("Jon").lastName("Smith").build(), 1L);
+        //that
+        assertThat(before).isPresent();
+        assertThat(repository.findVersionTag(1L)).isPresent().get().isNotEqualTo(before.get());
+        assertThat(repository.findVersionTag(3L)).isEqualTo(repository.findVersionTag(3L));
+        assertThat(repository.findVersionTag(99L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test author page version tag follows updates and deletes functionality")
+    void givenAuthorCrudRepository_whenPageChanged_thenPageVersionTagChanges() {
+        //given
+        String before = repository.findPageVersionTag(PageRequest.first(2));
+        String untouched = repository.findPageVersionTag(PageRequest.after(3, 2));
+        //when
+        repository.save(Author.builder().firstName("Jon").lastName("Smith").build(), 2L);
+        String afterUpdate = repository.findPageVersionTag(PageRequest.first(2));
+        repository.delete(1L);
+        //that
+        assertThat(afterUpdate).isNotEqualTo(before);
+        assertThat(repository.findPageVersionTag(PageRequest.first(2))).isNotEqualTo(afterUpdate);
+        assertThat(repository.findPageVersionTag(PageRequest.after(3, 2))).isEqualTo(untouched);
+    }
+}
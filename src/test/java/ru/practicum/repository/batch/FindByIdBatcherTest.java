@@ -0,0 +1,98 @@
+package ru.practicum.repository.batch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FindByIdBatcherTest {
+    private static final long LONG_WINDOW_MICROS = TimeUnit.SECONDS.toMicros(10);
+
+    private final List<List<Long>> queries = new CopyOnWriteArrayList<>();
+
+    @Test
+    @DisplayName("Concurrent lookups of different ids are loaded with one query")
+    void givenConcurrentLookups_whenBatchFull_thenOneQuery() throws Exception {
+        //given
+        FindByIdBatcher<Item> batcher = new FindByIdBatcher<>(this::load, Item::id, Item::copy, LONG_WINDOW_MICROS, 3);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        List<Future<Optional<Item>>> results = new ArrayList<>();
+        //when
+        try {
+            for (long id : List.of(1L, 2L, 99L)) {
+                results.add(executor.submit(() -> batcher.load(id)));
+            }
+            //that
+            assertThat(results.get(0).get(5, TimeUnit.SECONDS)).contains(new Item(1));
+            assertThat(results.get(1).get(5, TimeUnit.SECONDS)).contains(new Item(2));
+            assertThat(results.get(2).get(5, TimeUnit.SECONDS)).isEmpty();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(queries).hasSize(1);
+        assertThat(queries.get(0)).containsExactlyInAnyOrder(1L, 2L, 99L);
+        assertThat(batcher.getStats()).isEqualTo(new FindByIdBatcher.Stats(1, 3));
+    }
+
+    @Test
+    @DisplayName("Lookups of the same id in one batch get separate copies")
+    void givenSameIdTwice_whenBatchLoaded_thenSeparateCopies() throws Exception {
+        //given
+        FindByIdBatcher<Item> batcher = new FindByIdBatcher<>(this::load, Item::id, Item::copy,
+                TimeUnit.MILLISECONDS.toMicros(500), 10);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        //when
+        Optional<Item> first;
+        Optional<Item> second;
+        try {
+            Future<Optional<Item>> firstResult = executor.submit(() -> batcher.load(1L));
+            Future<Optional<Item>> secondResult = executor.submit(() -> batcher.load(1L));
+            first = firstResult.get(5, TimeUnit.SECONDS);
+            second = secondResult.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        //that
+        assertThat(first).contains(new Item(1));
+        assertThat(second).contains(new Item(1));
+        assertThat(first.orElseThrow()).isNotSameAs(second.orElseThrow());
+        assertThat(queries).containsExactly(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Lone lookup is loaded when the window ends, and a failed query reaches the caller")
+    void givenLoneLookup_whenWindowEnds_thenLoadedAlone() {
+        //given
+        FindByIdBatcher<Item> batcher = new FindByIdBatcher<>(this::load, Item::id, Item::copy, 1000, 10);
+        FindByIdBatcher<Item> failing = new FindByIdBatcher<>(ids -> {
+            throw new IllegalStateException("failed");
+        }, Item::id, Item::copy, 1000, 10);
+        //when
+        Optional<Item> actual = batcher.load(1L);
+        //that
+        assertThat(actual).contains(new Item(1));
+        assertThat(queries).containsExactly(List.of(1L));
+        assertThatThrownBy(() -> failing.load(1L)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private List<Item> load(List<Long> ids) {
+        queries.add(ids);
+        return ids.stream().filter(id -> id < 10).map(Item::new).toList();
+    }
+
+    private record Item(long id) {
+        Item copy() {
+            return new Item(id);
+        }
+    }
+}
@@ -11,13 +11,25 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import ru.practicum.db.ConnectionManager;
 import ru.practicum.model.Author;
 import ru.practicum.model.Book;
+import ru.practicum.model.BookFilter;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
 import ru.practicum.model.Publisher;
+import ru.practicum.model.SearchRequest;
+import ru.practicum.model.SearchResult;
 import ru.practicum.repository.TestPostgresConnection;
 import ru.practicum.repository.dataUtils.CreatedData;
 import ru.practicum.repository.mapping.book.BookResultSetExtractor;
 import ru.practicum.repository.mapping.book.BookRowMapper;
+import ru.practicum.repository.sql.SqlRegistry;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -127,6 +139,22 @@ class BookCrudRepositoryBaseTest {
         assertThat(actual).isEmpty();
     }
 
+    @Test
+    @DisplayName("Test find aggregates by ids functionality. Same shape as find by id, unknown ids skipped")
+    void givenBookCrudRepository_whenFindAggregatesByIds_thenEachAsFindById() {
+        //given
+        List<Long> ids = List.of(1L, 2L, 99L);
+        //when
+        List<Book> actual = repository.findAggregatesByIds(ids);
+        //that
+        assertThat(actual).extracting(Book::getId).containsExactlyInAnyOrder(1L, 2L);
+        for (Book book : actual) {
+            Book expected = repository.findById(book.getId()).orElseThrow();
+            assertThat(book.getAuthor()).isEqualTo(expected.getAuthor());
+            assertThat(book.getPublishers()).hasSameElementsAs(expected.getPublishers());
+        }
+    }
+
     @Test
     @DisplayName("Test delete book functionality")
     void givenBookCrudRepository_whenDeleteBook_thenCorrect() {
@@ -202,4 +230,188 @@ class BookCrudRepositoryBaseTest {
         assertThat(actual).isNotEmpty()
                 .isEqualTo(expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test find page of books functionality")
+    void givenBookCrudRepository_whenFindPage_thenKeysetOrdered() {
+        //given
+        //when
+        Page<Book> first = repository.findAll(PageRequest.first(2));
+        Page<Book> last = repository.findAll(PageRequest.after(4, 2));
+        //that
+        assertThat(first.getItems()).extracting(Book::getId).containsExactly(1L, 2L);
+        assertThat(first.getNextAfterId()).isEqualTo(2L);
+        assertThat(last.getItems()).extracting(Book::getId).containsExactly(5L);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test find page of books filtered by author and year functionality")
+    void givenBookCrudRepository_whenFindFilteredByAuthorAndYear_thenOnlyMatching() {
+        //given
+        BookFilter filter = BookFilter.builder().authorId(1L).yearFrom(2).yearTo(5).build();
+        //when
+        Page<Book> first = repository.findAll(filter, PageRequest.first(1));
+        Page<Book> last = repository.findAll(filter, PageRequest.after(first.getNextAfterId(), 1));
+        //that
+        assertThat(first.getItems()).extracting(Book::getId).containsExactly(2L);
+        assertThat(last.getItems()).extracting(Book::getId).containsExactly(5L);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test find page of books filtered by publisher functionality")
+    void givenBookCrudRepository_whenFindFilteredByPublisher_thenOnlyMatching() {
+        //given
+        BookFilter filter = BookFilter.builder().publisherId(4L).build();
+        //when
+        Page<Book> actual = repository.findAll(filter, PageRequest.first(10));
+        //that
+        assertThat(actual.getItems()).extracting(Book::getId).containsExactly(1L, 4L);
+    }
+
+    @Test
+    @DisplayName("Test filter by author is served from the author index functionality")
+    void givenBookCrudRepository_whenExplainFilterByAuthor_thenIndexUsed() throws SQLException {
+        //given
+        String sql = SqlRegistry.BOOK_FIND_FILTERED_PAGE.forPredicates(SqlRegistry.BOOK_BY_AUTHOR).getText();
+        //when
+        String plan = explain(sql, 1L, 0L, 10);
+        //that
+        assertThat(plan).contains("ix_books_author_id");
+    }
+
+    @Test
+    @DisplayName("Test filter by year range is served from the year index functionality")
+    void givenBookCrudRepository_whenExplainFilterByYear_thenIndexUsed() throws SQLException {
+        //given
+        String sql = SqlRegistry.BOOK_FIND_FILTERED_PAGE
+                .forPredicates(SqlRegistry.BOOK_YEAR_FROM | SqlRegistry.BOOK_YEAR_TO).getText();
+        //when
+        String plan = explain(sql, 2, 4, 0L, 10);
+        //that
+        assertThat(plan).contains("ix_books_year");
+    }
+
+    @Test
+    @DisplayName("Test filter by publisher is served from the publisher index functionality")
+    void givenBookCrudRepository_whenExplainFilterByPublisher_thenIndexUsed() throws SQLException {
+        //given
+        String sql = SqlRegistry.BOOK_FIND_FILTERED_PAGE.forPredicates(SqlRegistry.BOOK_BY_PUBLISHER).getText();
+        //when
+        String plan = explain(sql, 4L, 0L, 10);
+        //that
+        assertThat(plan).contains("ix_books_publishers_publisher_id");
+    }
+
+    @Test
+    @DisplayName("Test search books by title and author name functionality")
+    void givenBookCrudRepository_whenSearch_thenTitleMatchRankedFirst() {
+        //given
+        Book saved = repository.save(Book.builder()
+                .name("name3 memoirs")
+                .year(6)
+                .author(Author.builder().id(1).build()).build());
+        //when
+        SearchResult<Book> first = repository.search(SearchRequest.of("name3", 0, 1));
+        SearchResult<Book> last = repository.search(SearchRequest.of("name3", first.getNextOffset(), 1));
+        //that
+        assertThat(first.getItems()).extracting(Book::getId).containsExactly(saved.getId());
+        assertThat(last.getItems()).extracting(Book::getId).containsExactly(4L);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test search follows book updates functionality")
+    void givenBookCrudRepository_whenUpdateBook_thenSearchVectorRefreshed() {
+        //given
+        Book book = CreatedData.createBook(2);
+        book.setName("renamed");
+        book.setAuthor(CreatedData.createAuthor(1));
+        //when
+        repository.save(book, book.getId());
+        //that
+        assertThat(repository.search(SearchRequest.of("renamed", 0, 10)).getItems())
+                .extracting(Book::getId).containsExactly(2L);
+        assertThat(repository.search(SearchRequest.of("book2", 0, 10)).getItems()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test search is served from the GIN index functionality")
+    void givenBookCrudRepository_whenExplainSearch_thenIndexUsed() throws SQLException {
+        //given
+        String sql = SqlRegistry.BOOK_SEARCH.getText();
+        //when
+        String plan = explain(sql, "book1", 0, 10);
+        //that
+        assertThat(plan).contains("ix_books_search_vector");
+    }
+
+    @Test
+    @DisplayName("Test find publishers of several books functionality")
+    void givenBookCrudRepository_whenFindPublishersByBookIds_thenGroupedByBook() {
+        //given
+        //when
+        Map<Long, List<Publisher>> actual = repository.findPublishersByBookIds(List.of(1L, 2L, 99L));
+        //that
+        assertThat(actual).containsOnlyKeys(1L, 2L);
+        assertThat(actual.get(1L)).extracting(Publisher::getId).containsExactly(1L, 2L, 4L);
+        assertThat(actual.get(2L)).extracting(Publisher::getId).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Test book version tag follows updates functionality")
+    void givenBookCrudRepository_whenBookUpdated_thenVersionTagChanges() {
+        //given
+        Optional<String> before = repository.findVersionTag(1L);
+        Book updateBook = Book.builder().id(1).author(Author.builder().id(1).build()).name("update").year(1).build();
+        //when
+        repository.save(updateBook, updateBook.getId());
+        //that
+        assertThat(before).isPresent();
+        assertThat(repository.findVersionTag(1L)).isPresent().get().isNotEqualTo(before.get());
+        assertThat(repository.findVersionTag(99L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test filtered book page version tag follows updates functionality")
+    void givenBookCrudRepository_whenFilteredPageUpdated_thenPageVersionTagChanges() {
+        //given
+        BookFilter byAuthor = BookFilter.builder().authorId(1L).build();
+        BookFilter byOtherAuthor = BookFilter.builder().authorId(3L).build();
+        String before = repository.findPageVersionTag(byAuthor, PageRequest.first(10));
+        String untouched = repository.findPageVersionTag(byOtherAuthor, PageRequest.first(10));
+        Book updateBook = Book.builder().id(2).author(Author.builder().id(1).build()).name("update").year(2).build();
+        //when
+        repository.save(updateBook, updateBook.getId());
+        //that
+        assertThat(repository.findPageVersionTag(byAuthor, PageRequest.first(10))).isNotEqualTo(before);
+        assertThat(repository.findPageVersionTag(byOtherAuthor, PageRequest.first(10))).isEqualTo(untouched);
+        assertThat(repository.findPageVersionTag(PageRequest.first(10)))
+                .isEqualTo(repository.findPageVersionTag(BookFilter.NONE, PageRequest.first(10)));
+    }
+
+    /**
+     * The test tables are far too small for the planner to prefer an index on its own, so
+     * sequential scans are priced out for the session.
+     */
+    private String explain(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = connectionManager.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set enable_seqscan = off");
+            }
+            try (PreparedStatement ps = connection.prepareStatement("explain " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    ps.setObject(i + 1, parameters[i]);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        }
+    }
+}
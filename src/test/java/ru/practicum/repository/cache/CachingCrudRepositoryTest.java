@@ -0,0 +1,114 @@
+package ru.practicum.repository.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.model.Author;
+import ru.practicum.model.Book;
+import ru.practicum.repository.author.AuthorCrudRepository;
+import ru.practicum.repository.author.CachingAuthorCrudRepository;
+import ru.practicum.repository.dataUtils.CreatedData;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CachingCrudRepositoryTest {
+    @Mock
+    private AuthorCrudRepository authorRepository;
+
+    @Test
+    @DisplayName("Repeated find by id is served from the cache")
+    void givenCachedAuthor_whenFindById_thenRepositoryQueriedOnce() {
+        //given
+        CachingAuthorCrudRepository repository = new CachingAuthorCrudRepository(authorRepository,
+                new EntityCache<>(10, 60_000), new InvalidationGraph());
+        BDDMockito.given(authorRepository.findById(1L)).willReturn(Optional.of(CreatedData.createAuthor(1)));
+        //when
+        Optional<Author> first = repository.findById(1L);
+        Optional<Author> second = repository.findById(1L);
+        //that
+        verify(authorRepository, times(1)).findById(1L);
+        assertThat(second).isPresent().get().usingRecursiveComparison().isEqualTo(first.get());
+        assertThat(repository.getStats().getHits()).isEqualTo(1);
+        assertThat(repository.getStats().getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Editing a returned author does not change the cached one")
+    void givenCachedAuthor_whenCallerEditsCopy_thenCacheUnchanged() {
+        //given
+        CachingAuthorCrudRepository repository = new CachingAuthorCrudRepository(authorRepository,
+                new EntityCache<>(10, 60_000), new InvalidationGraph());
+        BDDMockito.given(authorRepository.findById(1L)).willReturn(Optional.of(CreatedData.createAuthor(1)));
+        //when
+        repository.findById(1L).orElseThrow().setFirstName("changed");
+        //that
+        assertThat(repository.findById(1L)).isPresent().get()
+                .extracting(Author::getFirstName)
+                .isEqualTo(CreatedData.createAuthor(1).getFirstName());
+    }
+
+    @Test
+    @DisplayName("Editing a nested book or publisher of a returned author does not change the cached one")
+    void givenCachedAuthor_whenCallerEditsNestedCopy_thenCacheUnchanged() {
+        //given
+        CachingAuthorCrudRepository repository = new CachingAuthorCrudRepository(authorRepository,
+                new EntityCache<>(10, 60_000), new InvalidationGraph());
+        Author author = CreatedData.createAuthor(1);
+        Book book = CreatedData.createBook(1);
+        book.addPublisher(CreatedData.createPublisher(1));
+        author.addBook(book);
+        BDDMockito.given(authorRepository.findById(1L)).willReturn(Optional.of(author));
+        //when
+        Book copy = repository.findById(1L).orElseThrow().getBooks().get(0);
+        copy.setName("changed");
+        copy.getPublishers().get(0).setName("changed");
+        //that
+        Book cached = repository.findById(1L).orElseThrow().getBooks().get(0);
+        assertThat(cached.getName()).isEqualTo(CreatedData.createBook(1).getName());
+        assertThat(cached.getPublishers().get(0).getName()).isEqualTo(CreatedData.createPublisher(1).getName());
+    }
+
+    @Test
+    @DisplayName("Update evicts the cached author")
+    void givenCachedAuthor_whenUpdated_thenReloaded() {
+        //given
+        CachingAuthorCrudRepository repository = new CachingAuthorCrudRepository(authorRepository,
+                new EntityCache<>(10, 60_000), new InvalidationGraph());
+        Author author = CreatedData.createAuthor(1);
+        BDDMockito.given(authorRepository.findById(1L)).willReturn(Optional.of(author));
+        BDDMockito.given(authorRepository.save(author, 1L)).willReturn(author);
+        repository.findById(1L);
+        //when
+        repository.save(author, 1L);
+        repository.findById(1L);
+        //that
+        verify(authorRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Author loaded while an embedded entity changed is not cached")
+    void givenChangeDuringLoad_whenFindById_thenNotCached() {
+        //given
+        InvalidationGraph graph = new InvalidationGraph();
+        CachingAuthorCrudRepository repository = new CachingAuthorCrudRepository(authorRepository,
+                new EntityCache<>(10, 60_000), graph);
+        BDDMockito.given(authorRepository.findById(1L)).willAnswer(invocation -> {
+            // the author's book changes after the row was read, before any edge exists
+            graph.changed(InvalidationGraph.Ref.book(1));
+            return Optional.of(CreatedData.createAuthor(1));
+        });
+        //when
+        repository.findById(1L);
+        repository.findById(1L);
+        //that
+        verify(authorRepository, times(2)).findById(1L);
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.repository.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.practicum.repository.cache.InvalidationGraph.Kind;
+import ru.practicum.repository.cache.InvalidationGraph.Ref;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeNotificationListenerTest {
+    private final EntityCache<String> authors = new EntityCache<>(10, 60_000);
+    private final EntityCache<String> books = new EntityCache<>(10, 60_000);
+    private final EntityCache<String> publishers = new EntityCache<>(10, 60_000);
+    private final InvalidationGraph graph = new InvalidationGraph();
+    private final ChangeNotificationListener.NameIndexes nameIndexes =
+            Mockito.mock(ChangeNotificationListener.NameIndexes.class);
+    private final ChangeNotificationListener listener = new ChangeNotificationListener(null, graph, nameIndexes,
+            1000, 1000);
+
+    @BeforeEach
+    void setUp() {
+        graph.attach(Kind.AUTHOR, authors);
+        graph.attach(Kind.BOOK, books);
+        graph.attach(Kind.PUBLISHER, publishers);
+        cache(books, Ref.book(1), List.of(Ref.author(1), Ref.publisher(1)));
+        cache(authors, Ref.author(1), List.of(Ref.book(1), Ref.publisher(1)));
+        cache(authors, Ref.author(2), List.of(Ref.book(2)));
+        cache(authors, Ref.author(3), List.of(Ref.book(3)));
+        cache(publishers, Ref.publisher(1), List.of(Ref.book(1), Ref.author(1)));
+        cache(publishers, Ref.publisher(2), List.of(Ref.book(2), Ref.author(2)));
+    }
+
+    @Test
+    @DisplayName("Book moved to another author evicts the book and both authors")
+    void givenBookNotification_whenApplied_thenBookAndAuthorsEvicted() {
+        //when
+        listener.apply("book:2:2:3");
+        //that
+        assertThat(authors.get(2)).isNull();
+        assertThat(authors.get(3)).isNull();
+        assertThat(publishers.get(2)).isNull();
+        assertThat(authors.get(1)).isEqualTo("AUTHOR1");
+        assertThat(books.get(1)).isEqualTo("BOOK1");
+        Mockito.verifyNoInteractions(nameIndexes);
+    }
+
+    @Test
+    @DisplayName("Link between a book and a publisher evicts the book, its aggregates and the publisher")
+    void givenBookPublisherNotification_whenApplied_thenBookAndPublisherEvicted() {
+        //when
+        listener.apply("book_publisher:3:2");
+        //that
+        assertThat(authors.get(3)).isNull();
+        assertThat(publishers.get(2)).isNull();
+        assertThat(authors.get(2)).isEqualTo("AUTHOR2");
+        assertThat(publishers.get(1)).isEqualTo("PUBLISHER1");
+    }
+
+    @Test
+    @DisplayName("Changed author evicts the aggregates embedding it and is reloaded into the name index")
+    void givenAuthorNotification_whenApplied_thenEvictedAndReloaded() {
+        //when
+        listener.apply("author:1");
+        //that
+        assertThat(authors.get(1)).isNull();
+        assertThat(books.get(1)).isNull();
+        assertThat(publishers.get(1)).isNull();
+        assertThat(authors.get(2)).isEqualTo("AUTHOR2");
+        Mockito.verify(nameIndexes).authorChanged(1L);
+    }
+
+    @Test
+    @DisplayName("Bulk flush and unreadable payloads flush every cache and rebuild the name indexes")
+    void givenFlushAndUnknownNotifications_whenApplied_thenEverythingFlushed() {
+        //when
+        listener.apply(ChangeNotificationListener.FLUSH);
+        //that
+        assertThat(authors.size()).isZero();
+        assertThat(books.size()).isZero();
+        assertThat(publishers.size()).isZero();
+        //when
+        cache(authors, Ref.author(1), List.of(Ref.book(1)));
+        listener.apply("book:x");
+        //that
+        assertThat(authors.size()).isZero();
+        Mockito.verify(nameIndexes, Mockito.times(2)).rebuild();
+    }
+
+    private void cache(EntityCache<String> cache, Ref aggregate, List<Ref> embedded) {
+        long generation = cache.generation();
+        graph.link(aggregate, embedded, graph.changeCount());
+        cache.put(aggregate.id(), aggregate.kind().name() + aggregate.id(), generation);
+    }
+}
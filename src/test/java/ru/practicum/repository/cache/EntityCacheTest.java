@@ -0,0 +1,85 @@
+package ru.practicum.repository.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityCacheTest {
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @DisplayName("Cached entity is served until it expires")
+    void givenCachedEntity_whenTtlPasses_thenMiss() {
+        //given
+        EntityCache<String> cache = new EntityCache<>(10, 1000, now::get);
+        cache.put(1, "one", cache.generation());
+        //when
+        String fresh = cache.get(1);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        String expired = cache.get(1);
+        //that
+        assertThat(fresh).isEqualTo("one");
+        assertThat(expired).isNull();
+        assertThat(cache.getStats().getHits()).isEqualTo(1);
+        assertThat(cache.getStats().getMisses()).isEqualTo(1);
+        assertThat(cache.getStats().getEvictions()).isEqualTo(1);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Full cache keeps a frequently read entry over a one-off lookup")
+    void givenFullCache_whenColdEntityLoaded_thenHotEntryKept() {
+        //given
+        EntityCache<String> cache = new EntityCache<>(2, 60_000, now::get);
+        cache.put(1, "hot", cache.generation());
+        cache.put(2, "warm", cache.generation());
+        for (int i = 0; i < 5; i++) {
+            cache.get(1);
+            cache.get(2);
+        }
+        //when
+        cache.get(3);
+        cache.put(3, "cold", cache.generation());
+        //that
+        assertThat(cache.get(1)).isEqualTo("hot");
+        assertThat(cache.get(2)).isEqualTo("warm");
+        assertThat(cache.get(3)).isNull();
+        assertThat(cache.getStats().getEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Full cache replaces the least recently used entry with a more popular one")
+    void givenFullCache_whenPopularEntityLoaded_thenEldestEvicted() {
+        //given
+        EntityCache<String> cache = new EntityCache<>(2, 60_000, now::get);
+        cache.put(1, "one", cache.generation());
+        cache.put(2, "two", cache.generation());
+        for (int i = 0; i < 5; i++) {
+            cache.get(3);
+        }
+        cache.get(2);
+        //when
+        cache.put(3, "three", cache.generation());
+        //that
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(3)).isEqualTo("three");
+    }
+
+    @Test
+    @DisplayName("Entity loaded before an invalidation is not cached")
+    void givenInvalidationDuringLoad_whenPut_thenDropped() {
+        //given
+        EntityCache<String> cache = new EntityCache<>(10, 60_000, now::get);
+        long generation = cache.generation();
+        //when
+        cache.invalidate(1);
+        cache.put(1, "stale", generation);
+        //that
+        assertThat(cache.get(1)).isNull();
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.repository.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.repository.cache.InvalidationGraph.Kind;
+import ru.practicum.repository.cache.InvalidationGraph.Ref;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvalidationGraphTest {
+    private final EntityCache<String> authors = new EntityCache<>(10, 60_000);
+    private final EntityCache<String> books = new EntityCache<>(10, 60_000);
+    private final EntityCache<String> publishers = new EntityCache<>(10, 60_000);
+    private InvalidationGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new InvalidationGraph(3);
+        graph.attach(Kind.AUTHOR, authors);
+        graph.attach(Kind.BOOK, books);
+        graph.attach(Kind.PUBLISHER, publishers);
+    }
+
+    @Test
+    @DisplayName("Changed publisher evicts the cached book and author embedding it")
+    void givenCachedAggregates_whenEmbeddedEntityChanged_thenAggregatesEvicted() {
+        //given
+        cache(books, Ref.book(1), List.of(Ref.author(1), Ref.publisher(1)));
+        cache(authors, Ref.author(1), List.of(Ref.book(1), Ref.publisher(1)));
+        cache(authors, Ref.author(2), List.of(Ref.book(2), Ref.publisher(2)));
+        //when
+        graph.changed(Ref.publisher(1));
+        //that
+        assertThat(books.get(1)).isNull();
+        assertThat(authors.get(1)).isNull();
+        assertThat(authors.get(2)).isEqualTo("AUTHOR2");
+    }
+
+    @Test
+    @DisplayName("Evicted aggregate leaves the aggregates it embeds cached")
+    void givenCachedAggregates_whenAggregateEvicted_thenOnlyOwnEntryEvicted() {
+        //given
+        cache(books, Ref.book(1), List.of(Ref.author(1)));
+        cache(authors, Ref.author(1), List.of(Ref.book(1)));
+        //when
+        graph.evict(Ref.author(1));
+        //that
+        assertThat(authors.get(1)).isNull();
+        assertThat(books.get(1)).isEqualTo("BOOK1");
+    }
+
+    @Test
+    @DisplayName("Tracking more aggregates than allowed flushes every cache")
+    void givenFullGraph_whenAggregateLinked_thenAllCachesFlushed() {
+        //given
+        cache(books, Ref.book(1), List.of(Ref.author(1)));
+        cache(authors, Ref.author(1), List.of(Ref.book(1)));
+        cache(publishers, Ref.publisher(1), List.of(Ref.book(1)));
+        //when
+        cache(publishers, Ref.publisher(2), List.of(Ref.book(2)));
+        //that
+        assertThat(books.size()).isZero();
+        assertThat(authors.size()).isZero();
+        assertThat(publishers.size()).isZero();
+    }
+
+    private void cache(EntityCache<String> cache, Ref aggregate, List<Ref> embedded) {
+        long generation = cache.generation();
+        graph.link(aggregate, embedded, graph.changeCount());
+        cache.put(aggregate.id(), aggregate.kind().name() + aggregate.id(), generation);
+    }
+}
@@ -0,0 +1,157 @@
+package ru.practicum.repository.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.ext.ScriptUtils;
+import org.testcontainers.jdbc.JdbcDatabaseDelegate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.db.ConnectionManager;
+import ru.practicum.model.Book;
+import ru.practicum.model.ImportFormat;
+import ru.practicum.model.ImportSummary;
+import ru.practicum.model.Publisher;
+import ru.practicum.repository.TestPostgresConnection;
+import ru.practicum.repository.author.AuthorCrudRepositoryBase;
+import ru.practicum.repository.book.BookCrudRepository;
+import ru.practicum.repository.book.BookCrudRepositoryBase;
+import ru.practicum.repository.cache.ChangeNotificationListener;
+import ru.practicum.repository.mapping.author.AuthorResultSetExtractor;
+import ru.practicum.repository.mapping.author.AuthorRowMapper;
+import ru.practicum.repository.mapping.book.BookResultSetExtractor;
+import ru.practicum.repository.mapping.book.BookRowMapper;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Testcontainers
+class CatalogImportRepositoryBaseTest {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withInitScripts("./schema.sql", "./data.sql");
+    private ConnectionManager connectionManager;
+    private CatalogImportRepository repository;
+    private BookCrudRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        connectionManager = new TestPostgresConnection(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword());
+        repository = new CatalogImportRepositoryBase(connectionManager);
+        bookRepository = new BookCrudRepositoryBase(connectionManager,
+                new BookRowMapper(),
+                new BookResultSetExtractor());
+        JdbcDatabaseDelegate jdbcDatabaseDelegate = new JdbcDatabaseDelegate(postgres, "");
+        ScriptUtils.runInitScript(jdbcDatabaseDelegate, "./data.sql");
+    }
+
+    @Test
+    @DisplayName("Test import csv resolves existing authors and publishers functionality")
+    void givenCatalogImportRepository_whenImportCsv_thenCorrect() {
+        //given
+        String csv = """
+                name,year,author_first_name,author_last_name,publishers
+                imported1,2001,name1,lastName1,"[{""name"": ""publisher1"", ""city"": ""city1""}]"
+                imported2,2002,new,author,"[{""name"": ""publisher1"", ""city"": ""city1""}, {""name"": ""new"", ""city"": ""city""}]"
+                """;
+        //when
+        ImportSummary actual = repository.importBooks(new StringReader(csv), ImportFormat.CSV);
+        //that
+        assertThat(actual.getRows()).isEqualTo(2);
+        assertThat(actual.getAuthorsCreated()).isEqualTo(1);
+        assertThat(actual.getPublishersCreated()).isEqualTo(1);
+        assertThat(actual.getBooksCreated()).isEqualTo(2);
+        assertThat(actual.getPublisherLinksCreated()).isEqualTo(3);
+        Book imported = bookRepository.findById(6L).orElseThrow();
+        assertThat(imported.getName()).isEqualTo("imported1");
+        assertThat(imported.getAuthor().getId()).isEqualTo(1);
+        assertThat(imported.getPublishers()).extracting(Publisher::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Test import ndjson functionality")
+    void givenCatalogImportRepository_whenImportNdjson_thenCorrect() {
+        //given
+        String ndjson = """
+                {"name": "imported1", "year": 2001, "author": {"firstName": "name2", "lastName": "lastName2"}, "publishers": [{"name": "publisher2", "city": "city2"}]}
+                {"name": "imported \\"quoted\\"", "year": 2002, "author": {"firstName": "name2", "lastName": "lastName2"}}
+                """;
+        //when
+        ImportSummary actual = repository.importBooks(new StringReader(ndjson), ImportFormat.NDJSON);
+        //that
+        assertThat(actual.getRows()).isEqualTo(2);
+        assertThat(actual.getAuthorsCreated()).isZero();
+        assertThat(actual.getBooksCreated()).isEqualTo(2);
+        assertThat(actual.getPublisherLinksCreated()).isEqualTo(1);
+        assertThat(bookRepository.findAll()).hasSize(7)
+                .extracting(Book::getName).contains("imported \"quoted\"");
+    }
+
+    @Test
+    @DisplayName("Test importing the same feed twice skips the books already imported functionality")
+    void givenCatalogImportRepository_whenImportTwice_thenBooksNotDuplicated() {
+        //given
+        String csv = """
+                name,year,author_first_name,author_last_name,publishers
+                imported1,2001,name1,lastName1,"[{""name"": ""publisher1"", ""city"": ""city1""}]"
+                book1,1,name1,lastName1,"[{""name"": ""publisher1"", ""city"": ""city1""}]"
+                """;
+        repository.importBooks(new StringReader(csv), ImportFormat.CSV);
+        //when
+        ImportSummary actual = repository.importBooks(new StringReader(csv), ImportFormat.CSV);
+        //that
+        assertThat(actual.getBooksCreated()).isZero();
+        assertThat(actual.getPublisherLinksCreated()).isZero();
+        assertThat(bookRepository.findAll()).hasSize(6);
+    }
+
+    @Test
+    @DisplayName("Test import with invalid row is rolled back functionality")
+    void givenCatalogImportRepository_whenImportInvalidRow_thenNothingImported() {
+        //given
+        String csv = """
+                name,year,author_first_name,author_last_name,publishers
+                imported1,2001,name1,lastName1,
+                ,2002,name1,lastName1,
+                """;
+        //when
+        //that
+        assertThatThrownBy(() -> repository.importBooks(new StringReader(csv), ImportFormat.CSV))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("null value");
+        assertThat(bookRepository.findAll()).hasSize(5);
+        assertThat(new AuthorCrudRepositoryBase(connectionManager, new AuthorRowMapper(),
+                new AuthorResultSetExtractor()).findAll()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Test import notifies one flush instead of a change per row functionality")
+    void givenCatalogImportRepository_whenImport_thenSingleFlushNotified() throws SQLException {
+        //given
+        String csv = """
+                name,year,author_first_name,author_last_name,publishers
+                imported1,2001,new,author,"[{""name"": ""new"", ""city"": ""city""}]"
+                imported2,2002,name1,lastName1,
+                """;
+        try (Connection listener = connectionManager.getConnection()) {
+            try (Statement statement = listener.createStatement()) {
+                statement.execute("LISTEN " + ChangeNotificationListener.CHANNEL);
+            }
+            //when
+            repository.importBooks(new StringReader(csv), ImportFormat.CSV);
+            PGNotification[] notifications = listener.unwrap(PGConnection.class).getNotifications(1000);
+            //that
+            assertThat(notifications).extracting(PGNotification::getParameter)
+                    .containsExactly(ChangeNotificationListener.FLUSH);
+        }
+    }
+}
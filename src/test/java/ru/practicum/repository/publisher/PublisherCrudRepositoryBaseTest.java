@@ -1,5 +1,7 @@
 package ru.practicum.repository.publisher;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -174,4 +176,74 @@ class PublisherCrudRepositoryBaseTest {
         assertThat(actual).isNotEmpty()
                 .isEqualTo(expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test save all publishers functionality")
+    void givenPublisherCrudRepository_whenSaveAll_thenIdsAssignedInOrder() {
+        //given
+        List<Publisher> publishers = List.of(
+                Publisher.builder().name("name1").city("city1").build(),
+                Publisher.builder().name("name2").city("city2").build());
+        //when
+        List<Publisher> actual = repository.saveAll(publishers);
+        //that
+        assertThat(actual).extracting(Publisher::getId).containsExactlyInAnyOrder(5L, 6L);
+        for (Publisher publisher : actual) {
+            assertThat(repository.findById(publisher.getId())).get()
+                    .extracting(Publisher::getName)
+                    .isEqualTo(publisher.getName());
+        }
+        assertThat(repository.findAll()).hasSize(6);
+    }
+
+    @Test
+    @DisplayName("Test save all publishers null param functionality")
+    void givenPublisherCrudRepository_whenSaveAllNullParam_thenNothingSaved() {
+        //given
+        List<Publisher> publishers = List.of(
+                Publisher.builder().name("name1").city("city1").build(),
+                Publisher.builder().name("name2").build());
+        //when
+        //that
+        assertThatThrownBy(() -> repository.saveAll(publishers)).isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("ERROR: null value");
+        assertThat(repository.findAll()).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Test find aggregates by ids functionality. Each as find by id, books sharing an author")
+    void givenPublisherCrudRepository_whenFindAggregatesByIds_thenEachAsFindById() {
+        //given
+        Publisher withoutBooks = repository.save(CreatedData.createPublisher(5));
+        // publisher 3 publishes books 2 and 5, both by author 1
+        List<Long> ids = List.of(1L, 3L, withoutBooks.getId(), 99L);
+        //when
+        List<Publisher> actual = repository.findAggregatesByIds(ids);
+        //that
+        assertThat(actual).extracting(Publisher::getId).containsExactlyInAnyOrder(1L, 3L, withoutBooks.getId());
+        for (Publisher publisher : actual) {
+            assertThat(publisher).usingRecursiveComparison()
+                    .ignoringCollectionOrder()
+                    .isEqualTo(repository.findById(publisher.getId()).orElseThrow());
+        }
+    }
+
+    @Test
+    @DisplayName("Test find by id publisher as database-built json functionality")
+    void givenPublisherCrudRepository_whenFindJsonById_thenDocument() throws JsonProcessingException {
+        //given
+        String expected = """
+                {"id": 1, "name": "publisher1", "city": "city1", "books": [
+                  {"id": 1, "name": "book1", "year": 1, "author": {"id": 1, "firstName": "name1", "lastName": "lastName1"}},
+                  {"id": 3, "name": "book3", "year": 3, "author": {"id": 2, "firstName": "name2", "lastName": "lastName2"}}
+                ]}
+                """;
+        ObjectMapper objectMapper = new ObjectMapper();
+        //when
+        Optional<String> actual = repository.findJsonById(1L);
+        //that
+        assertThat(actual).isPresent();
+        assertThat(objectMapper.readTree(actual.get())).isEqualTo(objectMapper.readTree(expected));
+        assertThat(repository.findJsonById(99L)).isEmpty();
+    }
+}
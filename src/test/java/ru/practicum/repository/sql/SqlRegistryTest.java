@@ -0,0 +1,27 @@
+package ru.practicum.repository.sql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.db.ConnectionManager;
+import ru.practicum.repository.TestPostgresConnection;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+@Testcontainers
+class SqlRegistryTest {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withInitScripts("./schema.sql");
+
+    @Test
+    @DisplayName("All registered statements are valid against the schema")
+    void givenSchema_whenValidate_thenNoException() {
+        ConnectionManager connectionManager = new TestPostgresConnection(postgres.getJdbcUrl(),
+                postgres.getUsername(), postgres.getPassword());
+
+        assertThatCode(() -> SqlRegistry.validate(connectionManager)).doesNotThrowAnyException();
+    }
+}
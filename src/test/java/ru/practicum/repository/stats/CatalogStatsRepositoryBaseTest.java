@@ -0,0 +1,251 @@
+package ru.practicum.repository.stats;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.ext.ScriptUtils;
+import org.testcontainers.jdbc.JdbcDatabaseDelegate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.db.ConnectionManager;
+import ru.practicum.model.Author;
+import ru.practicum.model.Book;
+import ru.practicum.model.BookCount;
+import ru.practicum.model.Publisher;
+import ru.practicum.repository.TestPostgresConnection;
+import ru.practicum.repository.author.AuthorCrudRepositoryBase;
+import ru.practicum.repository.book.BookCrudRepositoryBase;
+import ru.practicum.repository.mapping.author.AuthorResultSetExtractor;
+import ru.practicum.repository.mapping.author.AuthorRowMapper;
+import ru.practicum.repository.mapping.book.BookResultSetExtractor;
+import ru.practicum.repository.mapping.book.BookRowMapper;
+import ru.practicum.repository.mapping.stats.BookCountRowMapper;
+import ru.practicum.repository.sql.SqlRegistry;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@Testcontainers
+class CatalogStatsRepositoryBaseTest {
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withInitScripts("./schema.sql", "./data.sql");
+    private CatalogStatsRepositoryBase repository;
+    private BookCrudRepositoryBase bookRepository;
+    private AuthorCrudRepositoryBase authorRepository;
+    private ConnectionManager connectionManager;
+
+    @BeforeEach
+    void setUp() {
+        connectionManager = new TestPostgresConnection(postgres.getJdbcUrl(),
+                postgres.getUsername(), postgres.getPassword());
+        repository = new CatalogStatsRepositoryBase(connectionManager, new BookCountRowMapper());
+        bookRepository = new BookCrudRepositoryBase(connectionManager, new BookRowMapper(), new BookResultSetExtractor());
+        authorRepository = new AuthorCrudRepositoryBase(connectionManager, new AuthorRowMapper(),
+                new AuthorResultSetExtractor());
+        JdbcDatabaseDelegate jdbcDatabaseDelegate = new JdbcDatabaseDelegate(postgres, "");
+        ScriptUtils.runInitScript(jdbcDatabaseDelegate, "./data.sql");
+    }
+
+    @Test
+    @DisplayName("Test top authors by book count functionality")
+    void givenStatsRepository_whenFindTopAuthors_thenOrderedByCount() {
+        //given
+        //when
+        List<BookCount> actual = repository.findTopAuthors(2);
+        //that
+        assertThat(actual).extracting(BookCount::getKey).containsExactly(1L, 2L);
+        assertThat(actual.get(0).getBookCount()).isEqualTo(3);
+        assertThat(actual.get(0).getName()).isEqualTo("name1 lastName1");
+    }
+
+    @Test
+    @DisplayName("Test counts follow book save, update and delete functionality")
+    void givenStatsRepository_whenBooksChange_thenCountsMaintained() {
+        //given
+        Book book = Book.builder()
+                .name("new")
+                .year(2)
+                .author(Author.builder().id(2).build())
+                .build();
+        book.addPublisher(Publisher.builder().id(4).build());
+        //when
+        bookRepository.save(book);
+        //that
+        assertThat(repository.findAuthorCount(2)).get().extracting(BookCount::getBookCount).isEqualTo(2L);
+        assertThat(repository.findYearCount(2).getBookCount()).isEqualTo(2);
+        assertThat(repository.findPublisherCount(4)).get().extracting(BookCount::getBookCount).isEqualTo(3L);
+        //when
+        book.setYear(7);
+        book.setAuthor(Author.builder().id(3).build());
+        bookRepository.save(book, book.getId());
+        //that
+        assertThat(repository.findAuthorCount(2)).get().extracting(BookCount::getBookCount).isEqualTo(1L);
+        assertThat(repository.findAuthorCount(3)).get().extracting(BookCount::getBookCount).isEqualTo(2L);
+        assertThat(repository.findYearCount(2).getBookCount()).isEqualTo(1);
+        assertThat(repository.findYearCount(7).getBookCount()).isEqualTo(1);
+        //when
+        bookRepository.delete(book.getId());
+        //that
+        assertThat(repository.findAuthorCount(3)).get().extracting(BookCount::getBookCount).isEqualTo(1L);
+        assertThat(repository.findYearCount(7).getBookCount()).isZero();
+        assertThat(repository.findPublisherCount(4)).get().extracting(BookCount::getBookCount).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Test counts follow author delete cascading to books functionality")
+    void givenStatsRepository_whenAuthorDeleted_thenBookCountsMaintained() {
+        //given
+        //when
+        authorRepository.delete(1L);
+        //that
+        assertThat(repository.findAuthorCount(1)).isEmpty();
+        assertThat(repository.findYearCounts()).extracting(BookCount::getKey).containsExactly(3L, 4L);
+        assertThat(repository.findTopPublishers(10))
+                .extracting(BookCount::getKey, BookCount::getBookCount)
+                .containsExactly(tuple(1L, 1L), tuple(4L, 1L));
+    }
+
+    @Test
+    @DisplayName("Test author delete waits for a book being added to that author functionality")
+    void givenBookInsertInFlight_whenAuthorDeleted_thenNewBookUncountedToo() throws Exception {
+        //given
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Boolean> deleted;
+        try (Connection writer = connectionManager.getConnection()) {
+            writer.setAutoCommit(false);
+            long bookId = insertBook(writer, 2, 9);
+            execute(writer, SqlRegistry.STATS_ADD_BOOK_AUTHOR.getText(), bookId);
+            execute(writer, SqlRegistry.STATS_ADD_BOOK_YEAR.getText(), bookId);
+            //when
+            deleted = executor.submit(() -> authorRepository.delete(2L));
+            awaitLockWait();
+            writer.commit();
+        }
+        //that
+        try {
+            assertThat(deleted.get(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(repository.findYearCount(9).getBookCount()).isZero();
+        assertThat(repository.findYearCount(3).getBookCount()).isZero();
+        assertThat(repository.findPublisherCount(1)).get().extracting(BookCount::getBookCount).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Test concurrent deletes of one book uncount it once functionality")
+    void givenBookDeleteInFlight_whenSameBookDeleted_thenUncountedOnce() throws Exception {
+        //given
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Boolean> deleted;
+        try (Connection writer = connectionManager.getConnection()) {
+            writer.setAutoCommit(false);
+            execute(writer, "select id from books where id = ? for update", 3L);
+            execute(writer, SqlRegistry.STATS_REMOVE_BOOK_AUTHOR.getText(), 3L);
+            execute(writer, SqlRegistry.STATS_REMOVE_BOOK_YEAR.getText(), 3L);
+            execute(writer, SqlRegistry.STATS_REMOVE_BOOK_PUBLISHERS.getText(), 3L);
+            execute(writer, "delete from books where id = ?", 3L);
+            //when
+            deleted = executor.submit(() -> bookRepository.delete(3L));
+            awaitLockWait();
+            writer.commit();
+        }
+        //that
+        try {
+            assertThat(deleted.get(10, TimeUnit.SECONDS)).isFalse();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(repository.findAuthorCount(2)).get().extracting(BookCount::getBookCount).isEqualTo(0L);
+        assertThat(repository.findYearCount(3).getBookCount()).isZero();
+        assertThat(repository.findPublisherCount(1)).get().extracting(BookCount::getBookCount).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Test top authors and publishers are served from the book count indexes functionality")
+    void givenStatsRepository_whenExplainTopCounts_thenIndexUsed() throws SQLException {
+        //given
+        //when
+        String authorsPlan = explain(SqlRegistry.STATS_AUTHOR_COUNTS.getText(), 10);
+        String publishersPlan = explain(SqlRegistry.STATS_PUBLISHER_COUNTS.getText(), 10);
+        //that
+        assertThat(authorsPlan).contains("ix_author_book_counts_book_count");
+        assertThat(publishersPlan).contains("ix_publisher_book_counts_book_count");
+    }
+
+    private long insertBook(Connection connection, long authorId, int year) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "insert into books (name, author_id, year) values ('racing', ?, ?) returning id")) {
+            ps.setLong(1, authorId);
+            ps.setInt(2, year);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private void execute(Connection connection, String sql, long id) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, id);
+            ps.execute();
+        }
+    }
+
+    /**
+     * Returns once another session is blocked on a lock, which here is the repository call under test.
+     */
+    private void awaitLockWait() throws SQLException, InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        try (Connection connection = connectionManager.getConnection();
+             Statement statement = connection.createStatement()) {
+            while (System.currentTimeMillis() < deadline) {
+                try (ResultSet rs = statement.executeQuery("select count(*) from pg_locks where not granted")) {
+                    rs.next();
+                    if (rs.getLong(1) > 0) {
+                        return;
+                    }
+                }
+                Thread.sleep(20);
+            }
+        }
+        throw new IllegalStateException("The concurrent write never waited for a lock");
+    }
+
+    /**
+     * The test tables are far too small for the planner to prefer an index on its own, so
+     * sequential scans are priced out for the session.
+     */
+    private String explain(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = connectionManager.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set enable_seqscan = off");
+            }
+            try (PreparedStatement ps = connection.prepareStatement("explain " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    ps.setObject(i + 1, parameters[i]);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+    private static final int CALLERS = 8;
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    @DisplayName("Concurrent calls for the same key share one load")
+    void givenConcurrentCalls_whenSameKey_thenLoadedOnce() throws Exception {
+        //given
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        List<Future<String>> results = new ArrayList<>();
+        //when
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "book";
+                })));
+            }
+            while (singleFlight.getStats().collapsed() < CALLERS - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            //that
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("book");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(singleFlight.getStats()).isEqualTo(new SingleFlight.Stats(1, CALLERS - 1, 0));
+    }
+
+    @Test
+    @DisplayName("Completed call is not reused, and its exception reaches the caller")
+    void givenFailedCall_whenCalledAgain_thenLoadedAgain() {
+        //given
+        AtomicInteger loads = new AtomicInteger();
+        //when
+        assertThatThrownBy(() -> singleFlight.execute(1L, () -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+        String actual = singleFlight.execute(1L, () -> {
+            loads.incrementAndGet();
+            return "book";
+        });
+        //that
+        assertThat(actual).isEqualTo("book");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Call started after the key was forgotten does not join the running one")
+    void givenForgottenKey_whenCalled_thenLoadedAgain() throws Exception {
+        //given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        //when
+        String actual;
+        Future<String> running;
+        try {
+            running = executor.submit(() -> singleFlight.execute(1L, () -> {
+                started.countDown();
+                await(release);
+                return "before write";
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            singleFlight.forget(1L);
+            actual = singleFlight.execute(1L, () -> "after write");
+            release.countDown();
+            //that
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("before write");
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(actual).isEqualTo("after write");
+        assertThat(singleFlight.getStats()).isEqualTo(new SingleFlight.Stats(2, 0, 0));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
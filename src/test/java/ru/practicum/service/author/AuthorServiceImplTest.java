@@ -6,11 +6,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.model.Author;
+import ru.practicum.model.LookupResult;
 import ru.practicum.repository.author.AuthorCrudRepository;
+import ru.practicum.repository.cache.InvalidationGraph;
+import ru.practicum.service.suggest.PrefixIndex;
+import ru.practicum.service.suggest.SuggestionIndexes;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -23,6 +29,10 @@ import static org.mockito.Mockito.verify;
 class AuthorServiceImplTest {
     @Mock
     private AuthorCrudRepository authorCrudRepository;
+    @Spy
+    private PrefixIndex<Author> suggestions = SuggestionIndexes.authors();
+    @Mock
+    private InvalidationGraph invalidation;
     @InjectMocks
     private AuthorServiceImpl authorService;
 
@@ -68,4 +78,59 @@ class AuthorServiceImplTest {
         assertThat(actual).isEqualTo(expected);
         verify(authorCrudRepository, times(1)).save(expected, expected.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Create authors in batch functionality")
+    void givenAuthorService_whenCreateAll_thenSavedInOneCall() {
+        //given
+        List<Author> authors = List.of(Author.builder().firstName("first").lastName("last").build());
+        BDDMockito.given(authorCrudRepository.saveAll(authors)).willReturn(authors);
+        //when
+        List<Author> actual = authorService.createAll(authors);
+        //that
+        assertThat(actual).isEqualTo(authors);
+        verify(authorCrudRepository, times(1)).saveAll(authors);
+    }
+
+    @Test
+    @DisplayName("Get author json not exist functionality")
+    void givenAuthorService_whenGetJsonByIdNotExist_thenException() {
+        //given
+        BDDMockito.given(authorCrudRepository.findJsonById(anyLong())).willReturn(Optional.empty());
+        //when
+        //that
+        assertThrows(NotFoundException.class, () -> authorService.getJsonById(1L));
+    }
+
+    @Test
+    @DisplayName("Get authors by ids functionality. Request order kept, missing ids reported")
+    void givenAuthorService_whenGetAllByIds_thenRequestOrderAndMissingIds() {
+        //given
+        Author first = Author.builder().id(1).firstName("first").lastName("first").build();
+        Author third = Author.builder().id(3).firstName("third").lastName("third").build();
+        List<Long> ids = List.of(3L, 2L, 1L);
+        BDDMockito.given(authorCrudRepository.findAllByIds(ids)).willReturn(List.of(first, third));
+        //when
+        LookupResult<Author> actual = authorService.getAllByIds(ids);
+        //that
+        assertThat(actual.getFound()).containsExactly(third, first);
+        assertThat(actual.getMissingIds()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Created and deleted authors are reflected in suggestions functionality")
+    void givenAuthorService_whenCreateAndDelete_thenSuggestionsUpdated() {
+        //given
+        Author author = Author.builder().firstName("Lev").lastName("Tolstoy").build();
+        Author created = Author.builder().id(7).firstName("Lev").lastName("Tolstoy").build();
+        BDDMockito.given(authorCrudRepository.save(author)).willReturn(created);
+        BDDMockito.given(authorCrudRepository.delete(7L)).willReturn(true);
+        //when
+        authorService.create(author);
+        List<Author> afterCreate = authorService.suggest("tol", 10);
+        authorService.deleteById(7L);
+        //that
+        assertThat(afterCreate).containsExactly(created);
+        assertThat(authorService.suggest("tol", 10)).isEmpty();
+    }
+}
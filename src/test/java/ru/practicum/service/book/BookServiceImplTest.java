@@ -6,16 +6,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.model.Book;
+import ru.practicum.model.BookFilter;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
+import ru.practicum.model.Publisher;
 import ru.practicum.repository.book.BookCrudRepository;
+import ru.practicum.repository.cache.EntityCache;
+import ru.practicum.repository.cache.InvalidationGraph;
+import ru.practicum.repository.cache.MissingIdCache;
 import ru.practicum.repository.dataUtils.CreatedData;
+import ru.practicum.service.SingleFlight;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -25,6 +37,12 @@ class BookServiceImplTest {
 
     @Mock
     private BookCrudRepository repository;
+    @Mock
+    private InvalidationGraph invalidation;
+    @Spy
+    private MissingIdCache missingIds = new MissingIdCache(new EntityCache<>(10, 60_000));
+    @Spy
+    private SingleFlight coalescing = new SingleFlight();
     @InjectMocks
     private BookServiceImpl service;
 
@@ -41,6 +59,8 @@ class BookServiceImplTest {
         //that
         assertThat(actual).isEqualTo(book);
         verify(repository, times(1)).save(book, book.getId());
+        verify(invalidation, times(1)).changed(InvalidationGraph.Ref.book(book.getId()));
+        verify(coalescing, times(2)).forget(any());
     }
 
     @Test
@@ -69,5 +89,46 @@ class BookServiceImplTest {
         //that
         assertThat(actual).isEqualTo(book);
         verify(repository, times(1)).save(book, book.getId());
+        verify(invalidation, times(1)).evict(InvalidationGraph.Ref.author(book.getAuthor().getId()));
+    }
+
+    @Test
+    @DisplayName("Get page of books with publishers functionality")
+    void givenBookService_whenGetAllBooksWithPublishers_thenPublishersStitched() {
+        //given
+        Book book1 = Book.builder().id(1L).name("book1").year(1).build();
+        Book book2 = Book.builder().id(2L).name("book2").year(2).build();
+        Publisher publisher = CreatedData.createPublisher(1);
+        PageRequest pageRequest = PageRequest.first(2);
+        BDDMockito.given(repository.findAll(BookFilter.NONE, pageRequest)).willReturn(new Page<>(List.of(book1, book2), 2L));
+        BDDMockito.given(repository.findPublishersByBookIds(List.of(1L, 2L)))
+                .willReturn(Map.of(1L, List.of(publisher)));
+        //when
+        Page<Book> actual = service.getAllBooksWithPublishers(BookFilter.NONE, pageRequest);
+        //that
+        assertThat(actual.getItems().get(0).getPublishers()).containsExactly(publisher);
+        assertThat(actual.getItems().get(1).getPublishers()).isEmpty();
+        assertThat(actual.getNextAfterId()).isEqualTo(2L);
+        verify(repository, times(1)).findPublishersByBookIds(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Missing book is looked up once until it is created")
+    void givenMissingBook_whenGetByIdRepeated_thenAnsweredFromMissingIds() {
+        //given
+        Book book = CreatedData.createBook(1);
+        BDDMockito.given(repository.findById(1L)).willReturn(Optional.empty(), Optional.of(book));
+        BDDMockito.given(repository.save(book)).willReturn(book);
+        //when
+        assertThrows(NotFoundException.class, () -> service.getById(1L));
+        assertThrows(NotFoundException.class, () -> service.getById(1L));
+        Optional<String> versionTag = service.getVersionTag(1L);
+        service.create(book);
+        Book actual = service.getById(1L);
+        //that
+        assertThat(versionTag).isEmpty();
+        assertThat(actual).isEqualTo(book);
+        verify(repository, times(2)).findById(1L);
+        verify(repository, times(0)).findVersionTag(1L);
     }
-}
\ No newline at end of file
+}
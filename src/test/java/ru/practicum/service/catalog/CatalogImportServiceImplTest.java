@@ -0,0 +1,56 @@
+package ru.practicum.service.catalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.model.ImportFormat;
+import ru.practicum.model.ImportSummary;
+import ru.practicum.repository.catalog.CatalogImportRepository;
+
+import java.io.Reader;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogImportServiceImplTest {
+
+    @Mock
+    private CatalogImportRepository repository;
+    @Mock
+    private Runnable afterImport;
+    @InjectMocks
+    private CatalogImportServiceImpl service;
+
+    @Test
+    @DisplayName("Import delegates the feed to the repository functionality")
+    void givenCatalogImportService_whenImport_thenSummaryReturned() {
+        //given
+        Reader source = new StringReader("");
+        ImportSummary summary = new ImportSummary(2, 1, 1, 2, 3);
+        BDDMockito.given(repository.importBooks(source, ImportFormat.NDJSON)).willReturn(summary);
+        //when
+        ImportSummary actual = service.importBooks(source, ImportFormat.NDJSON);
+        //that
+        assertThat(actual).isSameAs(summary);
+        verify(afterImport).run();
+    }
+
+    @Test
+    @DisplayName("Import without format functionality")
+    void givenCatalogImportService_whenImportWithoutFormat_thenException() {
+        //given
+        //when
+        //that
+        assertThrows(NullPointerException.class, () -> service.importBooks(new StringReader(""), null));
+        verify(repository, never()).importBooks(any(), any());
+    }
+}
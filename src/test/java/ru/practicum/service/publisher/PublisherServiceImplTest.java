@@ -6,11 +6,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.model.Publisher;
 import ru.practicum.repository.dataUtils.CreatedData;
 import ru.practicum.repository.publisher.PublisherCrudRepository;
+import ru.practicum.repository.cache.InvalidationGraph;
+import ru.practicum.service.suggest.PrefixIndex;
+import ru.practicum.service.suggest.SuggestionIndexes;
 
 import java.util.Optional;
 
@@ -25,6 +29,10 @@ class PublisherServiceImplTest {
 
     @Mock
     private PublisherCrudRepository repository;
+    @Spy
+    private PrefixIndex<Publisher> suggestions = SuggestionIndexes.publishers();
+    @Mock
+    private InvalidationGraph invalidation;
     @InjectMocks
     private PublisherServiceImpl service;
 
@@ -0,0 +1,47 @@
+package ru.practicum.service.stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.exception.NotFoundException;
+import ru.practicum.model.BookCount;
+import ru.practicum.repository.stats.CatalogStatsRepository;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogStatsServiceImplTest {
+    @Mock
+    private CatalogStatsRepository repository;
+    @InjectMocks
+    private CatalogStatsServiceImpl service;
+
+    @Test
+    @DisplayName("Get book count of an author functionality")
+    void givenStatsService_whenGetAuthorCount_thenCount() {
+        //given
+        BookCount count = new BookCount(1, "name1 lastName1", 3);
+        BDDMockito.given(repository.findAuthorCount(1)).willReturn(Optional.of(count));
+        //when
+        BookCount actual = service.getAuthorCount(1);
+        //that
+        assertThat(actual).isSameAs(count);
+    }
+
+    @Test
+    @DisplayName("Get book count of a not existing publisher functionality")
+    void givenStatsService_whenGetPublisherCountNotExist_thenException() {
+        //given
+        BDDMockito.given(repository.findPublisherCount(99)).willReturn(Optional.empty());
+        //when
+        //that
+        assertThrows(NotFoundException.class, () -> service.getPublisherCount(99));
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.service.suggest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.model.Author;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixIndexTest {
+    private final PrefixIndex<Author> index = SuggestionIndexes.authors();
+
+    @Test
+    @DisplayName("Suggest by first or last name prefix, case and whitespace insensitive")
+    void givenIndex_whenSuggest_thenMatchedByEitherName() {
+        //given
+        Author tolstoy = author(1, "Лев", "Толстой");
+        Author tolkien = author(2, "John", "Tolkien");
+        Author pushkin = author(3, "Александр", "Пушкин");
+        index.replaceAll(List.of(tolstoy, tolkien, pushkin));
+        //when
+        //that
+        assertThat(index.suggest("  толс", 10)).containsExactly(tolstoy);
+        assertThat(index.suggest("TOL", 10)).containsExactly(tolkien);
+        assertThat(index.suggest("john  tol", 10)).containsExactly(tolkien);
+        assertThat(index.suggest("лев", 10)).containsExactly(tolstoy);
+        assertThat(index.suggest("x", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Author matching through both keys is suggested once")
+    void givenAuthorMatchingTwice_whenSuggest_thenNoDuplicates() {
+        //given
+        Author author = author(1, "Anna", "Adams");
+        index.replaceAll(List.of(author, author(2, "Arthur", "Brown")));
+        //when
+        List<Author> actual = index.suggest("a", 1);
+        //that
+        assertThat(actual).containsExactly(author);
+        assertThat(index.suggest("a", 10)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Incremental put replaces the old name and remove drops the author")
+    void givenIndex_whenPutAndRemove_thenUpdated() {
+        //given
+        index.replaceAll(List.of(author(1, "Fyodor", "Dostoevsky")));
+        //when
+        index.put(author(1, "Fedor", "Dostoevsky"));
+        index.put(author(2, "Ivan", "Turgenev"));
+        //that
+        assertThat(index.suggest("fyo", 10)).isEmpty();
+        assertThat(index.suggest("fed", 10)).extracting(Author::getId).containsExactly(1L);
+        index.remove(1);
+        assertThat(index.suggest("dost", 10)).isEmpty();
+        assertThat(index.suggest("turg", 10)).extracting(Author::getId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Keys with the same prefix come back in alphabetical order")
+    void givenSeveralMatches_whenSuggest_thenSorted() {
+        //given
+        index.put(author(3, "Mark", "Twain"));
+        index.put(author(1, "Maria", "Remarque"));
+        index.put(author(2, "Marina", "Tsvetaeva"));
+        //when
+        List<Author> actual = index.suggest("mar", 10);
+        //that
+        assertThat(actual).extracting(Author::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Putting several authors at once keeps the same order as a rebuild")
+    void givenIndex_whenPutAll_thenSameOrderAsReplaceAll() {
+        //given
+        List<Author> existing = List.of(author(1, "Maria", "Remarque"), author(4, "Boris", "Pasternak"));
+        List<Author> added = List.of(author(3, "Mark", "Twain"), author(2, "Marina", "Tsvetaeva"),
+                author(5, "Anna", "Akhmatova"));
+        PrefixIndex<Author> rebuilt = SuggestionIndexes.authors();
+        rebuilt.replaceAll(Stream.concat(existing.stream(), added.stream()).toList());
+        index.replaceAll(existing);
+        //when
+        index.putAll(added);
+        //that
+        assertThat(index.size()).isEqualTo(rebuilt.size());
+        for (String prefix : List.of("", "mar", "t", "a")) {
+            assertThat(index.suggest(prefix, 10)).containsExactlyElementsOf(rebuilt.suggest(prefix, 10));
+        }
+    }
+
+    private static Author author(long id, String firstName, String lastName) {
+        return Author.builder().id(id).firstName(firstName).lastName(lastName).build();
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.servlet;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +15,8 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.model.Author;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
 import ru.practicum.repository.dataUtils.CreatedData;
 import ru.practicum.service.author.AuthorService;
 import ru.practicum.servlet.dto.author.AuthorRequestDto;
@@ -28,6 +31,7 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
@@ -54,7 +58,7 @@ class AuthorServletTest {
     void givenAuthorServlet_whenDoGetAll_thenCorrect() throws ServletException, IOException {
         BDDMockito.given(request.getPathInfo()).willReturn("");
         Author author = CreatedData.createAuthor(1);
-        BDDMockito.given(authorService.getAll()).willReturn(List.of(author));
+        BDDMockito.given(authorService.getAll(any(PageRequest.class))).willReturn(new Page<>(List.of(author), null));
         BDDMockito.given(authorMapper.authorListToResponseDtoShortList(anyList()))
                 .willReturn(List.of(new AuthorResponseDtoShort()));
         StringWriter stringWriter = new StringWriter();
@@ -62,7 +66,7 @@ class AuthorServletTest {
         BDDMockito.given(response.getWriter()).willReturn(writer);
         authorServlet.doGet(request, response);
         verify(request, times(1)).getPathInfo();
-        verify(authorService, times(1)).getAll();
+        verify(authorService, times(1)).getAll(any(PageRequest.class));
         verify(authorService, times(0)).getById(anyLong());
         verify(authorMapper, times(1)).authorListToResponseDtoShortList(anyList());
         verify(response, times(1)).getWriter();
@@ -76,15 +80,43 @@ class AuthorServletTest {
         BDDMockito.given(authorService.getById(anyLong())).willReturn(author);
         BDDMockito.given(authorMapper.authorToResponseDto(author))
                 .willReturn(new AuthorResponseDto());
-        StringWriter stringWriter = new StringWriter();
-        PrintWriter writer = new PrintWriter(stringWriter);
-        BDDMockito.given(response.getWriter()).willReturn(writer);
+        ServletOutputStream outputStream = Mockito.mock(ServletOutputStream.class);
+        BDDMockito.given(response.getOutputStream()).willReturn(outputStream);
         authorServlet.doGet(request, response);
         verify(request, times(1)).getPathInfo();
         verify(authorService, times(0)).getAll();
         verify(authorService, times(1)).getById(anyLong());
         verify(authorMapper, times(1)).authorToResponseDto(author);
-        verify(response, times(1)).getWriter();
+        verify(outputStream, times(1)).write(any(byte[].class));
+    }
+
+    @Test
+    @DisplayName("Endpoint /author/{id} GET request functionality. Get by id sends the version as ETag")
+    void givenAuthorServlet_whenDoGetByIdWithStaleETag_thenBodyAndETag() throws ServletException, IOException {
+        BDDMockito.given(request.getPathInfo()).willReturn("/1");
+        BDDMockito.given(request.getHeader("If-None-Match")).willReturn("\"v1\"");
+        BDDMockito.given(authorService.getVersionTag(1L)).willReturn(Optional.of("v2"));
+        Author author = CreatedData.createAuthor(1);
+        BDDMockito.given(authorService.getById(anyLong())).willReturn(author);
+        BDDMockito.given(authorMapper.authorToResponseDto(author)).willReturn(new AuthorResponseDto());
+        ServletOutputStream outputStream = Mockito.mock(ServletOutputStream.class);
+        BDDMockito.given(response.getOutputStream()).willReturn(outputStream);
+        authorServlet.doGet(request, response);
+        verify(response, times(1)).setHeader("ETag", "\"v2\"");
+        verify(response, times(0)).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(authorService, times(1)).getById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Endpoint /author/{id} GET request functionality. Unchanged author answers not modified")
+    void givenAuthorServlet_whenDoGetByIdWithCurrentETag_thenNotModified() throws ServletException, IOException {
+        BDDMockito.given(request.getPathInfo()).willReturn("/1");
+        BDDMockito.given(request.getHeader("If-None-Match")).willReturn("\"v2\"");
+        BDDMockito.given(authorService.getVersionTag(1L)).willReturn(Optional.of("v2"));
+        authorServlet.doGet(request, response);
+        verify(response, times(1)).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(authorService, times(0)).getById(anyLong());
+        verify(response, times(0)).getWriter();
     }
 
     @Test
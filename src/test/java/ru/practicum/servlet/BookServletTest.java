@@ -1,18 +1,28 @@
 package ru.practicum.servlet;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.model.Book;
+import ru.practicum.model.BookFilter;
+import ru.practicum.model.LookupResult;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
+import ru.practicum.model.SearchRequest;
+import ru.practicum.model.SearchResult;
+import ru.practicum.repository.cache.EntityCache;
 import ru.practicum.repository.dataUtils.CreatedData;
 import ru.practicum.service.book.BookService;
 import ru.practicum.servlet.dto.book.BookDto;
@@ -20,6 +30,8 @@ import ru.practicum.servlet.dto.book.BookResponseDto;
 import ru.practicum.servlet.dto.book.BookUpdateDto;
 import ru.practicum.servlet.dto.book.BookWithPublisherDto;
 import ru.practicum.servlet.dto.mapping.BookMapper;
+import ru.practicum.servlet.utils.Pagination;
+import ru.practicum.servlet.utils.ResponseCache;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -28,7 +40,11 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -41,6 +57,8 @@ class BookServletTest {
     private BookService service;
     @Mock
     private BookMapper mapper;
+    @Spy
+    private ResponseCache responseCache = new ResponseCache(new EntityCache<>(10, 60_000));
     @InjectMocks
     private BookServlet publisherServlet = new BookServlet();
 
@@ -54,7 +72,8 @@ class BookServletTest {
     void givenBookServlet_whenDoGetAll_thenCorrect() throws IOException {
         BDDMockito.given(request.getPathInfo()).willReturn("");
         Book book = CreatedData.createBook(1);
-        BDDMockito.given(service.getAllBooks()).willReturn(List.of(book));
+        BDDMockito.given(service.getAllBooks(any(BookFilter.class), any(PageRequest.class)))
+                .willReturn(new Page<>(List.of(book), null));
         BDDMockito.given(mapper.toBookResponseDtoList(anyList()))
                 .willReturn(List.of(new BookResponseDto()));
         StringWriter stringWriter = new StringWriter();
@@ -62,12 +81,202 @@ class BookServletTest {
         BDDMockito.given(response.getWriter()).willReturn(writer);
         publisherServlet.doGet(request, response);
         verify(request, times(1)).getPathInfo();
-        verify(service, times(1)).getAllBooks();
+        verify(service, times(1)).getAllBooks(any(BookFilter.class), any(PageRequest.class));
         verify(service, times(0)).getById(anyLong());
         verify(mapper, times(1)).toBookResponseDtoList(anyList());
         verify(response, times(1)).getWriter();
     }
 
+    @Test
+    @DisplayName("Endpoint /book GET request functionality. Unchanged page answers not modified")
+    void givenBookServlet_whenDoGetAllWithCurrentETag_thenNotModified() throws IOException {
+        BDDMockito.given(request.getPathInfo()).willReturn("");
+        BDDMockito.given(request.getHeader("If-None-Match")).willReturn("W/\"v1\", \"v2\"");
+        BDDMockito.given(service.getPageVersionTag(any(BookFilter.class), any(PageRequest.class))).willReturn("v2");
+        publisherServlet.doGet(request, response);
+        verify(response, times(1)).setHeader("ETag", "\"v2\"");
+        verify(response, times(1)).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(service, times(0)).getAllBooks(any(BookFilter.class), any(PageRequest.class));
+        verify(response, times(0)).getWriter();
+    }
+
+    @Test
+    @DisplayName("Endpoint /book GET request functionality. Next page is linked")
+    void givenBookServlet_whenDoGetAllWithNextPage_thenLinkHeader() throws IOException {
+        BDDMockito.given(request.getPathInfo()).willReturn("");
+        BDDMockito.given(request.getParameter("limit")).willReturn("1");
+        BDDMockito.given(request.getParameterMap()).willReturn(Map.of("limit", new String[]{"1"}));
+        BDDMockito.given(request.getRequestURL()).willReturn(new StringBuffer("http://localhost/books"));
+        Book book = CreatedData.createBook(1);
+        BDDMockito.given(service.getAllBooks(any(BookFilter.class), any(PageRequest.class)))
+                .willReturn(new Page<>(List.of(book), 1L));
+        BDDMockito.given(response.getWriter()).willReturn(new PrintWriter(new StringWriter()));
+        publisherServlet.doGet(request, response);
+        verify(response, times(1)).setHeader("Link",
+                "<http://localhost/books?limit=1&cursor=" + Pagination.encodeCursor(1) + ">; rel=\"next\"");
+    }
+
+    @Test
+    @DisplayName("Endpoint /book GET request functionality. Invalid cursor")
+    void givenBookServlet_whenDoGetAllWithInvalidCursor_thenBadRequest() throws IOException {
+        BDDMockito.given(request.getPathInfo()).willReturn("");
+        BDDMockito.given(request.getParameter("cursor")).willReturn("not-a-cursor");
+        BDDMockito.given(response.getWriter()).willReturn(new PrintWriter(new StringWriter()));
+        publisherServlet.doGet(request, response);
+        verify(response, times(1)).setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        verify(service, times(0)).getAllBooks(any(BookFilter.class), any(PageRequest.class));
+    }
+
+    @Test
+    @DisplayName("Endpoint /book?stream=true GET request functionality. Books streamed as array")
+    void givenBookServlet_whenDoGetAllStreamed_thenJsonArray() throws IOException {
+        BDDMockito.given(request.getPathInfo()).willReturn("");
+        BDDMockito.given(request.getParameter("stream")).willReturn("true");
+        BDDMockito.willAnswer(invocation -> {
+            Consumer<Book> action = invocation.getArgument(0);
+            action.accept(CreatedData.createBook(1));
+            action.accept(CreatedData.createBook(2));
+            return null;
+        }).given(service).streamAllBooks(any());
+        BDDMockito.given(mapper.toBookResponseDto(any(Book.class)))
+                .willAnswer(invocation -> new BookResponseDto(invocation.<Book>getArgument(0).getId(), "book", 1, null));
+        StringWriter stringWriter = new StringWriter();
+        BDDMockito.given(response.getWriter()).willReturn(new PrintWriter(stringWriter));
+        publisherServlet.doGet(request, response);
+        BookResponseDto[] actual = objectMapper.readValue(stringWriter.toString(), BookResponseDto[].class);
+        assertThat(actual).extracting(BookResponseDto::getId).containsExactly(1L, 2L);
+        verify(service, times(0)).getAllBooks(any(BookFilter.class), any(PageRequest.class));
+    }
+
+    @Test
+    @DisplayName("Endpoint /book?expand=publishers GET request functionality. Publishers included")
+    void givenBookServlet_whenDoGetAllExpandPublishers_thenBooksWithPublishers() throws IOException {
+        BDDMockito.given(request.getPathInfo()).willReturn("");
+        BDDMockito.given(request.getParameter("expand")).willReturn("publishers");
+        Book book = CreatedData.createBook(1);
+        BDDMockito.given(service.getAllBooksWithPublishers(any(BookFilter.class), any(PageRequest.class)))
+                .willReturn(new Page<>(List.of(book), null));
+        BDDMockito.given(mapper.toBookWithPublisherDtoList(anyList()))
+                .willReturn(List.of(new BookWithPublisherDto()));
+        BDDMockito.given(response.getWriter()).willReturn(new PrintWriter(new StringWriter()));
+        publisherServlet.doGet(request, response);
+        verify(service, times(0)).getAllBooks(any(BookFilter.class), any(PageRequest.class));
+        verify(mapper, times(1)).toBookWithPublisherDtoList(anyList());
+    }
+
+    @Test
+    @DisplayName("Endpoint /book?ids=1,2 GET request functionality. Missing ids reported in header")
+    void givenBookServlet_whenDoGetByIds_thenMissingIdsHeader() throws IOException {
+        BDDMockito.given(request.getPathInfo()).willReturn("");
+        BDDMockito.given(request.getParameter("ids")).willReturn("1,2,1");
+        Book book = CreatedData.createBook(1);
+        BDDMockito.given(service.getBooksByIds(List.of(1L, 2L)))
+                .willReturn(new LookupResult<>(List.of(book), List.of(2L)));
+        BDDMockito.given(response.getWriter()).willReturn(new PrintWriter(new StringWriter()));
+        publisherServlet.doGet(request, response);
+        verify(service, times(0)).getAllBooks(any(BookFilter.class), any(PageRequest.class));
+        verify(response, times(1)).setHeader("X-Missing-Ids", "2");
+    }
+
+    @Test
+    @DisplayName("Endpoint /book?ids=abc GET request functionality. Bad request")
+    void givenBookServlet_whenDoGetByInvalidIds_thenBadRequest() throws IOException {
+        BDDMockito.given(request.getPathInfo()).willReturn("");
+        BDDMockito.given(request.getParameter("ids")).willReturn("1,abc");
+        BDDMockito.given(response.getWriter()).willReturn(new PrintWriter(new StringWriter()));
+        publisherServlet.doGet(request, response);
+        verify(response, times(1)).setStatus(HttpServletResponse.SC_BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("Endpoint /book?authorId=1&yearFrom=2000 GET request functionality. Filter passed to service")
+    void givenBookServlet_whenDoGetAllFiltered_thenFilterPassed() throws IOException {
+        BDDMockito.given(request.getPathInfo()).willReturn("");
+        BDDMockito.given(request.getParameter("authorId")).willReturn("1");
+        BDDMockito.given(request.getParameter("yearFrom")).willReturn("2000");
+        BDDMockito.given(service.getAllBooks(any(BookFilter.class), any(PageRequest.class)))
+                .willReturn(new Page<>(List.of(), null));
+        BDDMockito.given(response.getWriter()).willReturn(new PrintWriter(new StringWriter()));
+        ArgumentCaptor<BookFilter> filter = ArgumentCaptor.forClass(BookFilter.class);
+        publisherServlet.doGet(request, response);
+        verify(service, times(1)).getAllBooks(filter.capture(), any(PageRequest.class));
+        assertThat(filter.getValue().getAuthorId()).isEqualTo(1L);
+        assertThat(filter.getValue().getYearFrom()).isEqualTo(2000);
+        assertThat(filter.getValue().getYearTo()).isNull();
+        assertThat(filter.getValue().getPublisherId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Endpoint /book?yearFrom=2000&yearTo=1990 GET request functionality. Bad request")
+    void givenBookServlet_whenDoGetAllInvertedYearRange_thenBadRequest() throws IOException {
+        BDDMockito.given(request.getPathInfo()).willReturn("");
+        BDDMockito.given(request.getParameter("yearFrom")).willReturn("2000");
+        BDDMockito.given(request.getParameter("yearTo")).willReturn("1990");
+        BDDMockito.given(response.getWriter()).willReturn(new PrintWriter(new StringWriter()));
+        publisherServlet.doGet(request, response);
+        verify(service, times(0)).getAllBooks(any(BookFilter.class), any(PageRequest.class));
+        verify(response, times(1)).setStatus(HttpServletResponse.SC_BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("Endpoint /book/search?q= GET request functionality. Next page is linked")
+    void givenBookServlet_whenDoGetSearch_thenNextLinkSet() throws IOException {
+        BDDMockito.given(request.getPathInfo()).willReturn("/search");
+        BDDMockito.given(request.getParameter("q")).willReturn("tolstoy");
+        BDDMockito.given(request.getParameter("limit")).willReturn("1");
+        BDDMockito.given(request.getRequestURL()).willReturn(new StringBuffer("http://localhost/books/search"));
+        BDDMockito.given(request.getParameterMap()).willReturn(Map.of("q", new String[]{"tolstoy"}));
+        Book book = CreatedData.createBook(1);
+        BDDMockito.given(service.search(any(SearchRequest.class))).willReturn(new SearchResult<>(List.of(book), 1));
+        BDDMockito.given(response.getWriter()).willReturn(new PrintWriter(new StringWriter()));
+        ArgumentCaptor<SearchRequest> searchRequest = ArgumentCaptor.forClass(SearchRequest.class);
+        publisherServlet.doGet(request, response);
+        verify(service, times(1)).search(searchRequest.capture());
+        assertThat(searchRequest.getValue().getQuery()).isEqualTo("tolstoy");
+        assertThat(searchRequest.getValue().getLimit()).isEqualTo(1);
+        verify(response, times(1)).setHeader("Link", "<http://localhost/books/search?q=tolstoy&cursor="
+                                                     + Pagination.encodeOffsetCursor(1) + ">; rel=\"next\"");
+    }
+
+    @Test
+    @DisplayName("Endpoint /book/search GET request functionality. Missing query is a bad request")
+    void givenBookServlet_whenDoGetSearchWithoutQuery_thenBadRequest() throws IOException {
+        BDDMockito.given(request.getPathInfo()).willReturn("/search");
+        BDDMockito.given(response.getWriter()).willReturn(new PrintWriter(new StringWriter()));
+        publisherServlet.doGet(request, response);
+        verify(service, times(0)).search(any(SearchRequest.class));
+        verify(response, times(1)).setStatus(HttpServletResponse.SC_BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("Endpoint /book?expand=unknown GET request functionality. Bad request")
+    void givenBookServlet_whenDoGetAllExpandUnknown_thenBadRequest() throws IOException {
+        BDDMockito.given(request.getPathInfo()).willReturn("");
+        BDDMockito.given(request.getParameter("expand")).willReturn("authors");
+        BDDMockito.given(response.getWriter()).willReturn(new PrintWriter(new StringWriter()));
+        publisherServlet.doGet(request, response);
+        verify(response, times(1)).setStatus(HttpServletResponse.SC_BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("Endpoint /book/{id} GET request functionality. Unchanged book is served from the response cache")
+    void givenCachedBookBody_whenDoGetById_thenBodyWrittenWithoutMapping() throws IOException {
+        BDDMockito.given(request.getPathInfo()).willReturn("/1");
+        BDDMockito.given(service.getVersionTag(1L)).willReturn(Optional.of("v1"), Optional.of("v1"), Optional.of("v2"));
+        Book book = CreatedData.createBook(1);
+        BDDMockito.given(service.getById(1L)).willReturn(book);
+        BDDMockito.given(mapper.toBookWithPublisherDto(book)).willReturn(new BookWithPublisherDto());
+        ServletOutputStream outputStream = Mockito.mock(ServletOutputStream.class);
+        BDDMockito.given(response.getOutputStream()).willReturn(outputStream);
+        publisherServlet.doGet(request, response);
+        publisherServlet.doGet(request, response);
+        verify(service, times(1)).getById(1L);
+        verify(mapper, times(1)).toBookWithPublisherDto(book);
+        verify(outputStream, times(2)).write(any(byte[].class));
+        publisherServlet.doGet(request, response);
+        verify(service, times(2)).getById(1L);
+    }
+
     @Test
     @DisplayName("Endpoint /book/{id} GET request functionality. Get by id book")
     void givenBookServlet_whenDoGetById_thenCorrect() throws IOException {
@@ -76,15 +285,14 @@ class BookServletTest {
         BDDMockito.given(service.getById(anyLong())).willReturn(book);
         BDDMockito.given(mapper.toBookWithPublisherDto(book))
                 .willReturn(new BookWithPublisherDto());
-        StringWriter stringWriter = new StringWriter();
-        PrintWriter writer = new PrintWriter(stringWriter);
-        BDDMockito.given(response.getWriter()).willReturn(writer);
+        ServletOutputStream outputStream = Mockito.mock(ServletOutputStream.class);
+        BDDMockito.given(response.getOutputStream()).willReturn(outputStream);
         publisherServlet.doGet(request, response);
         verify(request, times(1)).getPathInfo();
         verify(service, times(0)).getAllBooks();
         verify(service, times(1)).getById(anyLong());
         verify(mapper, times(1)).toBookWithPublisherDto(book);
-        verify(response, times(1)).getWriter();
+        verify(outputStream, times(1)).write(any(byte[].class));
     }
 
     @Test
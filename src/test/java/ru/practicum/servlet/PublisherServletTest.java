@@ -2,6 +2,7 @@ package ru.practicum.servlet;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +14,8 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.exception.NotFoundException;
+import ru.practicum.model.Page;
+import ru.practicum.model.PageRequest;
 import ru.practicum.model.Publisher;
 import ru.practicum.repository.dataUtils.CreatedData;
 import ru.practicum.service.publisher.PublisherService;
@@ -54,7 +57,7 @@ class PublisherServletTest {
     void givenPublisherServlet_whenDoGetAll_thenCorrect() throws IOException, ServletException {
         BDDMockito.given(request.getPathInfo()).willReturn("");
         Publisher publisher = CreatedData.createPublisher(1);
-        BDDMockito.given(service.getAllPublishers()).willReturn(List.of(publisher));
+        BDDMockito.given(service.getAllPublishers(any(PageRequest.class))).willReturn(new Page<>(List.of(publisher), null));
         BDDMockito.given(mapper.toPublisherResponseDtoShortList(anyList()))
                 .willReturn(List.of(new PublisherResponseDtoShort()));
         StringWriter stringWriter = new StringWriter();
@@ -62,7 +65,7 @@ class PublisherServletTest {
         BDDMockito.given(response.getWriter()).willReturn(writer);
         publisherServlet.doGet(request, response);
         verify(request, times(1)).getPathInfo();
-        verify(service, times(1)).getAllPublishers();
+        verify(service, times(1)).getAllPublishers(any(PageRequest.class));
         verify(service, times(0)).getById(anyLong());
         verify(mapper, times(1)).toPublisherResponseDtoShortList(anyList());
         verify(response, times(1)).getWriter();
@@ -76,15 +79,14 @@ class PublisherServletTest {
         BDDMockito.given(service.getById(anyLong())).willReturn(publisher);
         BDDMockito.given(mapper.toPublisherResponseDto(publisher))
                 .willReturn(new PublisherResponseDto());
-        StringWriter stringWriter = new StringWriter();
-        PrintWriter writer = new PrintWriter(stringWriter);
-        BDDMockito.given(response.getWriter()).willReturn(writer);
+        ServletOutputStream outputStream = Mockito.mock(ServletOutputStream.class);
+        BDDMockito.given(response.getOutputStream()).willReturn(outputStream);
         publisherServlet.doGet(request, response);
         verify(request, times(1)).getPathInfo();
         verify(service, times(0)).getAllPublishers();
         verify(service, times(1)).getById(anyLong());
         verify(mapper, times(1)).toPublisherResponseDto(publisher);
-        verify(response, times(1)).getWriter();
+        verify(outputStream, times(1)).write(any(byte[].class));
     }
 
     @Test
@@ -6,6 +6,8 @@ DELETE
 FROM publishers;
 DELETE
 FROM books_publishers;
+DELETE
+FROM year_book_counts;
 alter sequence authors_id_seq restart with 1;
 alter sequence books_id_seq restart with 1;
 alter sequence publishers_id_seq restart with 1;
@@ -19,6 +21,10 @@ VALUES ('book1', 1, 1),
        ('book3', 2, 3),
        ('book4', 3, 4),
        ('book5', 1, 5);
+UPDATE books b
+SET search_vector = book_search_vector(b.name, a.first_name, a.last_name)
+FROM authors a
+WHERE a.id = b.author_id;
 INSERT INTO publishers (name, city)
 VALUES ('publisher1', 'city1'),
        ('publisher2', 'city2'),
@@ -31,4 +37,10 @@ VALUES (1, 1),
        (2, 3),
        (3, 1),
        (4, 4),
-       (5, 3);
\ No newline at end of file
+       (5, 3);
+INSERT INTO author_book_counts (author_id, book_count)
+SELECT author_id, count(*) FROM books GROUP BY author_id;
+INSERT INTO publisher_book_counts (publisher_id, book_count)
+SELECT publisher_id, count(DISTINCT books_id) FROM books_publishers GROUP BY publisher_id;
+INSERT INTO year_book_counts (year, book_count)
+SELECT year, count(*) FROM books GROUP BY year;